@@ -0,0 +1,122 @@
+package edu.softserveinc.healthbody.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small LRU cache with a time to live per entry. Loading is left to the
+ * caller: read the {@link #getGeneration() generation}, {@link #get(Object)
+ * look up} the key, load it on a miss and {@link #put(Object, Object, long)
+ * put} it with the generation read before. An invalidation in between makes
+ * the put a no-op, so a value loaded before a write never outlives it.
+ */
+public final class ReferenceCache<K, V> {
+
+	private final String name;
+	private final int maxSize;
+	private final long ttlNanos;
+	private final LinkedHashMap<K, Entry<V>> entries;
+	private long generation;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	private static final class Entry<V> {
+		private final V value;
+		private final long expiresAt;
+
+		private Entry(final V value, final long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	public ReferenceCache(final String name, final int maxSize, final long ttlMillis) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+		}
+		this.name = name;
+		this.maxSize = maxSize;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the cached value or <code>null</code> if the key is not cached
+	 *         or expired
+	 */
+	public synchronized V get(final K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+			entries.remove(key);
+			entry = null;
+		}
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.value;
+	}
+
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Caches the value unless the cache was invalidated since
+	 * <code>loadedGeneration</code> was read. <code>null</code> is not cached.
+	 */
+	public synchronized void put(final K key, final V value, final long loadedGeneration) {
+		if (value == null || loadedGeneration != generation) {
+			return;
+		}
+		entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+		if (entries.size() > maxSize) {
+			Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+			eldest.next();
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized void invalidate(final K key) {
+		generation++;
+		entries.remove(key);
+	}
+
+	public synchronized void invalidateAll() {
+		generation++;
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return hits per lookup, 0 before the first lookup
+	 */
+	public synchronized double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+}
@@ -0,0 +1,181 @@
+package edu.softserveinc.healthbody.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import edu.softserveinc.healthbody.dao.AwardDao;
+import edu.softserveinc.healthbody.dao.CriteriaDao;
+import edu.softserveinc.healthbody.dao.GroupDao;
+import edu.softserveinc.healthbody.dao.RoleDao;
+import edu.softserveinc.healthbody.db.ConnectionManager;
+import edu.softserveinc.healthbody.entity.Award;
+import edu.softserveinc.healthbody.entity.Criteria;
+import edu.softserveinc.healthbody.entity.Group;
+import edu.softserveinc.healthbody.entity.Role;
+import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
+import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
+import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
+
+/**
+ * Read-through cache of the reference data: roles, groups, awards and
+ * criteria. Misses are read with the caller's connection, or with a read-only
+ * connection borrowed only on the miss. Services that
+ * write these tables invalidate the matching cache after their transaction
+ * commits; the time to live bounds how long a change made elsewhere stays
+ * invisible.
+ * <p>
+ * Cached entities are shared, callers must not modify them.
+ */
+public final class ReferenceDataCache {
+
+	private static final int MAX_SIZE = 1000;
+	private static final long TTL = 300000;
+	private static final String ALL = "all";
+
+	private static volatile ReferenceDataCache instance;
+
+	private final ReferenceCache<String, Role> rolesByName = new ReferenceCache<>("roles_by_name", MAX_SIZE, TTL);
+	private final ReferenceCache<String, Role> rolesById = new ReferenceCache<>("roles_by_id", MAX_SIZE, TTL);
+	private final ReferenceCache<String, Group> groupsByName = new ReferenceCache<>("groups_by_name", MAX_SIZE, TTL);
+	private final ReferenceCache<String, Group> groupsById = new ReferenceCache<>("groups_by_id", MAX_SIZE, TTL);
+	private final ReferenceCache<String, List<Award>> awards = new ReferenceCache<>("awards", 1, TTL);
+	private final ReferenceCache<String, Criteria> criteriaByName = new ReferenceCache<>("criteria_by_name", MAX_SIZE,
+			TTL);
+
+	private ReferenceDataCache() {
+	}
+
+	public static ReferenceDataCache getInstance() {
+		if (instance == null) {
+			synchronized (ReferenceDataCache.class) {
+				if (instance == null) {
+					instance = new ReferenceDataCache();
+				}
+			}
+		}
+		return instance;
+	}
+
+	public Role getRoleByName(final Connection connection, final String name)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		long generation = rolesByName.getGeneration();
+		Role role = rolesByName.get(name);
+		if (role == null) {
+			role = RoleDao.getInstance().getByFieldName(connection, name);
+			rolesByName.put(name, role, generation);
+		}
+		return role;
+	}
+
+	public Role getRoleById(final Connection connection, final String id)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		long generation = rolesById.getGeneration();
+		Role role = rolesById.get(id);
+		if (role == null) {
+			role = RoleDao.getInstance().getById(connection, id);
+			rolesById.put(id, role, generation);
+		}
+		return role;
+	}
+
+	public Group getGroupByName(final Connection connection, final String name)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		long generation = groupsByName.getGeneration();
+		Group group = groupsByName.get(name);
+		if (group == null) {
+			group = GroupDao.getInstance().getGroupByName(connection, name);
+			groupsByName.put(name, group, generation);
+		}
+		return group;
+	}
+
+	public Group getGroupById(final Connection connection, final String id)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		long generation = groupsById.getGeneration();
+		Group group = groupsById.get(id);
+		if (group == null) {
+			group = GroupDao.getInstance().getGroupById(connection, id);
+			groupsById.put(id, group, generation);
+		}
+		return group;
+	}
+
+	/**
+	 * Borrows a read-only connection only when the awards are not cached.
+	 *
+	 * @return all awards, unmodifiable
+	 */
+	public List<Award> getAllAwards() throws JDBCDriverException, SQLException, DataBaseReadingException {
+		List<Award> all = awards.get(ALL);
+		if (all != null) {
+			return all;
+		}
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
+		try {
+			return getAllAwards(connection);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
+		}
+	}
+
+	/**
+	 * @return all awards, unmodifiable
+	 */
+	public List<Award> getAllAwards(final Connection connection) throws JDBCDriverException, DataBaseReadingException {
+		long generation = awards.getGeneration();
+		List<Award> all = awards.get(ALL);
+		if (all == null) {
+			all = Collections.unmodifiableList(new ArrayList<>(AwardDao.getInstance().getAllAwards(connection)));
+			awards.put(ALL, all, generation);
+		}
+		return all;
+	}
+
+	public Criteria getCriteriaByName(final Connection connection, final String name)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		long generation = criteriaByName.getGeneration();
+		Criteria criteria = criteriaByName.get(name);
+		if (criteria == null) {
+			criteria = CriteriaDao.getInstance().getByFieldName(connection, name);
+			criteriaByName.put(name, criteria, generation);
+		}
+		return criteria;
+	}
+
+	public void invalidateRoles() {
+		rolesByName.invalidateAll();
+		rolesById.invalidateAll();
+	}
+
+	/**
+	 * Drops all groups; a renamed group is cached under its old name too.
+	 */
+	public void invalidateGroups() {
+		groupsByName.invalidateAll();
+		groupsById.invalidateAll();
+	}
+
+	public void invalidateAwards() {
+		awards.invalidateAll();
+	}
+
+	public void invalidateCriteria() {
+		criteriaByName.invalidateAll();
+	}
+
+	public void invalidateAll() {
+		invalidateRoles();
+		invalidateGroups();
+		invalidateAwards();
+		invalidateCriteria();
+	}
+
+	public List<ReferenceCache<String, ?>> getCaches() {
+		return Arrays.<ReferenceCache<String, ?>>asList(rolesByName, rolesById, groupsByName, groupsById, awards,
+				criteriaByName);
+	}
+}
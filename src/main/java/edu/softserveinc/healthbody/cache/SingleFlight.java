@@ -0,0 +1,119 @@
+package edu.softserveinc.healthbody.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces identical concurrent loads. The first caller of a key runs the
+ * loader, callers of the same key that arrive while it runs wait for it and
+ * get its result or its exception. Nothing is kept once the load finished;
+ * caching the result is left to the loader.
+ * <p>
+ * The result is shared by all callers of a load, so it must not be changed
+ * by them. {@link #forgetAll()} after a write makes later callers start a
+ * new load instead of joining one that may have read the old data.
+ */
+public final class SingleFlight<K, V> {
+
+	private final String name;
+	private final ConcurrentMap<K, Call<V>> calls = new ConcurrentHashMap<>();
+	private final AtomicLong loads = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+
+	/**
+	 * Loads the value of a key.
+	 */
+	public interface Loader<V> {
+		V load() throws Exception;
+	}
+
+	private static final class Call<V> {
+		private final CountDownLatch done = new CountDownLatch(1);
+		private V value;
+		private Throwable failure;
+
+		private V await() throws Exception {
+			try {
+				done.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw e;
+			}
+			if (failure instanceof Exception) {
+				throw (Exception) failure;
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+			return value;
+		}
+	}
+
+	public SingleFlight(final String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the value of the running load of the key, or of a new load by
+	 *         <code>loader</code> if none runs. A <code>null</code> key is
+	 *         loaded without coalescing.
+	 * @throws Exception
+	 *             the exception of the load, <code>InterruptedException</code>
+	 *             if the thread was interrupted while waiting for it
+	 */
+	public V execute(final K key, final Loader<V> loader) throws Exception {
+		if (key == null) {
+			loads.incrementAndGet();
+			return loader.load();
+		}
+		Call<V> call = new Call<>();
+		Call<V> running = calls.putIfAbsent(key, call);
+		if (running != null) {
+			coalesced.incrementAndGet();
+			return running.await();
+		}
+		loads.incrementAndGet();
+		try {
+			call.value = loader.load();
+			return call.value;
+		} catch (Exception | Error e) {
+			call.failure = e;
+			throw e;
+		} finally {
+			calls.remove(key, call);
+			call.done.countDown();
+		}
+	}
+
+	/**
+	 * Detaches the running loads: they finish for their callers, later
+	 * callers start new ones.
+	 */
+	public void forgetAll() {
+		calls.clear();
+	}
+
+	/**
+	 * @return loads that ran
+	 */
+	public long getLoads() {
+		return loads.get();
+	}
+
+	/**
+	 * @return calls answered by the load of another caller
+	 */
+	public long getCoalesced() {
+		return coalesced.get();
+	}
+
+	public int getInFlight() {
+		return calls.size();
+	}
+}
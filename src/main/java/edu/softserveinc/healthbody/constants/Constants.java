@@ -21,6 +21,16 @@ public class Constants {
 		public static final int ISDISABLED = 14;
 	}
 	
+	public static class UserProfileCard extends UserCard {
+		public static final int ROLENAME = 15;
+		public static final int GROUP_ID = 16;
+		public static final int GROUP_NAME = 17;
+		public static final int GROUP_COUNT = 18;
+		public static final int GROUP_DESCRIPTION = 19;
+		public static final int GROUP_SCOREGROUP = 20;
+		public static final int GROUP_STATUS = 21;
+	}
+	
 	public static class CompetitionCard {
 		public static final int ID = 0;
 		public static final int NAME = 1;
@@ -98,6 +108,12 @@ public class Constants {
 		public static final int TIMERECEIVED = 5;
 	}
 	
+	public static class UserScoreCard {
+		public static final int IDUSER = 0;
+		public static final int LOGIN = 1;
+		public static final int SCORE = 2;
+	}
+	
 	public static class UserGroupCard {
 		public static final int ID = 0;
 		public static final int IDUSER = 1;
@@ -4,6 +4,11 @@ import edu.softserveinc.healthbody.dao.IBasicDao.DaoQueries;
 
 public class DaoStatementsConstant {
 
+	// keeps competitions.participants in step with rows removed by a "deleted" CTE
+	private static final String DECREMENT_PARTICIPANTS = " UPDATE competitions SET participants = participants - counted.removed"
+			+ " FROM (SELECT id_competition, COUNT(*) AS removed FROM deleted GROUP BY id_competition) AS counted"
+			+ " WHERE competitions.id_competition = counted.id_competition;";
+
 	public enum UserDBQueries {
         INSERT(DaoQueries.INSERT, "INSERT INTO users (id_user, login, password, firstname, lastname, \"e-mail\", age, weight, gender, "
         		+ "health, avatar, google_field, id_role, status, isdisabled) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);"),
@@ -13,6 +18,24 @@ public class DaoStatementsConstant {
         		+ "age, weight, gender, health, avatar, google_field, id_role, status, isdisabled FROM users WHERE login = ?;"),
         GET_ALL(DaoQueries.GET_ALL, "SELECT id_user, login, password, firstname, lastname, \"e-mail\", age, weight, gender, "
         		+ "health, avatar, google_field, id_role, status FROM users WHERE isdisabled = 'false';"),
+        GET_PROFILE_BY_ID(DaoQueries.GET_PROFILE_BY_ID, "SELECT users.id_user, users.login, users.password, users.firstname, "
+        		+ "users.lastname, users.\"e-mail\", users.age, users.weight, users.gender, users.health, users.avatar, "
+        		+ "users.google_field, users.id_role, users.status, users.isdisabled, roles.name, "
+        		+ "groups.id_group, groups.name, groups.count, groups.description, groups.scoreGroup, groups.status"
+        		+ " FROM users"
+        		+ " LEFT OUTER JOIN roles ON roles.id_role = users.id_role"
+        		+ " LEFT OUTER JOIN usergroups ON usergroups.id_user = users.id_user"
+        		+ " LEFT OUTER JOIN groups ON groups.id_group = usergroups.id_group"
+        		+ " WHERE users.id_user = ?;"),
+        GET_PROFILE_BY_FIELD_NAME(DaoQueries.GET_PROFILE_BY_FIELD_NAME, "SELECT users.id_user, users.login, users.password, users.firstname, "
+        		+ "users.lastname, users.\"e-mail\", users.age, users.weight, users.gender, users.health, users.avatar, "
+        		+ "users.google_field, users.id_role, users.status, users.isdisabled, roles.name, "
+        		+ "groups.id_group, groups.name, groups.count, groups.description, groups.scoreGroup, groups.status"
+        		+ " FROM users"
+        		+ " LEFT OUTER JOIN roles ON roles.id_role = users.id_role"
+        		+ " LEFT OUTER JOIN usergroups ON usergroups.id_user = users.id_user"
+        		+ " LEFT OUTER JOIN groups ON groups.id_group = usergroups.id_group"
+        		+ " WHERE users.login = ?;"),
         UPDATE(DaoQueries.UPDATE, "UPDATE users SET login = ?, password = ?, firstname = ?, lastname = ?, \"e-mail\" = ?, age = ?, "
         		+ "weight = ?, gender = ?, health = ?, avatar = ?, google_field = ?  WHERE login = ?"),
         ISDISABLED(DaoQueries.ISDISABLED, "UPDATE users SET isDisabled = ? WHERE login = ?"),
@@ -46,7 +69,10 @@ public class DaoStatementsConstant {
 				+ " WHERE groupcompetitions.id_competition = ?"
 				+ " ORDER BY groups.name"
 				+ " ;"),
-		GET_ALL(DaoQueries.GET_ALL,	"SELECT id_group, name, count, description, scoreGroup, status FROM groups;"),
+		GET_ALL(DaoQueries.GET_ALL,	"SELECT id_group, name, count, description, scoreGroup, status FROM groups ORDER BY name, id_group;"),
+		GET_ALL_AFTER(DaoQueries.GET_ALL_AFTER, "SELECT id_group, name, count, description, scoreGroup, status FROM groups"
+				+ " WHERE (name, id_group) > (?, ?)"
+				+ " ORDER BY name, id_group LIMIT ?;"),
 		GET_ALL_GROUPS_PARTICIPANTS(DaoQueries.GET_ALL_GROUPS_PARTICIPANTS, "SELECT groups.id_group, groups.name, groups.count, groups.description, groups.scoregroup, groups.status, "
 				+ "array_to_string(array_agg(login) ,';') AS users_in_groups, "
 				+ "array_to_string(array_agg(firstname) ,';') AS users_firstnames_in_groups, "
@@ -54,8 +80,18 @@ public class DaoStatementsConstant {
 				+ "FROM (SELECT DISTINCT groups.id_group, groups.name, groups.count, groups.description, groups.scoregroup, groups.status, users.login, users.firstname, users.lastname "
 				+ "FROM groups JOIN usergroups ON usergroups.id_group=groups.id_group JOIN users ON users.id_user = usergroups.id_user ORDER BY groups.id_group) AS groups "
 				+ "GROUP BY groups.id_group, groups.name, groups.count, groups.description, groups.scoregroup, groups.status "
-				+ "ORDER BY groups.name "
+				+ "ORDER BY groups.name, groups.id_group "
 				+ ";"),
+		GET_ALL_GROUPS_PARTICIPANTS_AFTER(DaoQueries.GET_ALL_GROUPS_PARTICIPANTS_AFTER, "SELECT groups.id_group, groups.name, groups.count, groups.description, groups.scoregroup, groups.status, "
+				+ "array_to_string(array_agg(login) ,';') AS users_in_groups, "
+				+ "array_to_string(array_agg(firstname) ,';') AS users_firstnames_in_groups, "
+				+ "array_to_string(array_agg(Lastname ) ,';') AS users_lastnames_in_groups "
+				+ "FROM (SELECT DISTINCT groups.id_group, groups.name, groups.count, groups.description, groups.scoregroup, groups.status, users.login, users.firstname, users.lastname "
+				+ "FROM groups JOIN usergroups ON usergroups.id_group=groups.id_group JOIN users ON users.id_user = usergroups.id_user "
+				+ "WHERE (groups.name, groups.id_group) > (?, ?)) AS groups "
+				+ "GROUP BY groups.id_group, groups.name, groups.count, groups.description, groups.scoregroup, groups.status "
+				+ "ORDER BY groups.name, groups.id_group "
+				+ "LIMIT ?;"),
 		UPDATE(DaoQueries.UPDATE, "UPDATE groups SET name = ?, count = ?, description = ?, scoreGroup = ? WHERE id_group = ?"),
 		DELETE_BY_ID(DaoQueries.DELETE_BY_ID, "DELETE FROM groups WHERE id_group = ?;"),
 		DELETE_BY_FIELD(DaoQueries.DELETE_BY_FIELD, "DELETE FROM groups WHERE name = ?;");
@@ -80,6 +116,7 @@ public class DaoStatementsConstant {
 
 	public static enum UserGroupQueries {
 		INSERT(DaoQueries.INSERT, "INSERT INTO usergroups (id_user_group, id_user, id_group) VALUES (?, ?, ?);"),
+		UPDATE(DaoQueries.UPDATE, "UPDATE usergroups SET id_user = ?, id_group = ? WHERE id_user_group = ?;"),
         GET_BY_ID(DaoQueries.GET_BY_ID, "SELECT id_user_group, id_user, id_group FROM usergroups WHERE id_user = ?;"),
         GET_ID_BY_FIELDS(DaoQueries.GET_ID_BY_FIELDS, "SELECT usergroups.id_user_group FROM usergroups WHERE usergroups.id_user = ? AND usergroups.id_group = ?;"),		
         GET_ALL(DaoQueries.GET_ALL, "SELECT usergroups.id_user_group, usergroups.id_user, usergroups.id_groups, usergroups.member_group FROM usergroups;"),
@@ -109,7 +146,13 @@ public class DaoStatementsConstant {
 		GET_ALL(DaoQueries.GET_ALL,	"SELECT id_competition, name, description, start, finish, id_criteria FROM competitions;"),
 		DELETE_BY_ID(DaoQueries.DELETE_BY_ID, "DELETE FROM competitions WHERE id_competition = ?;"),
 		DELETE_BY_FIELD(DaoQueries.DELETE_BY_FIELD, "DELETE FROM competitions WHERE name = ?;"),
-		UPDATE(DaoQueries.UPDATE, "UPDATE competitions SET name = ?, description = ?, start = ?, finish = ?, id_criteria = ? WHERE id_competition = ?;");
+		UPDATE(DaoQueries.UPDATE, "UPDATE competitions SET name = ?, description = ?, start = ?, finish = ?, id_criteria = ? WHERE id_competition = ?;"),
+		REPAIR_COUNTS(DaoQueries.REPAIR_COUNTS, "UPDATE competitions SET participants = counted.participants"
+				+ " FROM (SELECT competitions.id_competition, COUNT(usercompetitions.id_user_competition) AS participants"
+				+ " FROM competitions LEFT OUTER JOIN usercompetitions ON competitions.id_competition = usercompetitions.id_competition"
+				+ " GROUP BY competitions.id_competition) AS counted"
+				+ " WHERE competitions.id_competition = counted.id_competition"
+				+ " AND competitions.participants <> counted.participants;");
 		private DaoQueries daoQuery;
 		private String query;
 
@@ -226,13 +269,27 @@ public class DaoStatementsConstant {
 	}
 
 	public static enum UserCompetitionsDBQueries {
-		INSERT(DaoQueries.INSERT, "INSERT INTO usercompetitions (id_user_competition, id_user, id_competition, user_score, id_award, time_received) VALUES (?, ?, ?, ?, ?, ?);"),
+		INSERT(DaoQueries.INSERT, "WITH inserted AS (INSERT INTO usercompetitions (id_user_competition, id_user, id_competition, user_score, id_award, time_received)"
+				+ " VALUES (?, ?, ?, ?, ?, ?) RETURNING id_competition)"
+				+ " UPDATE competitions SET participants = participants + 1 FROM inserted"
+				+ " WHERE competitions.id_competition = inserted.id_competition;"),
 		GET_BY_ID(DaoQueries.GET_BY_ID, "SELECT id_user_competition, id_user, id_competition, user_score, id_award, time_received FROM usercompetitions WHERE id_user = ?;"),
 		GET_BY_FIELD_NAME(DaoQueries.GET_BY_FIELD_NAME, "SELECT id_user_competition, id_user, id_competition, user_score, id_award, time_received FROM usercompetitions WHERE id_user_competition = ?;"),
+		GET_BY_IDS(DaoQueries.GET_BY_IDS, "SELECT id_user_competition, id_user, id_competition, user_score, id_award, time_received FROM usercompetitions WHERE id_user_competition = ANY(?);"),
+		GET_ALL(DaoQueries.GET_ALL, "SELECT id_user_competition, id_user, id_competition, user_score, id_award, time_received FROM usercompetitions;"),
+		GET_ID_BY_FIELDS(DaoQueries.GET_ID_BY_FIELDS, "SELECT id_user_competition, id_user, id_competition, user_score, id_award, time_received FROM usercompetitions WHERE id_user = ? AND id_competition = ?;"),
+		GET_BY_COMPETITION(DaoQueries.GET_BY_COMPETITION, "SELECT users.login FROM usercompetitions JOIN users ON users.id_user = usercompetitions.id_user"
+				+ " WHERE usercompetitions.id_competition = ? ORDER BY users.login;"),
+		GET_SCORES_BY_COMPETITION(DaoQueries.GET_SCORES_BY_COMPETITION, "SELECT users.id_user, users.login, usercompetitions.user_score"
+				+ " FROM usercompetitions JOIN users ON users.id_user = usercompetitions.id_user"
+				+ " WHERE usercompetitions.id_competition = ?;"),
 		UPDATE(DaoQueries.UPDATE, "UPDATE usercompetitions SET user_score = ?, id_award = ?, time_received = ? WHERE id_user_competition = ?;"),
-		DELETE_USER_FROM_COMPETITION(DaoQueries.DELETE_USER_FROM_COMPETITION, "DELETE FROM usercompetitions WHERE id_user_competition = ?;"),
-		DELETE_BY_ID(DaoQueries.DELETE_BY_ID, "DELETE FROM usercompetitions WHERE id_user = ?;"),
-		DELETE_BY_ID_USER_COMPETITION(DaoQueries.DELETE_BY_ID_USER_COMPETITION, "DELETE FROM usercompetitions WHERE id_user_competition = ?;");
+		DELETE_USER_FROM_COMPETITION(DaoQueries.DELETE_USER_FROM_COMPETITION, "WITH deleted AS (DELETE FROM usercompetitions WHERE id_user_competition = ? RETURNING id_competition)"
+				+ DECREMENT_PARTICIPANTS),
+		DELETE_BY_ID(DaoQueries.DELETE_BY_ID, "WITH deleted AS (DELETE FROM usercompetitions WHERE id_user = ? RETURNING id_competition)"
+				+ DECREMENT_PARTICIPANTS),
+		DELETE_BY_ID_USER_COMPETITION(DaoQueries.DELETE_BY_ID_USER_COMPETITION, "WITH deleted AS (DELETE FROM usercompetitions WHERE id_user_competition = ? RETURNING id_competition)"
+				+ DECREMENT_PARTICIPANTS);
 
 		private DaoQueries daoQuery;
 		private String query;
@@ -279,72 +336,62 @@ public class DaoStatementsConstant {
 
 	public enum CompetitionsViewQueries {
 		GET_BY_FIELD_NAME("SELECT competitions.id_competition, competitions.name, competitions.description, competitions.start,"
-				+ "competitions.finish, COUNT(usercompetitions.id_user)"
+				+ " competitions.finish, competitions.participants"
 				+ " FROM competitions"
-				+ " LEFT OUTER JOIN usercompetitions ON competitions.id_competition = usercompetitions.id_competition"
 				+ " WHERE competitions.name = ?"
-				+ " GROUP BY competitions.id_competition, competitions.name, competitions.start, competitions.finish"
 				+ ";"),
 		GET_BY_ID("SELECT competitions.id_competition, competitions.name, competitions.description, competitions.start,"
-				+ "competitions.finish, COUNT(usercompetitions.id_user)"
+				+ " competitions.finish, competitions.participants"
 				+ " FROM competitions"
-				+ " LEFT OUTER JOIN usercompetitions ON competitions.id_competition = usercompetitions.id_competition"
 				+ " WHERE competitions.id_competition = ?"
-				+ " GROUP BY competitions.id_competition, competitions.name, competitions.start, competitions.finish"
 				+ ";"),
 		GET_ALL_ACTIVE("SELECT competitions.id_competition, competitions.name, competitions.description, competitions.start,"
-				+ "competitions.finish, COUNT(usercompetitions.id_user)"
+				+ " competitions.finish, competitions.participants"
+				+ " FROM competitions"
+				+ " WHERE competitions.finish >= NOW()"
+				+ " ORDER BY competitions.name, competitions.id_competition" + ";"),
+		GET_ALL_ACTIVE_AFTER("SELECT competitions.id_competition, competitions.name, competitions.description, competitions.start,"
+				+ " competitions.finish, competitions.participants"
 				+ " FROM competitions"
-				+ " LEFT OUTER JOIN usercompetitions ON competitions.id_competition = usercompetitions.id_competition"
 				+ " WHERE competitions.finish >= NOW()"
-				+ " GROUP BY competitions.id_competition, competitions.name, competitions.start, competitions.finish"
-				+ " ORDER BY competitions.name" + ";"),
+				+ " AND (competitions.name, competitions.id_competition) > (?, ?)"
+				+ " ORDER BY competitions.name, competitions.id_competition"
+				+ " LIMIT ?;"),
 		GET_ALL_BY_USER("SELECT DISTINCT competitions.id_competition, competitions.name, competitions.description, competitions.start,"
-				+ "competitions.finish, user_competition_count"
+				+ " competitions.finish, competitions.participants"
 				+ " FROM competitions"
-				+ " LEFT OUTER JOIN usercompetitions ON competitions.id_competition = usercompetitions.id_competition"
+				+ " JOIN usercompetitions ON competitions.id_competition = usercompetitions.id_competition"
 				+ " JOIN users ON usercompetitions.id_user = users.id_user"
-				+ " JOIN"
-				+ " (SELECT id_competition, COUNT(usercompetitions.id_user_competition) AS user_competition_count"
-				+ " FROM usercompetitions JOIN users ON usercompetitions.id_user = users.id_user"
-				+ " GROUP BY id_competition) AS countselect"
-				+ " ON usercompetitions.id_competition = countselect.id_competition"
 				+ " WHERE users.login = ?"
 				+ " ORDER BY competitions.name"
 				+ " ;"),
 		GET_ALL_BY_GROUP("SELECT DISTINCT competitions.id_competition, competitions.name, competitions.description, competitions.start,"
-				+ " competitions.finish, user_competition_count"
+				+ " competitions.finish, competitions.participants"
 				+ " FROM competitions"
-				+ " LEFT OUTER JOIN groupcompetitions ON competitions.id_competition = groupcompetitions.id_competition"
-				+ " LEFT OUTER JOIN"
-				+ " (SELECT id_competition, COUNT(usercompetitions.id_user_competition) AS user_competition_count"
-				+ " FROM usercompetitions JOIN users ON usercompetitions.id_user = users.id_user"
-				+ " GROUP BY id_competition) AS countselect"
-				+ " ON competitions.id_competition = countselect.id_competition"
+				+ " JOIN groupcompetitions ON competitions.id_competition = groupcompetitions.id_competition"
 				+ " WHERE groupcompetitions.id_group = ?"
 				+ " ORDER BY competitions.name"
 				+ " ;"),
-		GET_ALL_ACTIVE_BY_USER("SELECT DISTINCT competitions.id_competition, competitions.name, competitions.description,"
-				+ " competitions.start, competitions.finish, user_competition_count"
+		GET_ALL_ACTIVE_BY_USER("SELECT DISTINCT competitions.id_competition, competitions.name, competitions.description, competitions.start,"
+				+ " competitions.finish, competitions.participants"
 				+ " FROM competitions"
 				+ " JOIN usercompetitions ON competitions.id_competition = usercompetitions.id_competition"
 				+ " JOIN users ON usercompetitions.id_user = users.id_user"
-				+ " JOIN"
-				+ " (SELECT id_competition, COUNT(usercompetitions.id_user_competition) AS user_competition_count"
-				+ " FROM usercompetitions JOIN users ON usercompetitions.id_user = users.id_user"
-				+ " GROUP BY id_competition) AS countselect"
-				+ " ON usercompetitions.id_competition = countselect.id_competition"
 				+ " WHERE competitions.finish >= NOW()"
 				+ " AND users.login = ?"
 				+ " ORDER BY competitions.name"
 				+ " ;"),
 		GET_ALL("SELECT competitions.id_competition, competitions.name, competitions.description, competitions.start,"
-				+ "competitions.finish, COUNT(usercompetitions.id_user)"
+				+ " competitions.finish, competitions.participants"
 				+ " FROM competitions"
-				+ " LEFT OUTER JOIN usercompetitions ON competitions.id_competition = usercompetitions.id_competition"
-				+ " GROUP BY competitions.id_competition, competitions.name, competitions.start, competitions.finish"
-				+ " ORDER BY competitions.name"
-				+ " ;");
+				+ " ORDER BY competitions.name, competitions.id_competition"
+				+ " ;"),
+		GET_ALL_AFTER("SELECT competitions.id_competition, competitions.name, competitions.description, competitions.start,"
+				+ " competitions.finish, competitions.participants"
+				+ " FROM competitions"
+				+ " WHERE (competitions.name, competitions.id_competition) > (?, ?)"
+				+ " ORDER BY competitions.name, competitions.id_competition"
+				+ " LIMIT ?;");
 
 		private String query;
 
@@ -367,7 +414,16 @@ public class DaoStatementsConstant {
 				+ "users.weight, users.gender, users.avatar, roles.name, users.health, users.google_field, users.status, SUM(usercompetitions.user_score)"
 				+ " FROM users" + " JOIN roles ON users.id_role = roles.id_role"
 				+ " LEFT OUTER JOIN usercompetitions ON users.id_user = usercompetitions.id_user"
-				+ " GROUP BY users.id_user, users.firstname, users.lastname, users.login, roles.name" + " ;"),
+				+ " GROUP BY users.id_user, users.firstname, users.lastname, users.login, roles.name"
+				+ " ORDER BY users.login, users.id_user" + " ;"),
+		GET_ALL_AFTER("SELECT users.id_user, users.firstname, users.lastname, users.login, users.password, users.\"e-mail\", users.age, "
+				+ "users.weight, users.gender, users.avatar, roles.name, users.health, users.google_field, users.status, SUM(usercompetitions.user_score)"
+				+ " FROM users" + " JOIN roles ON users.id_role = roles.id_role"
+				+ " LEFT OUTER JOIN usercompetitions ON users.id_user = usercompetitions.id_user"
+				+ " WHERE (users.login, users.id_user) > (?, ?)"
+				+ " GROUP BY users.id_user, users.firstname, users.lastname, users.login, roles.name"
+				+ " ORDER BY users.login, users.id_user"
+				+ " LIMIT ?;"),
 		SEARCH("SELECT users.id_user, users.firstname, users.lastname, users.login, users.password, users.\"e-mail\", users.age, "
 				+ "users.weight, users.gender, users.avatar, roles.name, users.health, users.google_field, users.status, SUM(usercompetitions.user_score)"
 				+ " FROM users" + " JOIN roles ON users.id_role = roles.id_role"
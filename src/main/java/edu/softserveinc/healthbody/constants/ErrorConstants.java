@@ -5,4 +5,7 @@ public class ErrorConstants {
     public static final String QUERY_NOT_FOUND = "Query not found ?";
     public static final String DATABASE_READING_ERROR = "Database Reading Error";
     public static final String TRANSACTION_ERROR = "Transaction error. Rollback.";
+    public static final String BATCH_ERROR = "Batch error. Failed in rows from %d to %d.";
+    public static final String STREAMING_WITHOUT_TRANSACTION = "Streaming read requires a connection in a transaction";
+    public static final String SCORE_QUEUE_FULL = "Score update queue is full. Try again later.";
 }
@@ -7,11 +7,14 @@ import edu.softserveinc.healthbody.annotation.Controller;
 import edu.softserveinc.healthbody.annotation.Param;
 import edu.softserveinc.healthbody.annotation.Request;
 import edu.softserveinc.healthbody.dto.CompetitionDTO;
+import edu.softserveinc.healthbody.dto.CompetitionPageDTO;
+import edu.softserveinc.healthbody.dto.LeaderboardEntryDTO;
 import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.exceptions.TransactionException;
 import edu.softserveinc.healthbody.log.Log4jWrapper;
 import edu.softserveinc.healthbody.services.impl.CompetitionsViewServiceImpl;
+import edu.softserveinc.healthbody.services.impl.LeaderboardServiceImpl;
 
 @Controller
 public class CompetitionController {
@@ -29,6 +32,17 @@ public class CompetitionController {
 
 	}
 
+	@Request(url = "/CompetitionsPage")
+	public CompetitionPageDTO getAllCompetitionsPage(@Param(name = "partNumber") int partNumber,
+			@Param(name = "partSize") int partSize, @Param(name = "pageToken") String pageToken) {
+		try {
+			return CompetitionsViewServiceImpl.getInstance().getAllPage(partNumber, partSize, pageToken);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("Could't get page of compettitions");
+		}
+		return null;
+	}
+
 	@Request(url = "/UserCompetitions")
 	public List<CompetitionDTO> getAllUserCompetitions(@Param(name = "partNumber") int partNumber,
 			@Param(name = "partSize") int partSize, @Param(name = "login") String login) {
@@ -51,6 +65,17 @@ public class CompetitionController {
 		return null;
 	}
 
+	@Request(url = "/activeCompetitionsPage")
+	public CompetitionPageDTO getActiveCompetitionsPage(@Param(name = "partNumber") int partNumber,
+			@Param(name = "partSize") int partSize, @Param(name = "pageToken") String pageToken) {
+		try {
+			return CompetitionsViewServiceImpl.getInstance().getAllActivePage(partNumber, partSize, pageToken);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("Could't get page of active compettitions");
+		}
+		return null;
+	}
+
 	@Request(url = "/activeUserCompetitions")
 	public List<CompetitionDTO> getUserActiveCompetitions(@Param(name = "partNumber") int partNumber,
 			@Param(name = "partSize") int partSize, @Param(name = "login") String login) {
@@ -62,4 +87,37 @@ public class CompetitionController {
 		return null;
 	}
 
+	@Request(url = "/LeaderboardTop")
+	public List<LeaderboardEntryDTO> getLeaderboardTop(@Param(name = "idCompetition") String idCompetition,
+			@Param(name = "count") int count) {
+		try {
+			return LeaderboardServiceImpl.getInstance().getTop(idCompetition, count);
+		} catch (IllegalAgrumentCheckedException | SQLException | JDBCDriverException | TransactionException e) {
+			Log4jWrapper.get().error("Could't get top of leaderboard");
+		}
+		return null;
+	}
+
+	@Request(url = "/LeaderboardRank")
+	public LeaderboardEntryDTO getLeaderboardRank(@Param(name = "idCompetition") String idCompetition,
+			@Param(name = "login") String login) {
+		try {
+			return LeaderboardServiceImpl.getInstance().getRank(idCompetition, login);
+		} catch (IllegalAgrumentCheckedException | SQLException | JDBCDriverException | TransactionException e) {
+			Log4jWrapper.get().error("Could't get rank of user");
+		}
+		return null;
+	}
+
+	@Request(url = "/LeaderboardAround")
+	public List<LeaderboardEntryDTO> getLeaderboardAround(@Param(name = "idCompetition") String idCompetition,
+			@Param(name = "login") String login, @Param(name = "radius") int radius) {
+		try {
+			return LeaderboardServiceImpl.getInstance().getAround(idCompetition, login, radius);
+		} catch (IllegalAgrumentCheckedException | SQLException | JDBCDriverException | TransactionException e) {
+			Log4jWrapper.get().error("Could't get leaderboard around user");
+		}
+		return null;
+	}
+
 }
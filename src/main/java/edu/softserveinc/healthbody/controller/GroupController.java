@@ -7,7 +7,9 @@ import edu.softserveinc.healthbody.annotation.Controller;
 import edu.softserveinc.healthbody.annotation.Param;
 import edu.softserveinc.healthbody.annotation.Request;
 import edu.softserveinc.healthbody.dto.GroupDTO;
+import edu.softserveinc.healthbody.dto.GroupPageDTO;
 import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
 import edu.softserveinc.healthbody.exceptions.TransactionException;
@@ -29,6 +31,17 @@ public class GroupController {
 		return null;
 	}
 
+	@Request(url = "/GroupsPage")
+	public GroupPageDTO getAllGroupsPage(@Param(name = "partNumber") int partNumber,
+			@Param(name = "partSize") int partSize, @Param(name = "pageToken") String pageToken) {
+		try {
+			return GroupServiceImpl.getInstance().getAllPage(partNumber, partSize, pageToken);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("Could't get page of groups");
+		}
+		return null;
+	}
+
 	@Request(url = "/groupDescription")
 	public String getDescriptionOfGroup(@Param(name = "groupName") String groupName) {
 		try {
@@ -52,4 +65,15 @@ public class GroupController {
 		} 
 		return null;
 	}
+
+	@Request(url = "/GroupsParticipantsPage")
+	public GroupPageDTO getAllGroupsParticipantsPage(@Param(name = "partNumber") int partNumber,
+			@Param(name = "partSize") int partSize, @Param(name = "pageToken") String pageToken) {
+		try {
+			return GroupServiceImpl.getInstance().getAllGroupsParticipantsPage(partNumber, partSize, pageToken);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("Could't get page of group's participants");
+		}
+		return null;
+	}
 }
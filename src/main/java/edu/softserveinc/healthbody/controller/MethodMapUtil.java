@@ -1,6 +1,7 @@
 package edu.softserveinc.healthbody.controller;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -10,10 +11,15 @@ import org.reflections.Reflections;
 import edu.softserveinc.healthbody.annotation.Controller;
 import edu.softserveinc.healthbody.annotation.Request;
 
+/**
+ * Maps the lower case url of every {@link Request} method of the
+ * {@link Controller} classes to its {@link RouteInvoker}. Each controller is
+ * instantiated once and shared by its routes.
+ */
 public class MethodMapUtil {
 
-	private static Map<String, Pair<Method, Class<?>>> methodsClasUrlMapping = null;
-	private static MethodMapUtil methodMapUtil = null;
+	private static volatile MethodMapUtil methodMapUtil = null;
+	private final Map<String, RouteInvoker> routes;
 
 	public static MethodMapUtil getInstanse() {
 		if (methodMapUtil == null) {
@@ -31,16 +37,36 @@ public class MethodMapUtil {
 		Reflections reflections = new Reflections("edu.softserveinc.healthbody.controller");
 
 		Set<Class<?>> classes = reflections.getTypesAnnotatedWith(Controller.class);
-		methodsClasUrlMapping = new HashMap<>();
+		routes = new HashMap<>();
 		for (Class<?> annotatedClass : classes) {
+			Object controller = newController(annotatedClass);
 			for (Method method : annotatedClass.getDeclaredMethods()) {
-				methodsClasUrlMapping.put(method.getAnnotation(Request.class).url().toLowerCase(),
-						new Pair<Method, Class<?>>(method, annotatedClass));
+				String url = method.getAnnotation(Request.class).url();
+				try {
+					routes.put(url.toLowerCase(), new RouteInvoker(url, controller, method));
+				} catch (IllegalAccessException e) {
+					throw new IllegalStateException("Couldn't bind " + url, e);
+				}
 			}
 		}
 	}
 
-	public Map<String, Pair<Method, Class<?>>> getMethodsClasUrlMapping() {
-		return methodsClasUrlMapping;
+	/**
+	 * @return the route of the path or <code>null</code>
+	 */
+	public RouteInvoker getRoute(final String path) {
+		return path == null ? null : routes.get(path.toLowerCase());
+	}
+
+	public Map<String, RouteInvoker> getRoutes() {
+		return Collections.unmodifiableMap(routes);
+	}
+
+	private static Object newController(final Class<?> controllerClass) {
+		try {
+			return controllerClass.newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new IllegalStateException("Couldn't create controller " + controllerClass.getName(), e);
+		}
 	}
 }
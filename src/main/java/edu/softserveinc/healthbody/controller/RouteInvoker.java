@@ -0,0 +1,180 @@
+package edu.softserveinc.healthbody.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import javax.servlet.http.HttpServletRequest;
+
+import edu.softserveinc.healthbody.annotation.Param;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
+
+/**
+ * Calls one controller method for a request. Everything reflective is
+ * resolved when the route is built: the method handle is bound to the
+ * shared controller instance and spread over an argument array, and every
+ * parameter gets a binder that reads and converts its request value.
+ * Requests only bind their arguments and invoke the handle.
+ */
+public final class RouteInvoker {
+
+	private static final String ILLEGAL_PARAMETER = "Illegal parameter. \"%s\" %s.";
+	private static final int BUFFER_SIZE = 4096;
+
+	private final String url;
+	private final MethodHandle handle;
+	private final ParamBinder[] binders;
+
+	/**
+	 * Reads one argument of the controller method from the request.
+	 */
+	private interface ParamBinder {
+		Object bind(HttpServletRequest request) throws IllegalAgrumentCheckedException, IOException;
+	}
+
+	RouteInvoker(final String url, final Object controller, final Method method) throws IllegalAccessException {
+		this.url = url;
+		Class<?>[] types = method.getParameterTypes();
+		Annotation[][] annotations = method.getParameterAnnotations();
+		this.binders = new ParamBinder[types.length];
+		for (int i = 0; i < types.length; i++) {
+			binders[i] = createBinder(method, types[i], findParam(annotations[i]));
+		}
+		method.setAccessible(true);
+		this.handle = MethodHandles.lookup().unreflect(method).bindTo(controller)
+				.asSpreader(Object[].class, types.length)
+				.asType(MethodType.methodType(Object.class, Object[].class));
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * @return the result of the controller method, <code>null</code> for
+	 *         <code>void</code> methods
+	 * @throws IllegalAgrumentCheckedException
+	 *             if a request parameter cannot be converted
+	 * @throws Throwable
+	 *             anything thrown by the controller method
+	 */
+	public Object invoke(final HttpServletRequest request) throws Throwable {
+		Object[] arguments = new Object[binders.length];
+		for (int i = 0; i < binders.length; i++) {
+			arguments[i] = binders[i].bind(request);
+		}
+		return (Object) handle.invokeExact(arguments);
+	}
+
+	private static Param findParam(final Annotation[] annotations) {
+		for (Annotation annotation : annotations) {
+			if (annotation instanceof Param) {
+				return (Param) annotation;
+			}
+		}
+		return null;
+	}
+
+	private static ParamBinder createBinder(final Method method, final Class<?> type, final Param param) {
+		if (param == null) {
+			if (type == byte[].class) {
+				return new ParamBinder() {
+					@Override
+					public Object bind(final HttpServletRequest request) throws IOException {
+						return readBody(request);
+					}
+				};
+			}
+			throw new IllegalStateException("Parameter of type " + type.getSimpleName() + " of "
+					+ method.getDeclaringClass().getSimpleName() + "." + method.getName() + " has no @Param");
+		}
+		final String name = param.name();
+		if (type == String.class) {
+			return new ParamBinder() {
+				@Override
+				public Object bind(final HttpServletRequest request) {
+					return request.getParameter(name);
+				}
+			};
+		}
+		if (type == int.class || type == Integer.class) {
+			return new ParamBinder() {
+				@Override
+				public Object bind(final HttpServletRequest request) throws IllegalAgrumentCheckedException {
+					String value = required(request, name);
+					try {
+						return Integer.valueOf(value);
+					} catch (NumberFormatException e) {
+						throw illegal(name, "is not an integer");
+					}
+				}
+			};
+		}
+		if (type == long.class || type == Long.class) {
+			return new ParamBinder() {
+				@Override
+				public Object bind(final HttpServletRequest request) throws IllegalAgrumentCheckedException {
+					String value = required(request, name);
+					try {
+						return Long.valueOf(value);
+					} catch (NumberFormatException e) {
+						throw illegal(name, "is not an integer");
+					}
+				}
+			};
+		}
+		if (type == double.class || type == Double.class) {
+			return new ParamBinder() {
+				@Override
+				public Object bind(final HttpServletRequest request) throws IllegalAgrumentCheckedException {
+					String value = required(request, name);
+					try {
+						return Double.valueOf(value);
+					} catch (NumberFormatException e) {
+						throw illegal(name, "is not a number");
+					}
+				}
+			};
+		}
+		if (type == boolean.class || type == Boolean.class) {
+			return new ParamBinder() {
+				@Override
+				public Object bind(final HttpServletRequest request) {
+					return Boolean.valueOf(request.getParameter(name));
+				}
+			};
+		}
+		throw new IllegalStateException("Parameter \"" + name + "\" of " + method.getDeclaringClass().getSimpleName()
+				+ "." + method.getName() + " has unsupported type " + type.getSimpleName());
+	}
+
+	private static String required(final HttpServletRequest request, final String name)
+			throws IllegalAgrumentCheckedException {
+		String value = request.getParameter(name);
+		if (RequestParamUtils.isEmptyParam(value)) {
+			throw illegal(name, "is empty or null");
+		}
+		return value.trim();
+	}
+
+	private static IllegalAgrumentCheckedException illegal(final String name, final String problem) {
+		return new IllegalAgrumentCheckedException(String.format(ILLEGAL_PARAMETER, name, problem));
+	}
+
+	private static byte[] readBody(final HttpServletRequest request) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream in = request.getInputStream()) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				body.write(buffer, 0, read);
+			}
+		}
+		return body.toByteArray();
+	}
+}
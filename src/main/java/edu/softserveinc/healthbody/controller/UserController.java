@@ -9,7 +9,9 @@ import edu.softserveinc.healthbody.annotation.Controller;
 import edu.softserveinc.healthbody.annotation.Param;
 import edu.softserveinc.healthbody.annotation.Request;
 import edu.softserveinc.healthbody.dto.UserDTO;
+import edu.softserveinc.healthbody.dto.UserPageDTO;
 import edu.softserveinc.healthbody.entity.UsersView;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.exceptions.TransactionException;
 import edu.softserveinc.healthbody.log.Log4jWrapper;
@@ -30,6 +32,17 @@ public class UserController {
 		return null;
 	}
 
+	@Request(url = "/UsersPage")
+	public UserPageDTO getAllUsersPage(@Param(name = "partNumber") int partNumber,
+			@Param(name = "partSize") int partSize, @Param(name = "pageToken") String pageToken) {
+		try {
+			return new UsersViewServiceImpl().getAllPage(partNumber, partSize, pageToken);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("Could't get page of users");
+		}
+		return null;
+	}
+
 	@Request(url = "/searchUsers")
 	public List<UsersView> searchUsers(@Param(name = "login") String login) {
 		try {
@@ -0,0 +1,114 @@
+package edu.softserveinc.healthbody.dao;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+import edu.softserveinc.healthbody.constants.ErrorConstants;
+import edu.softserveinc.healthbody.entity.IEntity;
+import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
+import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
+import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
+
+/**
+ * Base class of the DAOs that write rows with JDBC batches. Subclasses bind
+ * one entity to their <code>INSERT</code> and <code>UPDATE</code> queries.
+ */
+abstract class AbstractBatchDao<TEntity extends IEntity> extends AbstractDao<TEntity> {
+
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	protected AbstractBatchDao() {
+	}
+
+	/**
+	 * Sets the parameters of the <code>INSERT</code> query for one entity.
+	 * Also used by the DAO's single row insert.
+	 */
+	protected abstract void bindInsert(PreparedStatement pst, TEntity entity) throws SQLException;
+
+	/**
+	 * Sets the parameters of the <code>UPDATE</code> query for one entity.
+	 * Also used by the DAO's single row update.
+	 */
+	protected abstract void bindUpdate(PreparedStatement pst, TEntity entity) throws SQLException;
+
+	public int[] insertAll(final Connection connection, final Collection<? extends TEntity> entities)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return insertAll(connection, entities, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Inserts the entities with JDBC batches of <code>batchSize</code> rows,
+	 * one round trip per batch.
+	 * 
+	 * @return update count of every entity in iteration order, or
+	 *         {@link java.sql.Statement#SUCCESS_NO_INFO}
+	 */
+	public int[] insertAll(final Connection connection, final Collection<? extends TEntity> entities,
+			final int batchSize) throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return executeBatch(connection, DaoQueries.INSERT, entities, batchSize);
+	}
+
+	public int[] updateAll(final Connection connection, final Collection<? extends TEntity> entities)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return updateAll(connection, entities, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Batch counterpart of the DAO's single row update, see
+	 * {@link #insertAll(Connection, Collection, int)}.
+	 */
+	public int[] updateAll(final Connection connection, final Collection<? extends TEntity> entities,
+			final int batchSize) throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return executeBatch(connection, DaoQueries.UPDATE, entities, batchSize);
+	}
+
+	private int[] executeBatch(final Connection connection, final DaoQueries daoQuery,
+			final Collection<? extends TEntity> entities, final int batchSize)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+		}
+		int[] result = new int[entities.size()];
+		if (entities.isEmpty()) {
+			return result;
+		}
+		Enum<?> sqlQuery = sqlQueries.get(daoQuery);
+		if (sqlQuery == null) {
+			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, daoQuery.name()));
+		}
+		int done = 0;
+		int pending = 0;
+		try (PreparedStatement pst = connection.prepareStatement(sqlQuery.toString())) {
+			for (TEntity entity : entities) {
+				if (daoQuery == DaoQueries.INSERT) {
+					bindInsert(pst, entity);
+				} else {
+					bindUpdate(pst, entity);
+				}
+				pst.addBatch();
+				if (++pending == batchSize) {
+					done = copyCounts(pst.executeBatch(), result, done);
+					pending = 0;
+				}
+			}
+			if (pending > 0) {
+				copyCounts(pst.executeBatch(), result, done);
+			}
+		} catch (BatchUpdateException e) {
+			throw new DataBaseReadingException(String.format(ErrorConstants.BATCH_ERROR, done, done + pending - 1),
+					e.getNextException() == null ? e : e.getNextException());
+		} catch (SQLException e) {
+			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
+		}
+		return result;
+	}
+
+	private static int copyCounts(final int[] counts, final int[] result, final int offset) {
+		System.arraycopy(counts, 0, result, offset, counts.length);
+		return offset + counts.length;
+	}
+}
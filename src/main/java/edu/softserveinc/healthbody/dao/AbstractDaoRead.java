@@ -1,6 +1,7 @@
 package edu.softserveinc.healthbody.dao;
 
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -23,6 +24,8 @@ abstract class AbstractDaoRead<TEntity> implements IBasicReadDao<TEntity> {
 	protected static final String SQL_AND = " and";
 	protected static final String SQL_LIKE = " ? like ?;";
 	protected static final String SQL_LIMIT = "  offset ? limit ?;";
+	protected static final String EMPTY = "";
+	public static final int DEFAULT_FETCH_SIZE = 500;
 
 	protected final HashMap<Enum<?>, Enum<?>> sqlQueries;
 
@@ -32,18 +35,49 @@ abstract class AbstractDaoRead<TEntity> implements IBasicReadDao<TEntity> {
 
 	protected abstract void init();
 
-	protected abstract TEntity createInstance(String[] args);
+	/**
+	 * Maps the current row of the result set to an entity. Implementations
+	 * read each column with the typed getters below, using the column indexes
+	 * from {@link edu.softserveinc.healthbody.constants.Constants}.
+	 */
+	protected abstract TEntity createInstance(ResultSet resultSet) throws SQLException;
 
-	// executing query
+	// typed column readers, index is 0-based as in Constants cards
 
-	// loop
-	protected String[] getQueryResultArr(final String[] queryResult, final ResultSet resultSet) throws SQLException {
-		for (int i = 0; i < queryResult.length; i++) {
-			queryResult[i] = resultSet.getString(i + 1);
-		}
-		return queryResult;
+	protected static String getId(final ResultSet resultSet, final int index) throws SQLException {
+		return resultSet.getString(index + 1);
+	}
+
+	protected static String getString(final ResultSet resultSet, final int index) throws SQLException {
+		return getString(resultSet, index, EMPTY);
+	}
+
+	protected static String getString(final ResultSet resultSet, final int index, final String defaultValue)
+			throws SQLException {
+		String value = resultSet.getString(index + 1);
+		return value == null ? defaultValue : value;
+	}
+
+	// SQL NULL is read as 0 / false by the JDBC getters
+	protected static int getInt(final ResultSet resultSet, final int index) throws SQLException {
+		return resultSet.getInt(index + 1);
+	}
+
+	protected static double getDouble(final ResultSet resultSet, final int index) throws SQLException {
+		return resultSet.getDouble(index + 1);
+	}
+
+	protected static boolean getBoolean(final ResultSet resultSet, final int index) throws SQLException {
+		return resultSet.getBoolean(index + 1);
 	}
 
+	protected static Date getDate(final ResultSet resultSet, final int index) throws SQLException {
+		Date value = resultSet.getDate(index + 1);
+		return value == null ? new Date(System.currentTimeMillis()) : value;
+	}
+
+	// executing query
+
 	public TEntity getById(final Connection connection, final String id)
 			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
 		TEntity entity = null;
@@ -54,9 +88,8 @@ abstract class AbstractDaoRead<TEntity> implements IBasicReadDao<TEntity> {
 		}
 		try (PreparedStatement pst = createPreparedStatement(connection, query, id);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				entity = createInstance(getQueryResultArr(queryResult, resultSet));
+				entity = createInstance(resultSet);
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -74,9 +107,8 @@ abstract class AbstractDaoRead<TEntity> implements IBasicReadDao<TEntity> {
 		}
 		try (PreparedStatement pst = createPreparedStatement(connection, query, name);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				entity = createInstance(getQueryResultArr(queryResult, resultSet));
+				entity = createInstance(resultSet);
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -92,9 +124,8 @@ abstract class AbstractDaoRead<TEntity> implements IBasicReadDao<TEntity> {
 			throw new RuntimeException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.GET_ALL.name()));
 		}
 		try (PreparedStatement pst = connection.prepareStatement(query); ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				all.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				all.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -112,9 +143,8 @@ abstract class AbstractDaoRead<TEntity> implements IBasicReadDao<TEntity> {
 		}
 		try (PreparedStatement pst = createPreparedStatement(connection, query, id);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				all.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				all.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -135,9 +165,8 @@ abstract class AbstractDaoRead<TEntity> implements IBasicReadDao<TEntity> {
 		}
 		query = makeQuery(partNumber, partSize, query, filters);
 		try (PreparedStatement pst = connection.prepareStatement(query); ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				all.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				all.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -145,6 +174,87 @@ abstract class AbstractDaoRead<TEntity> implements IBasicReadDao<TEntity> {
 		return all;
 	}
 
+	/**
+	 * Streams all rows of the <code>GET_ALL</code> query to the callback,
+	 * fetching <code>fetchSize</code> rows per round trip. The connection must
+	 * be in a transaction (auto-commit off), otherwise the driver buffers the
+	 * whole result.
+	 */
+	@Override
+	public void streamAll(final Connection connection, final int fetchSize, final RowCallback<TEntity> callback)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		stream(connection, DaoQueries.GET_ALL, null, fetchSize, callback);
+	}
+
+	/**
+	 * Streaming counterpart of {@link #getAllbyId(Connection, String)}; see
+	 * {@link #streamAll(Connection, int, RowCallback)}.
+	 */
+	public void streamAllById(final Connection connection, final String id, final int fetchSize,
+			final RowCallback<TEntity> callback)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		stream(connection, DaoQueries.GET_BY_ID, id, fetchSize, callback);
+	}
+
+	private void stream(final Connection connection, final DaoQueries daoQuery, final String param,
+			final int fetchSize, final RowCallback<TEntity> callback)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		Enum<?> sqlQuery = sqlQueries.get(daoQuery);
+		if (sqlQuery == null) {
+			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, daoQuery.name()));
+		}
+		try {
+			if (connection.getAutoCommit()) {
+				throw new DataBaseReadingException(ErrorConstants.STREAMING_WITHOUT_TRANSACTION);
+			}
+		} catch (SQLException e) {
+			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
+		}
+		try (PreparedStatement pst = connection.prepareStatement(sqlQuery.toString())) {
+			pst.setFetchSize(fetchSize);
+			if (param != null) {
+				pst.setString(1, param);
+			}
+			try (ResultSet resultSet = pst.executeQuery()) {
+				while (resultSet.next()) {
+					if (!callback.processRow(createInstance(resultSet))) {
+						break;
+					}
+				}
+			}
+		} catch (SQLException e) {
+			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
+		}
+	}
+
+	/**
+	 * Reads the page following the key in <code>after</code> with a keyset
+	 * query, whose parameters are the last sort key, the last id and the page
+	 * size.
+	 */
+	protected List<TEntity> getPageAfter(final Connection connection, final Enum<?> daoQuery, final PageToken after,
+			final int partSize) throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		List<TEntity> result = new ArrayList<>();
+		Enum<?> sqlQuery = sqlQueries.get(daoQuery);
+		if (sqlQuery == null) {
+			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, daoQuery.name()));
+		}
+		try (PreparedStatement pst = connection.prepareStatement(sqlQuery.toString())) {
+			int i = 1;
+			pst.setString(i++, after.getSortKey());
+			pst.setString(i++, after.getId());
+			pst.setInt(i++, partSize);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				while (resultSet.next()) {
+					result.add(createInstance(resultSet));
+				}
+			}
+		} catch (SQLException e) {
+			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
+		}
+		return result;
+	}
+
 	private String makeQuery(final int partNumber, final int partSize, String query,
 			final Map<String, String> filters) {
 		boolean isWhereFirst = true;
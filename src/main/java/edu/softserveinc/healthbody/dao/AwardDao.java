@@ -6,7 +6,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 import edu.softserveinc.healthbody.constants.Constants.AwardCard;
 import edu.softserveinc.healthbody.constants.DaoStatementsConstant.AwardDBQueries;
@@ -43,9 +42,9 @@ public final class AwardDao extends AbstractDao<Award> {
 	}
 
 	@Override
-	public Award createInstance(final String[] args) {
-		return new Award(args[AwardCard.ID] == null ? UUID.randomUUID().toString() : args[AwardCard.ID],
-				args[AwardCard.NAME] == null ? new String() : args[AwardCard.NAME]);
+	public Award createInstance(final ResultSet resultSet) throws SQLException {
+		return new Award(getId(resultSet, AwardCard.ID),
+				getString(resultSet, AwardCard.NAME));
 	}
 
 	public boolean deleteAward(final Connection connection, final Award award)
@@ -61,9 +60,8 @@ public final class AwardDao extends AbstractDao<Award> {
 		}
 		try (PreparedStatement pst = connection.prepareStatement(query);
 			ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				awards.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				awards.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -1,11 +1,10 @@
 package edu.softserveinc.healthbody.dao;
 
 import java.sql.Connection;
-import java.sql.Date;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
-import java.util.UUID;
 
 import edu.softserveinc.healthbody.constants.Constants.CompetitionCard;
 import edu.softserveinc.healthbody.constants.ErrorConstants;
@@ -17,6 +16,7 @@ import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;;
 
 public final class CompetitionDao extends AbstractDao<Competition> {
 	
+	private static final String LOCK_USER_COMPETITIONS = "LOCK TABLE usercompetitions IN SHARE MODE;";
 	private static volatile CompetitionDao instance;
 
 	private CompetitionDao() {
@@ -42,14 +42,14 @@ public final class CompetitionDao extends AbstractDao<Competition> {
 	}
 	
 	@Override
-	public Competition createInstance(String[] args) {
+	public Competition createInstance(final ResultSet resultSet) throws SQLException {
 		return new Competition(
-			args[CompetitionCard.ID] == null ? UUID.randomUUID().toString() : args[CompetitionCard.ID],
-			args[CompetitionCard.NAME] == null ? new String() : args[CompetitionCard.NAME],
-			args[CompetitionCard.DESCRIPTION] == null ? new String() : args[CompetitionCard.DESCRIPTION],
-			Date.valueOf(args[CompetitionCard.START] == null ? new Date(System.currentTimeMillis()).toString() : args[CompetitionCard.START]),
-			Date.valueOf(args[CompetitionCard.FINISH] == null ? new Date(System.currentTimeMillis()).toString() : args[CompetitionCard.FINISH]),
-			args[CompetitionCard.IDCRITERIA] == null ? UUID.randomUUID().toString() : args[CompetitionCard.IDCRITERIA]);
+			getId(resultSet, CompetitionCard.ID),
+			getString(resultSet, CompetitionCard.NAME),
+			getString(resultSet, CompetitionCard.DESCRIPTION),
+			getDate(resultSet, CompetitionCard.START),
+			getDate(resultSet, CompetitionCard.FINISH),
+			getId(resultSet, CompetitionCard.IDCRITERIA));
 	}
 	
 	public boolean createCompetition(final Connection connection, final Competition competition)
@@ -105,6 +105,28 @@ public final class CompetitionDao extends AbstractDao<Competition> {
 		return getAll(connection);
 	}
 
+	/**
+	 * Recomputes <code>competitions.participants</code> from
+	 * <code>usercompetitions</code>. Registrations are blocked until the
+	 * transaction ends, so none is counted twice or lost.
+	 * 
+	 * @return number of competitions whose count was wrong
+	 */
+	public int repairParticipantCounts(final Connection connection)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		Enum<?> sqlQuery = sqlQueries.get(DaoQueries.REPAIR_COUNTS);
+		if (sqlQuery == null) {
+			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.REPAIR_COUNTS.name()));
+		}
+		try (PreparedStatement lock = connection.prepareStatement(LOCK_USER_COMPETITIONS);
+				PreparedStatement pst = connection.prepareStatement(sqlQuery.toString())) {
+			lock.execute();
+			return pst.executeUpdate();
+		} catch (SQLException e) {
+			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
+		}
+	}
+
 	@Override
 	public boolean deleteById(final Connection connection, String id) throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
 		return false;
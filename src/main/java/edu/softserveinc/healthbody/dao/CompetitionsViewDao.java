@@ -6,7 +6,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 import edu.softserveinc.healthbody.constants.Constants.CompetitionsViewCard;
 import edu.softserveinc.healthbody.constants.DaoStatementsConstant.CompetitionsViewQueries;
@@ -45,14 +44,14 @@ public class CompetitionsViewDao extends AbstractDao<CompetitionsView> {
 	}
 
 	@Override
-	public CompetitionsView createInstance(final String[] args) {
+	public CompetitionsView createInstance(final ResultSet resultSet) throws SQLException {
 		return new CompetitionsView(
-				args[CompetitionsViewCard.ID] == null ? UUID.randomUUID().toString() : args[CompetitionsViewCard.ID],
-				args[CompetitionsViewCard.NAME] == null ? "0" : args[CompetitionsViewCard.NAME],
-				args[CompetitionsViewCard.DESCRIPTION] == null ? "0" : args[CompetitionsViewCard.DESCRIPTION],
-				args[CompetitionsViewCard.START] == null ? "0" : args[CompetitionsViewCard.START],
-				args[CompetitionsViewCard.FINISH] == null ? "0" : args[CompetitionsViewCard.FINISH], Integer.parseInt(
-						args[CompetitionsViewCard.USERSCOUNT] == null ? "0" : args[CompetitionsViewCard.USERSCOUNT]));
+				getId(resultSet, CompetitionsViewCard.ID),
+				getString(resultSet, CompetitionsViewCard.NAME, "0"),
+				getString(resultSet, CompetitionsViewCard.DESCRIPTION, "0"),
+				getString(resultSet, CompetitionsViewCard.START, "0"),
+				getString(resultSet, CompetitionsViewCard.FINISH, "0"),
+				getInt(resultSet, CompetitionsViewCard.USERSCOUNT));
 	}
 
 	public List<CompetitionsView> getActiveCompetitionsView(final Connection connection, final int partNumber, final int partSize)
@@ -68,9 +67,8 @@ public class CompetitionsViewDao extends AbstractDao<CompetitionsView> {
 		}
 		try (PreparedStatement pst = createPreparedStatement(connection, query, partNumber, partSize);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				result.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -97,9 +95,8 @@ public class CompetitionsViewDao extends AbstractDao<CompetitionsView> {
 		}
 		try (PreparedStatement pst = createPreparedStatementLogin(connection, query, login, partNumber, partSize);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				result.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -120,9 +117,8 @@ public class CompetitionsViewDao extends AbstractDao<CompetitionsView> {
 		}
 		try (PreparedStatement pst = createPreparedStatement(connection, query, partNumber, partSize);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				result.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -130,6 +126,22 @@ public class CompetitionsViewDao extends AbstractDao<CompetitionsView> {
 		return result;
 	}
 
+	/**
+	 * Keyset counterpart of {@link #getAllCompetitionsView(Connection, int, int)}.
+	 */
+	public List<CompetitionsView> getAllCompetitionsViewAfter(final Connection connection, final PageToken after,
+			final int partSize) throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return getPageAfter(connection, CompetitionsViewQueries.GET_ALL_AFTER, after, partSize);
+	}
+
+	/**
+	 * Keyset counterpart of {@link #getActiveCompetitionsView(Connection, int, int)}.
+	 */
+	public List<CompetitionsView> getActiveCompetitionsViewAfter(final Connection connection, final PageToken after,
+			final int partSize) throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return getPageAfter(connection, CompetitionsViewQueries.GET_ALL_ACTIVE_AFTER, after, partSize);
+	}
+
 	public List<CompetitionsView> getCompetitionsByUserView(final Connection connection, int partNumber, final int partSize, final String login)
 			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException,
 			IllegalAgrumentCheckedException {
@@ -149,9 +161,8 @@ public class CompetitionsViewDao extends AbstractDao<CompetitionsView> {
 		}
 		try (PreparedStatement pst = createPreparedStatementLogin(connection, query, login, partNumber, partSize);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				result.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -178,9 +189,8 @@ public class CompetitionsViewDao extends AbstractDao<CompetitionsView> {
 		}
 		try (PreparedStatement pst = createPreparedStatementLogin(connection, query, idGroup, partNumber, partSize);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				result.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -198,10 +208,9 @@ public class CompetitionsViewDao extends AbstractDao<CompetitionsView> {
 		}
 		try (PreparedStatement pst = createPreparedStatementGet(connection, query, name);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			if(!resultSet.wasNull()) {
 				while (resultSet.next()) {
-					result = createInstance(getQueryResultArr(queryResult, resultSet));
+					result = createInstance(resultSet);
 				}
 			}
 		} catch (SQLException e) {
@@ -220,9 +229,8 @@ public class CompetitionsViewDao extends AbstractDao<CompetitionsView> {
 		}
 		try (PreparedStatement pst = createPreparedStatementGet(connection, query, idCompetition);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result = createInstance(getQueryResultArr(queryResult, resultSet));
+				result = createInstance(resultSet);
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
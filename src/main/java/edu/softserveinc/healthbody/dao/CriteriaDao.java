@@ -1,8 +1,9 @@
 package edu.softserveinc.healthbody.dao;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
-import java.util.UUID;
 
 import edu.softserveinc.healthbody.constants.Constants.CriteriaCard;
 import edu.softserveinc.healthbody.constants.DaoStatementsConstant.CriteriaDBQueries;
@@ -38,12 +39,12 @@ public final class CriteriaDao extends AbstractDao<Criteria> {
 	}
 
 	@Override
-	public Criteria createInstance(final String[] args) {
+	public Criteria createInstance(final ResultSet resultSet) throws SQLException {
 		return new Criteria(
-				args[CriteriaCard.ID] == null ? UUID.randomUUID().toString() : args[CriteriaCard.ID],
-				args[CriteriaCard.NAME] == null ? new String() : args[CriteriaCard.NAME],
-				Double.parseDouble(args[CriteriaCard.METRICS] == null ? "0" : args[CriteriaCard.METRICS]),
-				args[CriteriaCard.GETGOOGLE] == null ? new String() : args[CriteriaCard.METRICS]);
+				getId(resultSet, CriteriaCard.ID),
+				getString(resultSet, CriteriaCard.NAME),
+				getDouble(resultSet, CriteriaCard.METRICS),
+				getString(resultSet, CriteriaCard.GETGOOGLE));
 	}
 
 	public boolean deleteCriteria(final Connection connection, final Criteria criteria) 
@@ -2,6 +2,7 @@ package edu.softserveinc.healthbody.dao;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
@@ -45,11 +46,11 @@ public final class GroupCompetitionsDao extends AbstractDao<GroupCompetitions> {
 	}
 	
 	@Override
-	public GroupCompetitions createInstance(final String[] args) {
+	public GroupCompetitions createInstance(final ResultSet resultSet) throws SQLException {
 		return new GroupCompetitions(
-				args[GroupCompetitionsCard.ID] == null ? UUID.randomUUID().toString() : args[GroupCompetitionsCard.ID], 
-				args[GroupCompetitionsCard.IDGROUP] == null ? UUID.randomUUID().toString() : args[GroupCompetitionsCard.IDGROUP],
-				args[GroupCompetitionsCard.IDCOMPETITION] == null ? UUID.randomUUID().toString() : args[GroupCompetitionsCard.IDCOMPETITION]);
+				getId(resultSet, GroupCompetitionsCard.ID),
+				getId(resultSet, GroupCompetitionsCard.IDGROUP),
+				getId(resultSet, GroupCompetitionsCard.IDCOMPETITION));
 	}
 	
 	public boolean createGroupCompetition (final Connection connection, final Group group, final CompetitionsView competitionview)
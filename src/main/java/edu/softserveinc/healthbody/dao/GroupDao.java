@@ -6,7 +6,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 import edu.softserveinc.healthbody.constants.Constants.GroupCard;
 import edu.softserveinc.healthbody.constants.DaoStatementsConstant.GroupDBQueries;
@@ -18,7 +17,7 @@ import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
 import edu.softserveinc.healthbody.log.Log4jWrapper;;
 
-public final class GroupDao extends AbstractDao<Group> {
+public final class GroupDao extends AbstractBatchDao<Group> {
 
 	private static volatile GroupDao instance;
 
@@ -45,13 +44,34 @@ public final class GroupDao extends AbstractDao<Group> {
 	}
 
 	@Override
-	public Group createInstance(final String[] args) {
-		return new Group(args[GroupCard.ID] == null ? UUID.randomUUID().toString() : args[GroupCard.ID], 
-				args[GroupCard.NAME] == null ? new String() : args[GroupCard.NAME],
-				Integer.parseInt(args[GroupCard.COUNT] == null ? "0" : args[GroupCard.COUNT]), 
-				args[GroupCard.DESCRIPTION] == null ? new String() : args[GroupCard.DESCRIPTION],
-				args[GroupCard.SCOREGROUP] == null ? new String() : args[GroupCard.SCOREGROUP], 
-				args[GroupCard.STATUS] == null ? new String() : args[GroupCard.STATUS]);
+	public Group createInstance(final ResultSet resultSet) throws SQLException {
+		return new Group(getId(resultSet, GroupCard.ID),
+				getString(resultSet, GroupCard.NAME),
+				getInt(resultSet, GroupCard.COUNT),
+				getString(resultSet, GroupCard.DESCRIPTION),
+				getString(resultSet, GroupCard.SCOREGROUP),
+				getString(resultSet, GroupCard.STATUS));
+	}
+
+	@Override
+	protected void bindInsert(final PreparedStatement pst, final Group group) throws SQLException {
+		int i = 1;
+		pst.setString(i++, group.getId());
+		pst.setString(i++, group.getName());
+		pst.setInt(i++, group.getCount());
+		pst.setString(i++, group.getDescription());
+		pst.setString(i++, group.getScoreGroup());
+		pst.setString(i++, group.getStatus());
+	}
+
+	@Override
+	protected void bindUpdate(final PreparedStatement pst, final Group group) throws SQLException {
+		int i = 1;
+		pst.setString(i++, group.getName());
+		pst.setInt(i++, group.getCount());
+		pst.setString(i++, group.getDescription());
+		pst.setString(i++, group.getScoreGroup());
+		pst.setString(i++, group.getId());
 	}
 
 	public boolean  createGroup(final Connection connection, final Group group)
@@ -62,13 +82,7 @@ public final class GroupDao extends AbstractDao<Group> {
 			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.UPDATE.name()));
 		}
 		try (PreparedStatement pst = connection.prepareStatement(query)) {
-			int i = 1;
-			pst.setString(i++, group.getId());
-			pst.setString(i++, group.getName());
-			pst.setInt(i++, group.getCount());
-			pst.setString(i++, group.getDescription());
-			pst.setString(i++, group.getScoreGroup());
-			pst.setString(i++, group.getStatus());
+			bindInsert(pst, group);
 			result = pst.execute();
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -83,12 +97,7 @@ public final class GroupDao extends AbstractDao<Group> {
 			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.UPDATE.name()));
 		}
 		try (PreparedStatement pst = connection.prepareStatement(query)) {
-			int i = 1;
-			pst.setString(i++, group.getName());
-			pst.setInt(i++, group.getCount());
-			pst.setString(i++, group.getDescription());
-			pst.setString(i++, group.getScoreGroup());
-			pst.setString(i++, group.getId());
+			bindUpdate(pst, group);
 			result = pst.execute();
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -113,9 +122,8 @@ public final class GroupDao extends AbstractDao<Group> {
 		}
 		try (PreparedStatement pst = createPreparedStatement(connection, query, partNumber, partSize);
 			ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				result.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -123,6 +131,14 @@ public final class GroupDao extends AbstractDao<Group> {
 		return result;
 	}
 	
+	/**
+	 * Keyset counterpart of {@link #getAll(Connection, int, int)}.
+	 */
+	public List<Group> getAllAfter(final Connection connection, final PageToken after, final int partSize)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return getPageAfter(connection, DaoQueries.GET_ALL_AFTER, after, partSize);
+	}
+
 	public List<Group> getGroupsByIdCompetition (final Connection connection, int partNumber, final int partSize, final String idCompetition)
 			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException,
 			IllegalAgrumentCheckedException {
@@ -142,9 +158,8 @@ public final class GroupDao extends AbstractDao<Group> {
 		}
 		try (PreparedStatement pst = createPreparedStatementId(connection, query, idCompetition, partNumber, partSize);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				result.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -6,7 +6,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 import edu.softserveinc.healthbody.constants.Constants.GroupUserViewCard;
 import edu.softserveinc.healthbody.constants.ErrorConstants;
@@ -44,17 +43,16 @@ public class GroupUserViewDao extends AbstractDao<GroupUserView> {
 	}
 
 	@Override
-	public GroupUserView createInstance(final String[] args) {
-		return new GroupUserView(args[GroupUserViewCard.ID] == null ? UUID.randomUUID().toString() : args[GroupUserViewCard.ID], 
-				args[GroupUserViewCard.NAME] == null ? new String() : args[GroupUserViewCard.NAME],
-				Integer.parseInt(args[GroupUserViewCard.COUNT] == null ? "0" : args[GroupUserViewCard.COUNT]), 
-				args[GroupUserViewCard.DESCRIPTION] == null ? new String() : args[GroupUserViewCard.DESCRIPTION],
-				args[GroupUserViewCard.SCOREGROUP] == null ? new String() : args[GroupUserViewCard.SCOREGROUP],
-				args[GroupUserViewCard.STATUS] == null ? new String() : args[GroupUserViewCard.STATUS],		
-				args[GroupUserViewCard.USERS] == null ? new String() : args[GroupUserViewCard.USERS],
-				args[GroupUserViewCard.FIRSTNAME] == null ? new String() : args[GroupUserViewCard.FIRSTNAME],
-				args[GroupUserViewCard.LASTNAME] == null ? new String() : args[GroupUserViewCard.LASTNAME]);
-		
+	public GroupUserView createInstance(final ResultSet resultSet) throws SQLException {
+		return new GroupUserView(getId(resultSet, GroupUserViewCard.ID),
+				getString(resultSet, GroupUserViewCard.NAME),
+				getInt(resultSet, GroupUserViewCard.COUNT),
+				getString(resultSet, GroupUserViewCard.DESCRIPTION),
+				getString(resultSet, GroupUserViewCard.SCOREGROUP),
+				getString(resultSet, GroupUserViewCard.STATUS),
+				getString(resultSet, GroupUserViewCard.USERS),
+				getString(resultSet, GroupUserViewCard.FIRSTNAME),
+				getString(resultSet, GroupUserViewCard.LASTNAME));
 	}
 	
 	public List<GroupUserView> getAllGroupsParticiapnts(final Connection connection, final int partNumber, final int partSize) 
@@ -69,9 +67,8 @@ public class GroupUserViewDao extends AbstractDao<GroupUserView> {
 		}
 		try (PreparedStatement pst = createPreparedStatement(connection, query, partNumber, partSize);
 			ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				result.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -79,6 +76,14 @@ public class GroupUserViewDao extends AbstractDao<GroupUserView> {
 		return result;
 	}
 
+	/**
+	 * Keyset counterpart of {@link #getAllGroupsParticiapnts(Connection, int, int)}.
+	 */
+	public List<GroupUserView> getAllGroupsParticipantsAfter(final Connection connection, final PageToken after,
+			final int partSize) throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return getPageAfter(connection, DaoQueries.GET_ALL_GROUPS_PARTICIPANTS_AFTER, after, partSize);
+	}
+
 	private PreparedStatement createPreparedStatement(final Connection connection, final String query, final int partNumber, final int partSize)
 			throws SQLException, JDBCDriverException {
 		PreparedStatement pst = connection.prepareStatement(query);
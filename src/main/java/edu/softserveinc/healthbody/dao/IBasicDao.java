@@ -13,13 +13,20 @@ public interface IBasicDao<TEntity> extends IBasicReadDao<TEntity> {
 		GET_BY_ID,
 		GET_BY_FIELD,
 		GET_BY_FIELD_NAME,
+		GET_BY_IDS,
+		GET_PROFILE_BY_ID,
+		GET_PROFILE_BY_FIELD_NAME,
 		GET_BY_COMPETITION,
+		GET_SCORES_BY_COMPETITION,
 		GET_ID_BY_FIELDS,
 		GET_ALL,
+		GET_ALL_AFTER,
 		GET_ALL_GROUPS_PARTICIPANTS,
+		GET_ALL_GROUPS_PARTICIPANTS_AFTER,
 		SEARCH,
 		UPDATE,
 		UPDATE_BY_FIELD,
+		REPAIR_COUNTS,
 		ISDISABLED,
 		DELETE_BY_ID,
 		DELETE_BY_FIELD, 
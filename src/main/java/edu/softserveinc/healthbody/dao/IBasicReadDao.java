@@ -16,6 +16,9 @@ public interface IBasicReadDao<TEntity> {
 			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException, CloseStatementException;
 
 	List<TEntity> getAll(Connection connection) throws JDBCDriverException, DataBaseReadingException;
+
+	void streamAll(Connection connection, int fetchSize, RowCallback<TEntity> callback)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException;
 	
 
 	List<TEntity> getFilterRange(Connection connection, int partNumber, int partSize, Map<String, String> filters) 
@@ -1,6 +1,7 @@
 package edu.softserveinc.healthbody.dao;
 
-import java.util.UUID;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 
 import edu.softserveinc.healthbody.constants.Constants.MetaDataCard;
 import edu.softserveinc.healthbody.constants.DaoStatementsConstant.MetaDataDBQueries;
@@ -35,10 +36,10 @@ public final class MetaDataDao extends AbstractDao<MetaData> {
 	}
 
 	@Override
-	public MetaData createInstance(final String[] args) {
+	public MetaData createInstance(final ResultSet resultSet) throws SQLException {
 		return new MetaData(
-				args[MetaDataCard.ID] == null ? UUID.randomUUID().toString() : args[MetaDataCard.ID],
-				args[MetaDataCard.LASTSYNCH] == null ? new String() : args[MetaDataCard.LASTSYNCH]);
+				getId(resultSet, MetaDataCard.ID),
+				getString(resultSet, MetaDataCard.LASTSYNCH));
 	}
 
 }
@@ -0,0 +1,113 @@
+package edu.softserveinc.healthbody.dao;
+
+import java.nio.charset.Charset;
+
+import javax.xml.bind.DatatypeConverter;
+
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
+
+/**
+ * Continuation token of keyset (seek) pagination. It carries the sort key and
+ * the id of the last row of a page; the next page is read with
+ * <code>WHERE (sort_key, id) &gt; (?, ?) ... LIMIT ?</code>, so the database
+ * seeks to the position through the index instead of generating and skipping
+ * all earlier rows as with <code>OFFSET</code>.
+ * <p>
+ * Clients treat the token as opaque: it is URL-safe Base64 and only has to be
+ * passed back unchanged.
+ */
+public final class PageToken {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	// PostgreSQL text values can not contain NUL, so it never occurs in a key
+	private static final char SEPARATOR = '\u0000';
+	private static final String ERROR_INVALID_TOKEN = "Illegal parameter. \"pageToken\" is malformed.";
+	private static final String ERROR_INVALID_SIZE = "Illegal parameter. \"partSize\" must be positive with \"pageToken\".";
+
+	private final String sortKey;
+	private final String id;
+
+	private PageToken(final String sortKey, final String id) {
+		this.sortKey = sortKey;
+		this.id = id;
+	}
+
+	public String getSortKey() {
+		return sortKey;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * @return token of the page following the row with the given key, or
+	 *         <code>null</code> when the key is incomplete
+	 */
+	public static String encode(final String sortKey, final String id) {
+		if (sortKey == null || id == null) {
+			return null;
+		}
+		String base64 = DatatypeConverter.printBase64Binary((sortKey + SEPARATOR + id).getBytes(UTF_8));
+		StringBuilder token = new StringBuilder(base64.length());
+		for (char c : base64.toCharArray()) {
+			if (c == '+') {
+				token.append('-');
+			} else if (c == '/') {
+				token.append('_');
+			} else if (c != '=') {
+				token.append(c);
+			}
+		}
+		return token.toString();
+	}
+
+	/**
+	 * @return token of the page following a page of <code>rows</code> rows
+	 *         that ends with the given key; <code>null</code> if the page was
+	 *         not full, so no further page exists
+	 */
+	public static String next(final int rows, final int partSize, final String sortKey, final String id) {
+		if (partSize <= 0 || rows < partSize) {
+			return null;
+		}
+		return encode(sortKey, id);
+	}
+
+	/**
+	 * @return decoded token or <code>null</code> for an empty token, which
+	 *         means "no position, use the page number"
+	 */
+	public static PageToken decode(final String token, final int partSize) throws IllegalAgrumentCheckedException {
+		if (token == null || token.isEmpty()) {
+			return null;
+		}
+		if (partSize <= 0) {
+			throw new IllegalAgrumentCheckedException(ERROR_INVALID_SIZE);
+		}
+		StringBuilder base64 = new StringBuilder(token.length() + 3);
+		for (char c : token.toCharArray()) {
+			if (c == '-') {
+				base64.append('+');
+			} else if (c == '_') {
+				base64.append('/');
+			} else {
+				base64.append(c);
+			}
+		}
+		while (base64.length() % 4 != 0) {
+			base64.append('=');
+		}
+		String value;
+		try {
+			value = new String(DatatypeConverter.parseBase64Binary(base64.toString()), UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalAgrumentCheckedException(ERROR_INVALID_TOKEN, e);
+		}
+		int separator = value.indexOf(SEPARATOR);
+		if (separator < 0 || separator == value.length() - 1) {
+			throw new IllegalAgrumentCheckedException(ERROR_INVALID_TOKEN);
+		}
+		return new PageToken(value.substring(0, separator), value.substring(separator + 1));
+	}
+}
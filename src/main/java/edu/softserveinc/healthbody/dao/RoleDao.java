@@ -1,8 +1,9 @@
 package edu.softserveinc.healthbody.dao;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
-import java.util.UUID;
 
 import edu.softserveinc.healthbody.constants.Constants.RoleCard;
 import edu.softserveinc.healthbody.constants.DaoStatementsConstant.RoleDBQueries;
@@ -38,11 +39,11 @@ public final class RoleDao extends AbstractDao<Role> {
 	}
 
 	@Override
-	public Role createInstance(final String[] args) {
+	public Role createInstance(final ResultSet resultSet) throws SQLException {
 		return new Role(
-				args[RoleCard.ID] == null ? UUID.randomUUID().toString() : args[RoleCard.ID],
-				args[RoleCard.NAME] == null ? new String() : args[RoleCard.NAME],
-				args[RoleCard.DESCRIPTION] == null ? new String() : args[RoleCard.DESCRIPTION]);
+				getId(resultSet, RoleCard.ID),
+				getString(resultSet, RoleCard.NAME),
+				getString(resultSet, RoleCard.DESCRIPTION));
 	}
 	
 	public boolean deleteRole(final Connection connection, final Role role)
@@ -0,0 +1,14 @@
+package edu.softserveinc.healthbody.dao;
+
+/**
+ * Receives entities one by one from the streaming read methods of the DAOs,
+ * so large results never have to be held in memory as a whole.
+ */
+public interface RowCallback<TEntity> {
+
+	/**
+	 * @param entity entity mapped from the current row
+	 * @return <code>false</code> to stop reading further rows
+	 */
+	boolean processRow(TEntity entity);
+}
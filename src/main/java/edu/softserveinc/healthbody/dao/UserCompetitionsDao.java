@@ -2,23 +2,28 @@ package edu.softserveinc.healthbody.dao;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import edu.softserveinc.healthbody.constants.Constants.UserCompetitionsCard;
+import edu.softserveinc.healthbody.constants.Constants.UserScoreCard;
 import edu.softserveinc.healthbody.constants.DaoStatementsConstant.UserCompetitionsDBQueries;
 import edu.softserveinc.healthbody.constants.ErrorConstants;
 import edu.softserveinc.healthbody.entity.CompetitionsView;
 import edu.softserveinc.healthbody.entity.User;
 import edu.softserveinc.healthbody.entity.UserCompetitions;
+import edu.softserveinc.healthbody.entity.UserScore;
 import edu.softserveinc.healthbody.exceptions.CloseStatementException;
 import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
 import edu.softserveinc.healthbody.exceptions.EmptyResultSetException;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
 
-public final class UserCompetitionsDao extends AbstractDao<UserCompetitions> {
+public final class UserCompetitionsDao extends AbstractBatchDao<UserCompetitions> {
 	
 	private static volatile UserCompetitionsDao instance;
 	
@@ -45,16 +50,39 @@ public final class UserCompetitionsDao extends AbstractDao<UserCompetitions> {
 	}
 
 	@Override
-	public UserCompetitions createInstance(final String[] args) {
+	public UserCompetitions createInstance(final ResultSet resultSet) throws SQLException {
 		return new UserCompetitions(
-				args[UserCompetitionsCard.ID] == null ? UUID.randomUUID().toString() : args[UserCompetitionsCard.ID],
-				args[UserCompetitionsCard.IDUSER] == null ? UUID.randomUUID().toString() : args[UserCompetitionsCard.IDUSER],
-				args[UserCompetitionsCard.IDCOMPETITION] == null ? UUID.randomUUID().toString() : args[UserCompetitionsCard.IDCOMPETITION],
-				Integer.parseInt(args[UserCompetitionsCard.USERSCORE] == null ? "0" : args[UserCompetitionsCard.USERSCORE]),
-				args[UserCompetitionsCard.IDAWARD] == null ? UUID.randomUUID().toString() : args[UserCompetitionsCard.IDAWARD],
-				args[UserCompetitionsCard.TIMERECEIVED] == null ? new String() : args[UserCompetitionsCard.TIMERECEIVED]);
+				getId(resultSet, UserCompetitionsCard.ID),
+				getId(resultSet, UserCompetitionsCard.IDUSER),
+				getId(resultSet, UserCompetitionsCard.IDCOMPETITION),
+				getInt(resultSet, UserCompetitionsCard.USERSCORE),
+				getId(resultSet, UserCompetitionsCard.IDAWARD),
+				getString(resultSet, UserCompetitionsCard.TIMERECEIVED));
 	}
 	
+	@Override
+	protected void bindInsert(final PreparedStatement pst, final UserCompetitions userCompetition)
+			throws SQLException {
+		int i = 1;
+		pst.setString(i++, userCompetition.getIdUserCompetition() == null ? UUID.randomUUID().toString()
+				: userCompetition.getIdUserCompetition());
+		pst.setString(i++, userCompetition.getIdUser());
+		pst.setString(i++, userCompetition.getIdCompetition());
+		pst.setInt(i++, userCompetition.getUserScore() == null ? 0 : userCompetition.getUserScore());
+		pst.setString(i++, userCompetition.getIdAwards());
+		pst.setString(i++, userCompetition.getTimeReceived());
+	}
+
+	@Override
+	protected void bindUpdate(final PreparedStatement pst, final UserCompetitions userCompetition)
+			throws SQLException {
+		int i = 1;
+		pst.setInt(i++, userCompetition.getUserScore());
+		pst.setString(i++, userCompetition.getIdAwards());
+		pst.setString(i++, userCompetition.getTimeReceived());
+		pst.setString(i++, userCompetition.getIdUserCompetition());
+	}
+
 	public boolean createUserCompetition (final Connection connection, final User user, final CompetitionsView competitionview)
 			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
 		boolean result = false;
@@ -63,13 +91,8 @@ public final class UserCompetitionsDao extends AbstractDao<UserCompetitions> {
 				throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.INSERT.name()));
 			}
 			try (PreparedStatement pst = connection.prepareStatement(query)) {
-				int i = 1;
-				pst.setString(i++, UUID.randomUUID().toString());
-				pst.setString(i++, user.getId().toString());
-				pst.setString(i++, competitionview.getIdCompetition().toString());
-				pst.setInt(i++, 0);
-				pst.setString(i++, null);
-				pst.setString(i++, null);
+				bindInsert(pst, new UserCompetitions(null, user.getId(), competitionview.getIdCompetition(), 0,
+						null, null));
 				result = pst.execute();
 			} catch (SQLException e) {
 					throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -84,11 +107,7 @@ public final class UserCompetitionsDao extends AbstractDao<UserCompetitions> {
 				throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.UPDATE.name()));
 			}
 			try (PreparedStatement pst = connection.prepareStatement(query)) {
-				int i = 1;
-				pst.setInt(i++, userCompetition.getUserScore());
-				pst.setString(i++, userCompetition.getIdAwards());
-				pst.setString(i++, userCompetition.getTimeReceived());
-				pst.setString(i++, userCompetition.getIdUserCompetition());
+				bindUpdate(pst, userCompetition);
 				result = pst.execute();
 			} catch (SQLException e) {
 					throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -101,6 +120,15 @@ public final class UserCompetitionsDao extends AbstractDao<UserCompetitions> {
 		return getAll(connection);
 	}
 	
+	/**
+	 * Walks all user competitions without materializing them; the connection
+	 * must be in a transaction.
+	 */
+	public void viewAll(final Connection connection, final RowCallback<UserCompetitions> callback)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		streamAll(connection, DEFAULT_FETCH_SIZE, callback);
+	}
+
 	public List<UserCompetitions> getUserCompetitionsByUserId(final Connection connection, final String id) 
 			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException, CloseStatementException, EmptyResultSetException {		
 		return getAllbyId(connection, id);
@@ -117,6 +145,9 @@ public final class UserCompetitionsDao extends AbstractDao<UserCompetitions> {
 				throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.DELETE_USER_FROM_COMPETITION.name()));
 			}
 			UserCompetitions userCompetition = getUserCompetitionByIds(connection, userId, competitionId);
+			if (userCompetition == null) {
+				return result;
+			}
 			try (PreparedStatement pst = connection.prepareStatement(query)) {
 				pst.setString(1, userCompetition.getId());				
 				result = pst.execute();
@@ -126,16 +157,110 @@ public final class UserCompetitionsDao extends AbstractDao<UserCompetitions> {
 		return result;		
 	}
 	
-	public UserCompetitions getUserCompetitionByIds(Connection connection, String userId, String competitionId) throws JDBCDriverException, DataBaseReadingException, EmptyResultSetException, CloseStatementException{
+	/**
+	 * Reads the participation of the user in the competition with one
+	 * lookup by <code>(id_user, id_competition)</code>.
+	 * 
+	 * @return the participation or <code>null</code> if the user does not
+	 *         take part in the competition
+	 */
+	public UserCompetitions getUserCompetitionByIds(final Connection connection, final String userId,
+			final String competitionId) throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
 		UserCompetitions userCompetition = null;
-		List<UserCompetitions> userCompetitions = viewAll(connection);
-		for (UserCompetitions userComp:userCompetitions){
-			if (userComp.getIdUser().equals(userId) && userComp.getIdCompetition().equals(competitionId)){
-				userCompetition = userComp;
+		Enum<?> sqlQuery = sqlQueries.get(DaoQueries.GET_ID_BY_FIELDS);
+		if (sqlQuery == null) {
+			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.GET_ID_BY_FIELDS.name()));
+		}
+		try (PreparedStatement pst = connection.prepareStatement(sqlQuery.toString())) {
+			pst.setString(1, userId);
+			pst.setString(2, competitionId);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				if (resultSet.next()) {
+					userCompetition = createInstance(resultSet);
+				}
 			}
+		} catch (SQLException e) {
+			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
 		}
 		return userCompetition;
 	}
+
+	/**
+	 * @return logins of the participants of the competition, read with one
+	 *         query by <code>id_competition</code> joined to the users
+	 */
+	public List<String> getLoginsByCompetitionId(final Connection connection, final String competitionId)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		List<String> logins = new ArrayList<>();
+		Enum<?> sqlQuery = sqlQueries.get(DaoQueries.GET_BY_COMPETITION);
+		if (sqlQuery == null) {
+			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.GET_BY_COMPETITION.name()));
+		}
+		try (PreparedStatement pst = connection.prepareStatement(sqlQuery.toString())) {
+			pst.setString(1, competitionId);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				while (resultSet.next()) {
+					logins.add(resultSet.getString(1));
+				}
+			}
+		} catch (SQLException e) {
+			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
+		}
+		return logins;
+	}
+
+	/**
+	 * @return scores of all participants of the competition, unordered
+	 */
+	public List<UserScore> getScoresByCompetitionId(final Connection connection, final String competitionId)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		List<UserScore> scores = new ArrayList<>();
+		Enum<?> sqlQuery = sqlQueries.get(DaoQueries.GET_SCORES_BY_COMPETITION);
+		if (sqlQuery == null) {
+			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.GET_SCORES_BY_COMPETITION.name()));
+		}
+		try (PreparedStatement pst = connection.prepareStatement(sqlQuery.toString())) {
+			pst.setString(1, competitionId);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				while (resultSet.next()) {
+					scores.add(new UserScore(
+							getId(resultSet, UserScoreCard.IDUSER),
+							getString(resultSet, UserScoreCard.LOGIN),
+							getInt(resultSet, UserScoreCard.SCORE)));
+				}
+			}
+		} catch (SQLException e) {
+			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
+		}
+		return scores;
+	}
+
+	/**
+	 * Reads the user competitions with the given ids in one query; ids without
+	 * a row are skipped.
+	 */
+	public List<UserCompetitions> getByIds(final Connection connection, final Collection<String> ids)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		List<UserCompetitions> userCompetitions = new ArrayList<>();
+		if (ids.isEmpty()) {
+			return userCompetitions;
+		}
+		Enum<?> sqlQuery = sqlQueries.get(DaoQueries.GET_BY_IDS);
+		if (sqlQuery == null) {
+			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.GET_BY_IDS.name()));
+		}
+		try (PreparedStatement pst = connection.prepareStatement(sqlQuery.toString())) {
+			pst.setArray(1, connection.createArrayOf("varchar", ids.toArray()));
+			try (ResultSet resultSet = pst.executeQuery()) {
+				while (resultSet.next()) {
+					userCompetitions.add(createInstance(resultSet));
+				}
+			}
+		} catch (SQLException e) {
+			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
+		}
+		return userCompetitions;
+	}
 		
 	public boolean deleteByUserCompetitionId(Connection connection, String id)
 			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
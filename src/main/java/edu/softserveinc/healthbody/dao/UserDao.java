@@ -2,13 +2,16 @@ package edu.softserveinc.healthbody.dao;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.UUID;
 
 import edu.softserveinc.healthbody.constants.Constants.UserCard;
+import edu.softserveinc.healthbody.constants.Constants.UserProfileCard;
 import edu.softserveinc.healthbody.constants.ErrorConstants;
 import edu.softserveinc.healthbody.constants.DaoStatementsConstant.UserDBQueries;
+import edu.softserveinc.healthbody.entity.Group;
 import edu.softserveinc.healthbody.entity.User;
+import edu.softserveinc.healthbody.entity.UserProfile;
 import edu.softserveinc.healthbody.exceptions.CloseStatementException;
 import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
@@ -40,22 +43,22 @@ public final class UserDao extends AbstractDao<User> {
 	}
 
 	@Override
-	protected User createInstance(final String[] args) {
-		return new User(args[UserCard.ID] == null ? UUID.randomUUID().toString() : args[UserCard.ID], 
-				args[UserCard.LOGIN] == null ? new String() : args[UserCard.LOGIN],
-				args[UserCard.PASSWORD] == null ? new String() : args[UserCard.PASSWORD], 
-				args[UserCard.FIRSTNAME] == null ? new String() : args[UserCard.FIRSTNAME],
-				args[UserCard.LASTNAME] == null ? new String() : args[UserCard.LASTNAME], 
-				args[UserCard.MAIL] == null ? new String() : args[UserCard.MAIL],
-				Integer.parseInt(args[UserCard.AGE] == null ? "0" : args[UserCard.AGE]), 
-				Double.parseDouble(args[UserCard.WEIGHT] == null ? "0" : args[UserCard.WEIGHT]),
-				args[UserCard.GENDER] == null ? new String() : args[UserCard.GENDER],
-				args[UserCard.HEALTH] == null ? new String() : args[UserCard.HEALTH],
-				args[UserCard.AVATAR] == null ? new String() : args[UserCard.AVATAR],
-				args[UserCard.GOOGLEAPI] == null ? new String() : args[UserCard.GOOGLEAPI], 
-				args[UserCard.IDROLE] == null ? UUID.randomUUID().toString() : args[UserCard.IDROLE],
-				args[UserCard.STATUS] == null ? "0" : args[UserCard.STATUS],
-				Boolean.parseBoolean(args[UserCard.ISDISABLED] == null ? "false" : args[UserCard.ISDISABLED]));
+	protected User createInstance(final ResultSet resultSet) throws SQLException {
+		return new User(getId(resultSet, UserCard.ID),
+				getString(resultSet, UserCard.LOGIN),
+				getString(resultSet, UserCard.PASSWORD),
+				getString(resultSet, UserCard.FIRSTNAME),
+				getString(resultSet, UserCard.LASTNAME),
+				getString(resultSet, UserCard.MAIL),
+				getInt(resultSet, UserCard.AGE),
+				getDouble(resultSet, UserCard.WEIGHT),
+				getString(resultSet, UserCard.GENDER),
+				getString(resultSet, UserCard.HEALTH),
+				getString(resultSet, UserCard.AVATAR),
+				getString(resultSet, UserCard.GOOGLEAPI),
+				getId(resultSet, UserCard.IDROLE),
+				getString(resultSet, UserCard.STATUS, "0"),
+				getBoolean(resultSet, UserCard.ISDISABLED));
 	}
 
 	public User getUserById(final Connection connection, final String id) 
@@ -127,6 +130,56 @@ public final class UserDao extends AbstractDao<User> {
 		return getByFieldName(connection, login);
 	}
 
+	/**
+	 * Reads the user with its role name and all its groups in one query.
+	 * 
+	 * @return profile or <code>null</code> if there is no such user
+	 */
+	public UserProfile getUserProfileByLogin(final Connection connection, final String login)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return getUserProfile(connection, DaoQueries.GET_PROFILE_BY_FIELD_NAME, login);
+	}
+
+	/**
+	 * @see #getUserProfileByLogin(Connection, String)
+	 */
+	public UserProfile getUserProfileById(final Connection connection, final String id)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return getUserProfile(connection, DaoQueries.GET_PROFILE_BY_ID, id);
+	}
+
+	private UserProfile getUserProfile(final Connection connection, final DaoQueries daoQuery, final String param)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		UserProfile result = null;
+		Enum<?> sqlQuery = sqlQueries.get(daoQuery);
+		if (sqlQuery == null) {
+			throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, daoQuery.name()));
+		}
+		try (PreparedStatement pst = connection.prepareStatement(sqlQuery.toString())) {
+			pst.setString(1, param);
+			try (ResultSet resultSet = pst.executeQuery()) {
+				// one row per group membership, a single row with null group columns if there is none
+				while (resultSet.next()) {
+					if (result == null) {
+						result = new UserProfile(createInstance(resultSet),
+								getString(resultSet, UserProfileCard.ROLENAME, null));
+					}
+					if (getId(resultSet, UserProfileCard.GROUP_ID) != null) {
+						result.getGroups().add(new Group(getId(resultSet, UserProfileCard.GROUP_ID),
+								getString(resultSet, UserProfileCard.GROUP_NAME),
+								getInt(resultSet, UserProfileCard.GROUP_COUNT),
+								getString(resultSet, UserProfileCard.GROUP_DESCRIPTION),
+								getString(resultSet, UserProfileCard.GROUP_SCOREGROUP),
+								getString(resultSet, UserProfileCard.GROUP_STATUS)));
+					}
+				}
+			}
+		} catch (SQLException e) {
+			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
+		}
+		return result;
+	}
+
 	public boolean lockUser(final Connection connection, final boolean isDisabled, final String login)
 			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
 		boolean result = false;
@@ -2,7 +2,9 @@ package edu.softserveinc.healthbody.dao;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,7 +20,7 @@ import edu.softserveinc.healthbody.exceptions.EmptyResultSetException;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
 
-public final class UserGroupDao extends AbstractDao<UserGroup> {
+public final class UserGroupDao extends AbstractBatchDao<UserGroup> {
 	
 	private static volatile UserGroupDao instance;
 	
@@ -45,10 +47,27 @@ public final class UserGroupDao extends AbstractDao<UserGroup> {
 	}
 
 	@Override
-	public UserGroup createInstance(final String[] args) {
-		return new UserGroup(args[UserGroupCard.ID] == null ? UUID.randomUUID().toString() : args[UserGroupCard.ID],
-							 args[UserGroupCard.IDUSER] == null ? UUID.randomUUID().toString() : args[UserGroupCard.IDUSER], 
-							 args[UserGroupCard.IDGROUP] == null ? UUID.randomUUID().toString() : args[UserGroupCard.IDGROUP]);
+	public UserGroup createInstance(final ResultSet resultSet) throws SQLException {
+		return new UserGroup(getId(resultSet, UserGroupCard.ID),
+				getId(resultSet, UserGroupCard.IDUSER),
+				getId(resultSet, UserGroupCard.IDGROUP));
+	}
+
+	@Override
+	protected void bindInsert(final PreparedStatement pst, final UserGroup userGroup) throws SQLException {
+		int i = 1;
+		pst.setString(i++, userGroup.getIdUserGroup() == null ? UUID.randomUUID().toString()
+				: userGroup.getIdUserGroup());
+		pst.setString(i++, userGroup.getIdUser());
+		pst.setString(i++, userGroup.getIdGroup());
+	}
+
+	@Override
+	protected void bindUpdate(final PreparedStatement pst, final UserGroup userGroup) throws SQLException {
+		int i = 1;
+		pst.setString(i++, userGroup.getIdUser());
+		pst.setString(i++, userGroup.getIdGroup());
+		pst.setString(i++, userGroup.getIdUserGroup());
 	}
 
 	public List<UserGroup> getUserGroupbyId(final Connection connection, final String id) 
@@ -65,10 +84,7 @@ public final class UserGroupDao extends AbstractDao<UserGroup> {
 				throw new QueryNotFoundException(String.format(ErrorConstants.QUERY_NOT_FOUND, DaoQueries.INSERT.name()));
 			}
 			try (PreparedStatement pst = connection.prepareStatement(query)) {
-				int i = 1;
-				pst.setString(i++, UUID.randomUUID().toString());
-				pst.setString(i++, user.getId());
-				pst.setString(i++, group.getIdGroup());					
+				bindInsert(pst, new UserGroup(null, user.getId(), group.getIdGroup()));
 				result = pst.execute();
 			} catch (SQLException e) {
 					throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -76,6 +92,18 @@ public final class UserGroupDao extends AbstractDao<UserGroup> {
 		return result;
 	}
 	
+	/**
+	 * Adds the user to all groups in one batch.
+	 */
+	public int[] createUserGroups(final Connection connection, final User user, final List<Group> groups)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		List<UserGroup> userGroups = new ArrayList<>(groups.size());
+		for (Group group : groups) {
+			userGroups.add(new UserGroup(null, user.getId(), group.getIdGroup()));
+		}
+		return insertAll(connection, userGroups);
+	}
+
 	public boolean deleteByUserId (final Connection connection, final String id) 
 			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
 		return deleteById(connection, id);
@@ -6,7 +6,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 import edu.softserveinc.healthbody.constants.Constants.UsersViewCard;
 import edu.softserveinc.healthbody.constants.ErrorConstants;
@@ -43,22 +42,22 @@ public final class UsersViewDao extends AbstractDaoRead<UsersView> {
 	}
 
 	@Override
-	protected UsersView createInstance(final String[] args) {
-		return new UsersView(args[UsersViewCard.ID] == null ? UUID.randomUUID().toString() : args[UsersViewCard.ID],
-				args[UsersViewCard.FIRSTNAME] == null ? new String() : args[UsersViewCard.FIRSTNAME],
-				args[UsersViewCard.LASTNAME] == null ? new String() : args[UsersViewCard.LASTNAME],
-				args[UsersViewCard.LOGIN] == null ? new String() : args[UsersViewCard.LOGIN],
-				args[UsersViewCard.PASSWORD] == null ? new String() : args[UsersViewCard.PASSWORD],
-				args[UsersViewCard.MAIL] == null ? new String() : args[UsersViewCard.MAIL],
-				Integer.parseInt(args[UsersViewCard.AGE] == null ? "0" : args[UsersViewCard.AGE]),
-				Double.parseDouble(args[UsersViewCard.WEIGHT] == null ? "0" : args[UsersViewCard.WEIGHT]),
-				args[UsersViewCard.GENDER] == null ? new String() : args[UsersViewCard.GENDER],
-				args[UsersViewCard.AVATAR] == null ? new String() : args[UsersViewCard.AVATAR],
-				args[UsersViewCard.ROLENAME] == null ? new String() : args[UsersViewCard.ROLENAME],
-				args[UsersViewCard.HEALTH] == null ? new String() : args[UsersViewCard.HEALTH],
-				args[UsersViewCard.GOOGLEAPI] == null ? "0" : args[UsersViewCard.GOOGLEAPI],
-				args[UsersViewCard.STATUS] == null ? "0" : args[UsersViewCard.STATUS],
-				Integer.parseInt(args[UsersViewCard.SCORE] == null ? "0" : args[UsersViewCard.SCORE]));
+	protected UsersView createInstance(final ResultSet resultSet) throws SQLException {
+		return new UsersView(getId(resultSet, UsersViewCard.ID),
+				getString(resultSet, UsersViewCard.FIRSTNAME),
+				getString(resultSet, UsersViewCard.LASTNAME),
+				getString(resultSet, UsersViewCard.LOGIN),
+				getString(resultSet, UsersViewCard.PASSWORD),
+				getString(resultSet, UsersViewCard.MAIL),
+				getInt(resultSet, UsersViewCard.AGE),
+				getDouble(resultSet, UsersViewCard.WEIGHT),
+				getString(resultSet, UsersViewCard.GENDER),
+				getString(resultSet, UsersViewCard.AVATAR),
+				getString(resultSet, UsersViewCard.ROLENAME),
+				getString(resultSet, UsersViewCard.HEALTH),
+				getString(resultSet, UsersViewCard.GOOGLEAPI, "0"),
+				getString(resultSet, UsersViewCard.STATUS, "0"),
+				getInt(resultSet, UsersViewCard.SCORE));
 	}
 
 	public List<UsersView> getAllUsersView(final Connection connection, final int partNumber, final int partSize)
@@ -74,9 +73,8 @@ public final class UsersViewDao extends AbstractDaoRead<UsersView> {
 		}
 		try (PreparedStatement pst = createPreparedStatement(connection, query, partNumber, partSize);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				result.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
@@ -84,6 +82,14 @@ public final class UsersViewDao extends AbstractDaoRead<UsersView> {
 		return result;
 	}
 
+	/**
+	 * Keyset counterpart of {@link #getAllUsersView(Connection, int, int)}.
+	 */
+	public List<UsersView> getAllUsersViewAfter(final Connection connection, final PageToken after, final int partSize)
+			throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
+		return getPageAfter(connection, UsersViewQueries.GET_ALL_AFTER, after, partSize);
+	}
+
 	public List<UsersView> searchUsersView(final Connection connection, final String login/*, final int partNumber,
 			final int partSize*/) throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException {
 		List<UsersView> result = new ArrayList<>();
@@ -97,9 +103,8 @@ public final class UsersViewDao extends AbstractDaoRead<UsersView> {
 		}*/
 		try (PreparedStatement pst = createPreparedStatement(connection, query, login/*, partNumber, partSize*/);
 				ResultSet resultSet = pst.executeQuery()) {
-			String[] queryResult = new String[resultSet.getMetaData().getColumnCount()];
 			while (resultSet.next()) {
-				result.add(createInstance(getQueryResultArr(queryResult, resultSet)));
+				result.add(createInstance(resultSet));
 			}
 		} catch (SQLException e) {
 			throw new DataBaseReadingException(ErrorConstants.DATABASE_READING_ERROR, e);
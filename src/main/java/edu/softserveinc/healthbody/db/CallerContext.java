@@ -0,0 +1,35 @@
+package edu.softserveinc.healthbody.db;
+
+/**
+ * The client on whose behalf the current thread uses the database.
+ * {@link ConnectionManager} remembers commits per client, so a client that
+ * just wrote reads from the primary even when its next request runs on
+ * another thread. Code that hands a request over to other threads passes the
+ * caller on with {@link #get()} and {@link #set(String)}.
+ */
+public final class CallerContext {
+
+	private static final ThreadLocal<String> CALLER = new ThreadLocal<>();
+
+	private CallerContext() {
+	}
+
+	/**
+	 * @return the caller bound to the current thread, <code>null</code>
+	 *         outside of a client request
+	 */
+	public static String get() {
+		return CALLER.get();
+	}
+
+	/**
+	 * Binds the caller to the current thread, <code>null</code> unbinds it.
+	 */
+	public static void set(final String caller) {
+		if (caller == null) {
+			CALLER.remove();
+		} else {
+			CALLER.set(caller);
+		}
+	}
+}
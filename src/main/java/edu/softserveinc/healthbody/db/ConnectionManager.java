@@ -1,32 +1,107 @@
 package edu.softserveinc.healthbody.db;
 
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.log.Log4jWrapper;
 
 public class ConnectionManager {
 	private static final String FAILED_REGISTRATE_DRIVER = "Failed to Registrate JDBC Driver";
 	private static final String ERROR_CONNECTION = "Error while getting connection";
-	private static final String ERROR_FREE_CONNECTION =  "At this moment there is no free connection";
-	private static final int MAX_POOL_SIZE = 50;
-	private static final int MAX_PERMITED_POOL_SIZE = 500;
-	private static final int WAIT_TIME_FOR_CONNECTION = 200;
-	private static final int WAIT_ALL_TIME_FOR_CONNECTION = 30000;
-	private int counter = 0;
+	private static final String ERROR_JMX = "Failed to register connection pool MBean";
+	private static final String ERROR_JMX_UNREGISTER = "Failed to unregister connection pool MBean";
+	private static final String ERROR_DEREGISTER_DRIVER = "Failed to deregister JDBC Driver";
+	private static final String POOL_MBEAN_NAME = "edu.softserveinc.healthbody:type=ConnectionPool";
+	private static final String ERROR_REPLICA = "Replica is unavailable, falling back to primary: ";
+	private static final String WARN_REPLICA_BUSY = "Replica is busy, trying the next one: ";
+	private static final int MAX_TRACKED_CALLERS = 10000;
 
 	private static volatile ConnectionManager instance;
 
-	private DataSource dataSource;
-	private final List<Connection> connections;
+	private volatile DataSource dataSource;
+	private volatile ConnectionPool pool;
+	private volatile List<ConnectionPool> replicaPools = Collections.emptyList();
+	private final AtomicInteger nextReplica = new AtomicInteger();
+	private final ConcurrentMap<String, Long> lastCommitTimes = new ConcurrentHashMap<>();
+	private final ConnectionPoolMonitor poolMonitor = new ConnectionPoolMonitor(this);
 	private Connection testConnection = null;
 
 	private ConnectionManager() {
-		this.connections = new ArrayList<>();
+		registerPoolMonitor();
+	}
+
+	private void registerPoolMonitor() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(POOL_MBEAN_NAME);
+			if (server.isRegistered(name)) {
+				// left over from a previous deployment of the application
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(poolMonitor, name);
+		} catch (JMException e) {
+			Log4jWrapper.get().error(ERROR_JMX, e);
+		}
+	}
+
+	/**
+	 * Closes the primary and replica pools, unregisters the pool MBean and
+	 * the JDBC driver. Called when the application is undeployed, so no
+	 * housekeeping thread or connection outlives it; a later
+	 * {@link #getInstance()} starts a new manager.
+	 */
+	public static void shutdown() {
+		ConnectionManager current;
+		synchronized (ConnectionManager.class) {
+			current = instance;
+			instance = null;
+		}
+		if (current != null) {
+			current.close();
+		}
+	}
+
+	private void close() {
+		synchronized (ConnectionManager.class) {
+			if (pool != null) {
+				pool.close();
+			}
+			for (ConnectionPool replicaPool : replicaPools) {
+				replicaPool.close();
+			}
+			replicaPools = Collections.emptyList();
+			if (dataSource != null) {
+				try {
+					DriverManager.deregisterDriver(dataSource.getJdbcDriver());
+				} catch (SQLException e) {
+					Log4jWrapper.get().error(ERROR_DEREGISTER_DRIVER, e);
+				}
+			}
+		}
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(POOL_MBEAN_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (JMException e) {
+			Log4jWrapper.get().error(ERROR_JMX_UNREGISTER, e);
+		}
 	}
 
 	public static ConnectionManager getInstance() throws JDBCDriverException {
@@ -49,7 +124,7 @@ public class ConnectionManager {
 	 * 			null			null				create default
 	 * 			null			not null			nothing
 	 * 			not null		null				save dataSource
-	 * 			not null		not null			if equals then nothing 
+	 * 			not null		not null			if equals then nothing
 	 */
 	private void checkStatus(final DataSource dataSource) throws JDBCDriverException {
 		if (dataSource == null) {
@@ -67,10 +142,39 @@ public class ConnectionManager {
 
 	private void setDataSource(final DataSource dataSource) throws JDBCDriverException {
 		synchronized (ConnectionManager.class) {
+			if ((getDataSource() != null) && getDataSource().equals(dataSource)) {
+				return;
+			}
 			this.dataSource = dataSource;
 			registerDriver();
-			closeAllConnections();
+			ConnectionPool oldPool = this.pool;
+			List<ConnectionPool> oldReplicaPools = this.replicaPools;
+			ConnectionPoolConfig poolConfig = DataSourcePropertiesRepository.getInstance().getPoolConfig();
+			this.pool = new ConnectionPool(dataSource, poolConfig);
+			this.replicaPools = createReplicaPools(dataSource, poolConfig);
+			if (oldPool != null) {
+				oldPool.close();
+			}
+			for (ConnectionPool replicaPool : oldReplicaPools) {
+				replicaPool.close();
+			}
+		}
+	}
+
+	/**
+	 * Replicas are only used together with the default database, never with
+	 * an explicitly passed (for example test) data source.
+	 */
+	private List<ConnectionPool> createReplicaPools(final DataSource dataSource,
+			final ConnectionPoolConfig poolConfig) throws JDBCDriverException {
+		if (!dataSource.equals(DataSourceRepository.getInstance().getPostgresDatabase())) {
+			return Collections.emptyList();
+		}
+		List<ConnectionPool> pools = new ArrayList<>();
+		for (DataSource replica : DataSourceRepository.getInstance().getPostgresReplicaDatabases()) {
+			pools.add(new ConnectionPool(replica, poolConfig));
 		}
+		return Collections.unmodifiableList(pools);
 	}
 
 	private void registerDriver() throws JDBCDriverException {
@@ -81,141 +185,211 @@ public class ConnectionManager {
 		}
 	}
 
-	private void populateConnectionPool() {		
-		if (counter < MAX_PERMITED_POOL_SIZE){
-			connections.add(createNewConnection());
-		} else {
-			waitFreeConnection();
-		}		
+	/**
+	 * Borrows a connection from the pool.
+	 *
+	 * @return {@link Connection} or <code>null</code> if no connection could
+	 *         be obtained in time
+	 */
+	public Connection getConnection() {
+		try {
+			return pool.borrow(false);
+		} catch (SQLException e) {
+			Log4jWrapper.get().error(ERROR_CONNECTION, e);
+			return null;
+		}
 	}
-	
-	private void waitFreeConnection() {
-		int count = 0; 
-		while(count <= WAIT_ALL_TIME_FOR_CONNECTION ){
-			try {
-				Thread.sleep(WAIT_TIME_FOR_CONNECTION);
-				if (connections.size() > 0){
-					return;
-				}
-				if (counter < MAX_PERMITED_POOL_SIZE){
-					connections.add(createNewConnection());
-					return;
-				} 
-				count += WAIT_TIME_FOR_CONNECTION;				
-			} catch (InterruptedException e) {
-				Log4jWrapper.get().error(ERROR_FREE_CONNECTION, e);
-			}					
-		}		
-	}
-
-	private synchronized Connection getConnectionFromPool() {
-	  if(connections.isEmpty()) {
-		  populateConnectionPool();
-	  } 
-	  if(!connections.isEmpty()) {
-		  int lastElement = connections.size() - 1;
-		  Connection connection = connections.get(lastElement);
-		  connections.remove(lastElement);	 
-		  return connection;		  
-	  } else {
-		  Log4jWrapper.get().error(ERROR_FREE_CONNECTION);
-		  return null;
-	  }
-	}
-	
-	public synchronized Connection getConnection() {
-		return getConnectionFromPool();
-	}
-	
+
 	public synchronized void setUpConnectionForTest(Connection connection) {
-		if (testConnection == null){			
-				testConnection = connection;								
-		} 
+		if (testConnection == null){
+				testConnection = connection;
+		}
 	}
-	
+
 	public synchronized Connection getConnectionForTest() {
-		if (testConnection == null){	
-			testConnection = getConnectionFromPool();
+		if (testConnection == null){
+			testConnection = getConnection();
 		}
 		return testConnection;
 	}
-	
+
 	public synchronized void closeTestConnection(Connection connection) {
 		if (connection != null){
-			try {
-				connection.close();
-			} catch (SQLException e) {
-				Log4jWrapper.get().error(FAILED_REGISTRATE_DRIVER, e);
-			}
+			pool.discard(connection);
 			testConnection = null;
 		}
 	}
-	
-	private synchronized void returnConnectionToPool(Connection connection) throws SQLException {
-		if ((connection != null) && (!connection.isClosed()) && (connections.size() < MAX_POOL_SIZE)){
-			connections.add(connection);
-		} else {
-			closeConnection(connection);
+
+	/**
+	 * @return metrics of the primary connection pool, also published over JMX
+	 */
+	public ConnectionPoolMXBean getPoolMonitor() {
+		return poolMonitor;
+	}
+
+	ConnectionPool getPool() {
+		return pool;
+	}
+
+	public int getTotalConnections() {
+		return pool.getTotalConnections();
+	}
+
+	public int getIdleConnections() {
+		return pool.getIdleConnections();
+	}
+
+	public int getActiveConnections() {
+		return pool.getActiveConnections();
+	}
+
+	public long getStatementCacheHits() {
+		return pool.getStatementCacheHits();
+	}
+
+	public long getStatementCacheMisses() {
+		return pool.getStatementCacheMisses();
+	}
+
+	/**
+	 * @return connections currently borrowed from the primary and replica
+	 *         pools, with borrow sites when leak detection sampled them
+	 */
+	public List<OutstandingBorrow> getOutstandingBorrows() {
+		List<OutstandingBorrow> borrows = new ArrayList<>(pool.getOutstandingBorrows());
+		for (ConnectionPool replicaPool : replicaPools) {
+			borrows.addAll(replicaPool.getOutstandingBorrows());
 		}
+		return borrows;
 	}
 
-	private void closeConnection(Connection connection) {
-			try {
-				connection.close();
-			} catch (SQLException e) {
-				Log4jWrapper.get().error(FAILED_REGISTRATE_DRIVER, e);
+	public int getReplicaCount() {
+		return replicaPools.size();
+	}
+
+	private void returnConnectionToPool(Connection connection) {
+		for (ConnectionPool replicaPool : replicaPools) {
+			if (replicaPool.owns(connection)) {
+				replicaPool.release(connection);
+				return;
 			}
-			counter--;
+		}
+		pool.release(connection);
 	}
 
-	private final Connection createNewConnection() {
-		Connection connection = null;		
+	public final Connection beginTransaction() throws SQLException, JDBCDriverException {
+		Connection connection = pool.borrow(false);
 		try {
-			connection = DriverManager.getConnection(getDataSource().getConnectionUrl(), getDataSource().getUser(),
-					getDataSource().getPasswrd());
+			connection.setAutoCommit(false);
 		} catch (SQLException e) {
-			Log4jWrapper.get().error(ERROR_CONNECTION, e);
-		}	
-		counter++;
-		return connection;
-	}
-		
-	public final Connection beginTransaction() throws SQLException, JDBCDriverException {
-		Connection connection = getConnection();
-		connection.setAutoCommit(false);
+			pool.discard(connection);
+			throw e;
+		}
 		return connection;
 	}
 
 	public final void commitTransaction(Connection connection) throws SQLException, JDBCDriverException {
-		connection.commit();
-		connection.setAutoCommit(true);
-		returnConnectionToPool(connection);
+		try {
+			connection.commit();
+			recordCommit();
+			connection.setAutoCommit(true);
+		} finally {
+			returnConnectionToPool(connection);
+		}
 	}
 
-	public final void rollbackTransaction(Connection connection) throws SQLException, JDBCDriverException {
-		connection.rollback();
-		connection.setAutoCommit(true);
-		returnConnectionToPool(connection);
+	/**
+	 * Borrows a read-only connection in autocommit mode for service methods
+	 * that only read. No transaction is started, so there is nothing to commit
+	 * or roll back; return the connection with
+	 * {@link #releaseReadOnly(Connection)}.
+	 * <p>
+	 * If read replicas are configured the connection is taken from them in
+	 * round-robin order. A replica that has no free connection within
+	 * <code>replica.waitTimeout</code> is skipped for this call; a replica that
+	 * fails to open or prepare a connection is skipped for
+	 * <code>replica.retryInterval</code>. When no replica is available, or the
+	 * {@link CallerContext caller} committed a write within the last
+	 * <code>replica.readAfterWriteWindow</code> milliseconds, the primary is
+	 * used so the caller reads its own writes.
+	 */
+	public final Connection borrowReadOnly() throws SQLException, JDBCDriverException {
+		List<ConnectionPool> replicas = replicaPools;
+		if (!replicas.isEmpty() && !isReadAfterWrite()) {
+			int start = Math.abs(nextReplica.getAndIncrement() % replicas.size());
+			for (int i = 0; i < replicas.size(); i++) {
+				ConnectionPool replicaPool = replicas.get((start + i) % replicas.size());
+				if (replicaPool.isSuspended()) {
+					continue;
+				}
+				try {
+					return replicaPool.borrow(true,
+							DataSourcePropertiesRepository.getInstance().getReplicaWaitTimeout());
+				} catch (SQLTimeoutException e) {
+					Log4jWrapper.get().warn(WARN_REPLICA_BUSY + e.getMessage());
+				} catch (SQLException e) {
+					Log4jWrapper.get().warn(ERROR_REPLICA + e.getMessage());
+					replicaPool.suspend(DataSourcePropertiesRepository.getInstance().getReplicaRetryInterval());
+				}
+			}
+		}
+		return pool.borrow(true);
 	}
 
-	private List<Connection> getAllConections() {
-		return this.connections;
-	}
-	
-	private void closeAllConnections() throws JDBCDriverException {
-		if (instance != null) {
-			for (Iterator<Connection> iterator = instance.getAllConections().iterator(); iterator.hasNext();) {
-			    Connection connection = iterator.next();
-				if (connection != null) {
-					try {
-						connection.close();
-					} catch (SQLException e) {
-						throw new JDBCDriverException(FAILED_REGISTRATE_DRIVER, e);
-					}
-					iterator.remove();
+	/**
+	 * Remembers the commit time of the current {@link CallerContext caller}.
+	 * Callers whose window has passed are dropped once
+	 * <code>MAX_TRACKED_CALLERS</code> are remembered.
+	 */
+	private void recordCommit() {
+		String caller = CallerContext.get();
+		if ((caller == null) || replicaPools.isEmpty()) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		if (lastCommitTimes.size() >= MAX_TRACKED_CALLERS) {
+			long window = DataSourcePropertiesRepository.getInstance().getReadAfterWriteWindow();
+			for (Iterator<Long> committedAt = lastCommitTimes.values().iterator(); committedAt.hasNext();) {
+				if (now - committedAt.next() >= window) {
+					committedAt.remove();
 				}
 			}
 		}
+		lastCommitTimes.put(caller, now);
+	}
+
+	/**
+	 * Borrows a read-only connection of the primary, for reads whose result
+	 * is cached and must not come from a lagging replica. Return it with
+	 * {@link #releaseReadOnly(Connection)}.
+	 */
+	public final Connection borrowPrimaryReadOnly() throws SQLException, JDBCDriverException {
+		return pool.borrow(true);
+	}
+
+	/**
+	 * @return <code>true</code> if the current {@link CallerContext caller}
+	 *         committed a write within the last
+	 *         <code>replica.readAfterWriteWindow</code> milliseconds
+	 */
+	public boolean isReadAfterWrite() {
+		String caller = CallerContext.get();
+		Long committedAt = (caller == null) ? null : lastCommitTimes.get(caller);
+		return (committedAt != null) && (System.currentTimeMillis() - committedAt
+				< DataSourcePropertiesRepository.getInstance().getReadAfterWriteWindow());
+	}
+
+	public final void releaseReadOnly(Connection connection) {
+		returnConnectionToPool(connection);
+	}
+
+	public final void rollbackTransaction(Connection connection) throws SQLException, JDBCDriverException {
+		try {
+			connection.rollback();
+			connection.setAutoCommit(true);
+		} finally {
+			returnConnectionToPool(connection);
+		}
 	}
 
 }
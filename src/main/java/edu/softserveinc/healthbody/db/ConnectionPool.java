@@ -0,0 +1,517 @@
+package edu.softserveinc.healthbody.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.softserveinc.healthbody.log.Log4jWrapper;
+
+/**
+ * Bounded JDBC connection pool used by {@link ConnectionManager}.
+ * <p>
+ * Idle connections are kept in a lock-free LIFO deque so that the most
+ * recently used (warm) connection is handed out first. The number of
+ * connections that may be borrowed at the same time is limited by a fair
+ * {@link Semaphore}: threads that find the pool exhausted queue up in arrival
+ * order and give up after <code>waitTimeout</code> milliseconds. No monitor
+ * is held while waiting or while opening a physical connection.
+ * <p>
+ * A daemon housekeeping thread periodically validates idle connections,
+ * evicts connections that stayed idle longer than <code>idleTimeout</code>,
+ * retires connections older than <code>maxLifetime</code> and opens new ones
+ * until <code>minIdleSize</code> connections are kept warm. Borrowed
+ * connections that outlived <code>maxLifetime</code> are retired when they
+ * are returned. A slot in <code>totalConnections</code> is reserved before a
+ * physical connection is opened, so neither borrowers nor the housekeeper
+ * can grow the pool beyond <code>maxPoolSize</code>.
+ * <p>
+ * Borrowers receive a proxy of the physical connection backed by a
+ * per-connection {@link StatementCache} of up to
+ * <code>statementCacheSize</code> prepared statements.
+ * <p>
+ * With a positive <code>leakDetectionThreshold</code> the housekeeper also
+ * reports connections borrowed for longer than the threshold. The stack of
+ * the borrowing thread is captured for one in
+ * <code>leakDetectionSampleRate</code> borrows to keep the overhead low.
+ */
+final class ConnectionPool {
+
+	private static final String ERROR_CONNECTION = "Error while getting connection";
+	private static final String ERROR_CLOSE_CONNECTION = "Error while closing connection";
+	private static final String ERROR_RESET_CONNECTION = "Error while resetting returned connection";
+	private static final String ERROR_FREE_CONNECTION = "At this moment there is no free connection";
+	private static final String ERROR_INTERRUPTED = "Interrupted while waiting for free connection";
+	private static final String ERROR_POOL_CLOSED = "Connection pool is closed";
+	private static final String ERROR_FOREIGN_CONNECTION = "Returned connection does not belong to the pool";
+	private static final String ERROR_HOUSEKEEPING = "Error during connection pool housekeeping";
+	private static final String WARN_LEAK = "Connection leak detected: ";
+	private static final String INFO_LEAK_RETURNED = "Previously reported leaked connection returned after %d ms";
+	private static final String HOUSEKEEPER_THREAD_NAME = "connection-pool-housekeeper";
+	private static final long RESERVE_RETRY_INTERVAL = 1;
+
+	private final DataSource dataSource;
+	private final int maxPoolSize;
+	private final int maxIdleSize;
+	private final int minIdleSize;
+	private final long waitTimeout;
+	private final long idleTimeout;
+	private final long maxLifetime;
+	private final int validationTimeout;
+	private final int statementCacheSize;
+	private final long leakDetectionThreshold;
+	private final int leakDetectionSampleRate;
+	private final ScheduledExecutorService housekeeper;
+
+	private final Semaphore permits;
+	private final ConcurrentLinkedDeque<PooledConnection> idleConnections;
+	private final ConcurrentMap<Connection, PooledConnection> borrowedConnections;
+	private final AtomicInteger totalConnections;
+	private final AtomicInteger idleCount;
+	private final AtomicLong statementCacheHits;
+	private final AtomicLong statementCacheMisses;
+	private final AtomicLong borrowCount;
+	private final ConnectionPoolMetrics metrics;
+	private volatile boolean closed;
+	private volatile long suspendedUntil;
+
+	ConnectionPool(final DataSource dataSource, final ConnectionPoolConfig config) {
+		this.dataSource = dataSource;
+		this.maxPoolSize = config.getMaxPoolSize();
+		this.maxIdleSize = config.getMaxIdleSize();
+		this.minIdleSize = config.getMinIdleSize();
+		this.waitTimeout = config.getWaitTimeout();
+		this.idleTimeout = config.getIdleTimeout();
+		this.maxLifetime = config.getMaxLifetime();
+		this.validationTimeout = config.getValidationTimeout();
+		this.statementCacheSize = config.getStatementCacheSize();
+		this.leakDetectionThreshold = config.getLeakDetectionThreshold();
+		this.leakDetectionSampleRate = config.getLeakDetectionSampleRate();
+		this.permits = new Semaphore(maxPoolSize, true);
+		this.idleConnections = new ConcurrentLinkedDeque<>();
+		this.borrowedConnections = new ConcurrentHashMap<>();
+		this.totalConnections = new AtomicInteger();
+		this.idleCount = new AtomicInteger();
+		this.statementCacheHits = new AtomicLong();
+		this.statementCacheMisses = new AtomicLong();
+		this.borrowCount = new AtomicLong();
+		this.metrics = new ConnectionPoolMetrics();
+		this.housekeeper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable, HOUSEKEEPER_THREAD_NAME);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		long interval = config.getHousekeepingInterval();
+		this.housekeeper.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					housekeep();
+				} catch (RuntimeException e) {
+					Log4jWrapper.get().error(ERROR_HOUSEKEEPING, e);
+				}
+			}
+		}, 0, interval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Borrows a connection, waiting at most <code>waitTimeout</code>
+	 * milliseconds for one to become available.
+	 *
+	 * @return open {@link Connection}, never <code>null</code>
+	 * @throws SQLTimeoutException if no connection became free in time
+	 * @throws SQLException if the pool is closed or a new physical
+	 *             connection could not be opened
+	 */
+	Connection borrow() throws SQLException {
+		return borrow(waitTimeout);
+	}
+
+	private Connection borrow(final long timeout) throws SQLException {
+		if (closed) {
+			throw new SQLException(ERROR_POOL_CLOSED);
+		}
+		long start = System.nanoTime();
+		try {
+			if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+				metrics.recordBorrowTimeout();
+				throw new SQLTimeoutException(ERROR_FREE_CONNECTION);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException(ERROR_INTERRUPTED, e);
+		}
+		try {
+			PooledConnection pooled = pollIdle();
+			if (pooled == null) {
+				pooled = createConnection(start + TimeUnit.MILLISECONDS.toNanos(timeout));
+			}
+			pooled.markBorrowed((leakDetectionThreshold > 0)
+					&& (borrowCount.getAndIncrement() % leakDetectionSampleRate == 0));
+			borrowedConnections.put(pooled.getProxy(), pooled);
+			metrics.recordBorrow(System.nanoTime() - start);
+			return pooled.getProxy();
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Borrows a connection in the requested read-only mode. The pool remembers
+	 * the mode of every physical connection, so
+	 * {@link Connection#setReadOnly(boolean)} only reaches the database when
+	 * the mode actually changes.
+	 */
+	Connection borrow(final boolean readOnly) throws SQLException {
+		return borrow(readOnly, waitTimeout);
+	}
+
+	/**
+	 * Same as {@link #borrow(boolean)} with an explicit wait timeout in
+	 * milliseconds.
+	 */
+	Connection borrow(final boolean readOnly, final long timeout) throws SQLException {
+		Connection connection = borrow(timeout);
+		PooledConnection pooled = borrowedConnections.get(connection);
+		if (pooled.isReadOnly() != readOnly) {
+			try {
+				pooled.getConnection().setReadOnly(readOnly);
+				pooled.setReadOnly(readOnly);
+			} catch (SQLException e) {
+				discard(connection);
+				throw e;
+			}
+		}
+		return connection;
+	}
+
+	/**
+	 * Returns a borrowed connection. Connections left in a transaction are
+	 * rolled back; broken connections and connections above the idle limit
+	 * are closed.
+	 */
+	void release(final Connection connection) {
+		if (connection == null) {
+			return;
+		}
+		PooledConnection pooled = borrowedConnections.remove(connection);
+		if (pooled == null) {
+			Log4jWrapper.get().warn(ERROR_FOREIGN_CONNECTION);
+			closeQuietly(connection);
+			return;
+		}
+		if (pooled.isLeakReported()) {
+			Log4jWrapper.get().info(String.format(INFO_LEAK_RETURNED,
+					System.currentTimeMillis() - pooled.getBorrowedAt()));
+		}
+		try {
+			if (closed || isExpired(pooled) || !reset(pooled) || (idleCount.get() >= maxIdleSize)) {
+				destroy(pooled);
+			} else {
+				pooled.markReturned();
+				idleCount.incrementAndGet();
+				idleConnections.offerFirst(pooled);
+				if (closed && idleConnections.remove(pooled)) {
+					idleCount.decrementAndGet();
+					destroy(pooled);
+				}
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Closes a borrowed connection instead of returning it to the idle queue.
+	 */
+	void discard(final Connection connection) {
+		if (connection == null) {
+			return;
+		}
+		PooledConnection pooled = borrowedConnections.remove(connection);
+		if (pooled == null) {
+			closeQuietly(connection);
+			return;
+		}
+		try {
+			destroy(pooled);
+		} finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Closes all idle connections and refuses new borrows. Connections that are
+	 * still borrowed are closed as soon as they are returned.
+	 */
+	void close() {
+		closed = true;
+		housekeeper.shutdownNow();
+		PooledConnection pooled;
+		while ((pooled = idleConnections.pollFirst()) != null) {
+			idleCount.decrementAndGet();
+			destroy(pooled);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the connection was borrowed from this pool
+	 *         and not yet returned
+	 */
+	boolean owns(final Connection connection) {
+		return borrowedConnections.containsKey(connection);
+	}
+
+	/**
+	 * Marks the pool as unavailable for the given number of milliseconds. Used
+	 * by {@link ConnectionManager} to skip a replica that failed.
+	 */
+	void suspend(final long millis) {
+		suspendedUntil = System.currentTimeMillis() + millis;
+	}
+
+	boolean isSuspended() {
+		return System.currentTimeMillis() < suspendedUntil;
+	}
+
+	/**
+	 * @return snapshot of all connections that are currently borrowed
+	 */
+	List<OutstandingBorrow> getOutstandingBorrows() {
+		long now = System.currentTimeMillis();
+		List<OutstandingBorrow> borrows = new ArrayList<>();
+		for (PooledConnection pooled : borrowedConnections.values()) {
+			borrows.add(pooled.toOutstandingBorrow(now));
+		}
+		return borrows;
+	}
+
+	ConnectionPoolMetrics getMetrics() {
+		return metrics;
+	}
+
+	int getMaxPoolSize() {
+		return maxPoolSize;
+	}
+
+	int getTotalConnections() {
+		return totalConnections.get();
+	}
+
+	int getIdleConnections() {
+		return idleCount.get();
+	}
+
+	int getActiveConnections() {
+		return borrowedConnections.size();
+	}
+
+	int getPendingThreads() {
+		return permits.getQueueLength();
+	}
+
+	long getStatementCacheHits() {
+		return statementCacheHits.get();
+	}
+
+	long getStatementCacheMisses() {
+		return statementCacheMisses.get();
+	}
+
+	/**
+	 * One housekeeping pass: validates or retires every idle connection and
+	 * tops the idle queue up to <code>minIdleSize</code>.
+	 */
+	void housekeep() {
+		if (closed) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		// connections put back below are not checked again in this pass
+		List<PooledConnection> idle = new ArrayList<>(idleConnections);
+		for (PooledConnection pooled : idle) {
+			// claim the connection so no borrower can take it while it is checked
+			if (!idleConnections.remove(pooled)) {
+				continue;
+			}
+			idleCount.decrementAndGet();
+			boolean idleTooLong = (now - pooled.getLastUsedAt() > idleTimeout) && (idleCount.get() >= minIdleSize);
+			if (closed || isExpired(pooled) || idleTooLong) {
+				destroy(pooled);
+			} else if (!isValid(pooled.getConnection())) {
+				metrics.recordValidationFailure();
+				destroy(pooled);
+			} else {
+				idleCount.incrementAndGet();
+				idleConnections.offerLast(pooled);
+			}
+		}
+		fillMinIdle();
+		detectLeaks(now);
+	}
+
+	private void detectLeaks(final long now) {
+		if (leakDetectionThreshold <= 0) {
+			return;
+		}
+		for (PooledConnection pooled : borrowedConnections.values()) {
+			long borrowedAt = pooled.getBorrowedAt();
+			if ((borrowedAt > 0) && (now - borrowedAt > leakDetectionThreshold) && pooled.markLeakReported()) {
+				Log4jWrapper.get().warn(WARN_LEAK + pooled.toOutstandingBorrow(now));
+			}
+		}
+	}
+
+	private void fillMinIdle() {
+		while (!closed && (idleCount.get() < minIdleSize) && reserveConnection()) {
+			PooledConnection pooled;
+			try {
+				pooled = openConnection();
+			} catch (SQLException e) {
+				return;
+			}
+			idleCount.incrementAndGet();
+			idleConnections.offerLast(pooled);
+		}
+	}
+
+	private PooledConnection pollIdle() {
+		PooledConnection pooled;
+		while ((pooled = idleConnections.pollFirst()) != null) {
+			idleCount.decrementAndGet();
+			if (!isExpired(pooled) && isUsable(pooled.getConnection())) {
+				return pooled;
+			}
+			destroy(pooled);
+		}
+		return null;
+	}
+
+	/**
+	 * Opens a connection for a borrower that holds a permit but found no idle
+	 * connection. When all slots are taken, one of them belongs to an idle
+	 * connection that the housekeeper is checking or has just opened, so the
+	 * borrower waits for it until the deadline.
+	 */
+	private PooledConnection createConnection(final long deadline) throws SQLException {
+		while (!reserveConnection()) {
+			PooledConnection pooled = pollIdle();
+			if (pooled != null) {
+				return pooled;
+			}
+			if (closed) {
+				throw new SQLException(ERROR_POOL_CLOSED);
+			}
+			if (System.nanoTime() - deadline >= 0) {
+				metrics.recordBorrowTimeout();
+				throw new SQLTimeoutException(ERROR_FREE_CONNECTION);
+			}
+			try {
+				Thread.sleep(RESERVE_RETRY_INTERVAL);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException(ERROR_INTERRUPTED, e);
+			}
+		}
+		return openConnection();
+	}
+
+	private boolean reserveConnection() {
+		int total;
+		do {
+			total = totalConnections.get();
+			if (total >= maxPoolSize) {
+				return false;
+			}
+		} while (!totalConnections.compareAndSet(total, total + 1));
+		return true;
+	}
+
+	/**
+	 * Opens a physical connection for a slot already reserved with
+	 * {@link #reserveConnection()}; the slot is given back on failure.
+	 */
+	private PooledConnection openConnection() throws SQLException {
+		Connection connection;
+		try {
+			connection = DriverManager.getConnection(dataSource.getConnectionUrl(), dataSource.getUser(),
+					dataSource.getPasswrd());
+		} catch (SQLException e) {
+			totalConnections.decrementAndGet();
+			metrics.recordCreationFailure();
+			Log4jWrapper.get().error(ERROR_CONNECTION, e);
+			throw e;
+		}
+		metrics.recordConnectionCreated();
+		return new PooledConnection(connection, statementCacheSize, statementCacheHits, statementCacheMisses);
+	}
+
+	private boolean reset(final PooledConnection pooled) {
+		Connection connection = pooled.getConnection();
+		try {
+			if (connection.isClosed()) {
+				return false;
+			}
+			if (!connection.getAutoCommit()) {
+				connection.rollback();
+				connection.setAutoCommit(true);
+			}
+			pooled.getStatementCache().reset();
+			return true;
+		} catch (SQLException e) {
+			Log4jWrapper.get().error(ERROR_RESET_CONNECTION, e);
+			return false;
+		}
+	}
+
+	private boolean isExpired(final PooledConnection pooled) {
+		return System.currentTimeMillis() - pooled.getCreatedAt() > maxLifetime;
+	}
+
+	private boolean isValid(final Connection connection) {
+		try {
+			return connection.isValid(validationTimeout);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private boolean isUsable(final Connection connection) {
+		try {
+			return !connection.isClosed();
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private void destroy(final PooledConnection pooled) {
+		totalConnections.decrementAndGet();
+		metrics.recordConnectionClosed();
+		pooled.getStatementCache().clear();
+		closeQuietly(pooled.getConnection());
+	}
+
+	private void closeQuietly(final Connection connection) {
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			Log4jWrapper.get().error(ERROR_CLOSE_CONNECTION, e);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package edu.softserveinc.healthbody.db;
+
+/**
+ * Tuning parameters of {@link ConnectionPool}. All times are in
+ * milliseconds except <code>validationTimeout</code>, which is passed to
+ * {@link java.sql.Connection#isValid(int)} and therefore in seconds.
+ */
+final class ConnectionPoolConfig {
+
+	private int maxPoolSize = 500;
+	private int maxIdleSize = 50;
+	private int minIdleSize = 5;
+	private long waitTimeout = 30000;
+	private long idleTimeout = 600000;
+	private long maxLifetime = 1800000;
+	private int validationTimeout = 5;
+	private long housekeepingInterval = 30000;
+	private int statementCacheSize = 64;
+	private long leakDetectionThreshold = 0;
+	private int leakDetectionSampleRate = 10;
+
+	//setters
+	void setMaxPoolSize(final int maxPoolSize) {
+		this.maxPoolSize = maxPoolSize;
+	}
+
+	void setMaxIdleSize(final int maxIdleSize) {
+		this.maxIdleSize = maxIdleSize;
+	}
+
+	void setMinIdleSize(final int minIdleSize) {
+		this.minIdleSize = minIdleSize;
+	}
+
+	void setWaitTimeout(final long waitTimeout) {
+		this.waitTimeout = waitTimeout;
+	}
+
+	void setIdleTimeout(final long idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+
+	void setMaxLifetime(final long maxLifetime) {
+		this.maxLifetime = maxLifetime;
+	}
+
+	void setValidationTimeout(final int validationTimeout) {
+		this.validationTimeout = validationTimeout;
+	}
+
+	void setHousekeepingInterval(final long housekeepingInterval) {
+		this.housekeepingInterval = housekeepingInterval;
+	}
+
+	void setStatementCacheSize(final int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	void setLeakDetectionThreshold(final long leakDetectionThreshold) {
+		this.leakDetectionThreshold = leakDetectionThreshold;
+	}
+
+	void setLeakDetectionSampleRate(final int leakDetectionSampleRate) {
+		this.leakDetectionSampleRate = leakDetectionSampleRate;
+	}
+
+	//getters
+	int getMaxPoolSize() {
+		return maxPoolSize;
+	}
+
+	int getMaxIdleSize() {
+		return maxIdleSize;
+	}
+
+	int getMinIdleSize() {
+		return Math.min(minIdleSize, maxIdleSize);
+	}
+
+	long getWaitTimeout() {
+		return waitTimeout;
+	}
+
+	long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	long getMaxLifetime() {
+		return maxLifetime;
+	}
+
+	int getValidationTimeout() {
+		return validationTimeout;
+	}
+
+	long getHousekeepingInterval() {
+		return housekeepingInterval;
+	}
+
+	int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	long getLeakDetectionThreshold() {
+		return leakDetectionThreshold;
+	}
+
+	int getLeakDetectionSampleRate() {
+		return Math.max(1, leakDetectionSampleRate);
+	}
+}
@@ -0,0 +1,52 @@
+package edu.softserveinc.healthbody.db;
+
+/**
+ * JMX view of the primary connection pool, registered as
+ * <code>edu.softserveinc.healthbody:type=ConnectionPool</code>. Counters are
+ * cumulative since the pool was created.
+ */
+public interface ConnectionPoolMXBean {
+
+	int getMaxPoolSize();
+
+	int getTotalConnections();
+
+	int getActiveConnections();
+
+	int getIdleConnections();
+
+	int getPendingThreads();
+
+	long getBorrowCount();
+
+	double getAverageBorrowMillis();
+
+	double getMaxBorrowMillis();
+
+	/**
+	 * @return inclusive upper bounds of the borrow latency buckets in
+	 *         milliseconds
+	 */
+	long[] getBorrowLatencyBounds();
+
+	/**
+	 * @return borrows per latency bucket; one element longer than
+	 *         {@link #getBorrowLatencyBounds()}, the last element counting
+	 *         borrows above the last bound
+	 */
+	long[] getBorrowLatencyCounts();
+
+	long getBorrowTimeouts();
+
+	long getConnectionsCreated();
+
+	long getConnectionsClosed();
+
+	long getCreationFailures();
+
+	long getValidationFailures();
+
+	long getStatementCacheHits();
+
+	long getStatementCacheMisses();
+}
@@ -0,0 +1,110 @@
+package edu.softserveinc.healthbody.db;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and borrow latency histogram of one {@link ConnectionPool}. All
+ * counters are cumulative since the pool was created; rates are derived by
+ * the monitoring system from successive readings.
+ */
+final class ConnectionPoolMetrics {
+
+	/** Upper bounds (inclusive, milliseconds) of the borrow latency buckets. */
+	private static final long[] BORROW_LATENCY_BOUNDS = { 1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000, 30000 };
+
+	private final AtomicLong borrows = new AtomicLong();
+	private final AtomicLong borrowNanos = new AtomicLong();
+	private final AtomicLong maxBorrowNanos = new AtomicLong();
+	private final AtomicLong borrowTimeouts = new AtomicLong();
+	private final AtomicLong connectionsCreated = new AtomicLong();
+	private final AtomicLong connectionsClosed = new AtomicLong();
+	private final AtomicLong creationFailures = new AtomicLong();
+	private final AtomicLong validationFailures = new AtomicLong();
+	// one extra bucket for borrows slower than the last bound
+	private final AtomicLongArray borrowLatencyCounts = new AtomicLongArray(BORROW_LATENCY_BOUNDS.length + 1);
+
+	void recordBorrow(final long nanos) {
+		borrows.incrementAndGet();
+		borrowNanos.addAndGet(nanos);
+		long max = maxBorrowNanos.get();
+		while ((nanos > max) && !maxBorrowNanos.compareAndSet(max, nanos)) {
+			max = maxBorrowNanos.get();
+		}
+		long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+		int bucket = 0;
+		while ((bucket < BORROW_LATENCY_BOUNDS.length) && (millis > BORROW_LATENCY_BOUNDS[bucket])) {
+			bucket++;
+		}
+		borrowLatencyCounts.incrementAndGet(bucket);
+	}
+
+	void recordBorrowTimeout() {
+		borrowTimeouts.incrementAndGet();
+	}
+
+	void recordConnectionCreated() {
+		connectionsCreated.incrementAndGet();
+	}
+
+	void recordConnectionClosed() {
+		connectionsClosed.incrementAndGet();
+	}
+
+	void recordCreationFailure() {
+		creationFailures.incrementAndGet();
+	}
+
+	void recordValidationFailure() {
+		validationFailures.incrementAndGet();
+	}
+
+	long getBorrows() {
+		return borrows.get();
+	}
+
+	long getBorrowNanos() {
+		return borrowNanos.get();
+	}
+
+	long getMaxBorrowNanos() {
+		return maxBorrowNanos.get();
+	}
+
+	long getBorrowTimeouts() {
+		return borrowTimeouts.get();
+	}
+
+	long getConnectionsCreated() {
+		return connectionsCreated.get();
+	}
+
+	long getConnectionsClosed() {
+		return connectionsClosed.get();
+	}
+
+	long getCreationFailures() {
+		return creationFailures.get();
+	}
+
+	long getValidationFailures() {
+		return validationFailures.get();
+	}
+
+	long[] getBorrowLatencyBounds() {
+		return BORROW_LATENCY_BOUNDS.clone();
+	}
+
+	/**
+	 * @return non-cumulative bucket counts; the last element counts borrows
+	 *         slower than the last bound
+	 */
+	long[] getBorrowLatencyCounts() {
+		long[] counts = new long[borrowLatencyCounts.length()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = borrowLatencyCounts.get(i);
+		}
+		return counts;
+	}
+}
@@ -0,0 +1,114 @@
+package edu.softserveinc.healthbody.db;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConnectionPoolMXBean} that always reports on the current primary
+ * pool of {@link ConnectionManager}, so it stays valid when the data source
+ * and with it the pool are replaced.
+ */
+final class ConnectionPoolMonitor implements ConnectionPoolMXBean {
+
+	private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final ConnectionManager connectionManager;
+
+	ConnectionPoolMonitor(final ConnectionManager connectionManager) {
+		this.connectionManager = connectionManager;
+	}
+
+	private ConnectionPool pool() {
+		return connectionManager.getPool();
+	}
+
+	private ConnectionPoolMetrics metrics() {
+		return pool().getMetrics();
+	}
+
+	@Override
+	public int getMaxPoolSize() {
+		return pool().getMaxPoolSize();
+	}
+
+	@Override
+	public int getTotalConnections() {
+		return pool().getTotalConnections();
+	}
+
+	@Override
+	public int getActiveConnections() {
+		return pool().getActiveConnections();
+	}
+
+	@Override
+	public int getIdleConnections() {
+		return pool().getIdleConnections();
+	}
+
+	@Override
+	public int getPendingThreads() {
+		return pool().getPendingThreads();
+	}
+
+	@Override
+	public long getBorrowCount() {
+		return metrics().getBorrows();
+	}
+
+	@Override
+	public double getAverageBorrowMillis() {
+		ConnectionPoolMetrics metrics = metrics();
+		long borrows = metrics.getBorrows();
+		return borrows == 0 ? 0 : metrics.getBorrowNanos() / NANOS_PER_MILLI / borrows;
+	}
+
+	@Override
+	public double getMaxBorrowMillis() {
+		return metrics().getMaxBorrowNanos() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public long[] getBorrowLatencyBounds() {
+		return metrics().getBorrowLatencyBounds();
+	}
+
+	@Override
+	public long[] getBorrowLatencyCounts() {
+		return metrics().getBorrowLatencyCounts();
+	}
+
+	@Override
+	public long getBorrowTimeouts() {
+		return metrics().getBorrowTimeouts();
+	}
+
+	@Override
+	public long getConnectionsCreated() {
+		return metrics().getConnectionsCreated();
+	}
+
+	@Override
+	public long getConnectionsClosed() {
+		return metrics().getConnectionsClosed();
+	}
+
+	@Override
+	public long getCreationFailures() {
+		return metrics().getCreationFailures();
+	}
+
+	@Override
+	public long getValidationFailures() {
+		return metrics().getValidationFailures();
+	}
+
+	@Override
+	public long getStatementCacheHits() {
+		return pool().getStatementCacheHits();
+	}
+
+	@Override
+	public long getStatementCacheMisses() {
+		return pool().getStatementCacheMisses();
+	}
+}
@@ -1,23 +1,15 @@
 package edu.softserveinc.healthbody.db;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 
+import edu.softserveinc.healthbody.cache.ReferenceDataCache;
 import edu.softserveinc.healthbody.log.Log4jWrapper;
 
 public final class DBCreationManager {
 
-	private static final ClassLoader LOADER = Thread.currentThread().getContextClassLoader();
-	private static final String PATH_FILE = "tables.txt";
-	private static final String TABLES_SPLIT = ";";
 	private static volatile DBCreationManager instance;
 
 	private DBCreationManager() {
@@ -123,13 +115,14 @@ public final class DBCreationManager {
     public boolean dropAllDatabaseTables(Connection connection) throws SQLException {
 		boolean result = false;
 		String query = "drop TABLE if exists usercompetitions, usergroups, groupcompetitions, roles, " 
-				+ "users, groups, competitions, awards, criteria, metadata CASCADE;";
+				+ "users, groups, competitions, awards, criteria, metadata, schema_version CASCADE;";
 		try (PreparedStatement pst = connection.prepareStatement(query)) {
 			result = pst.execute();
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error while dropping database tables.", e);
 			throw e;
 		}
+		ReferenceDataCache.getInstance().invalidateAll();
 		return result;
 	}
 
@@ -151,36 +144,16 @@ public final class DBCreationManager {
 		return result;
 	}
     
+	/**
+	 * Creates the tables and brings the schema up to date by applying the
+	 * pending migrations of {@link DBMigrationManager}.
+	 * 
+	 * @param connection {@link Connection} to database
+	 * @return <code>true</code>
+	 * @throws SQLException if a migration failed
+	 */
     public boolean createDatabaseTables(Connection connection) throws SQLException{
-    	boolean result = true;
-		for (String query : getInstance().getListOfQueries()) {
-			result = result && getInstance().createTable(connection, query);
-		}
-		return result;
+		DBMigrationManager.getInstance().migrate(connection);
+		return true;
     }
-    
-	private List<String> getListOfQueries() {
-		List<String> queries = new ArrayList<>();
-		StringBuilder sb = new StringBuilder();
-		try (BufferedReader bufReader = new BufferedReader(
-				new InputStreamReader(LOADER.getResourceAsStream(PATH_FILE)))) {
-			String row;
-			while ((row = bufReader.readLine()) != null) {
-				sb.append(row);
-			}
-			queries = Arrays.asList(sb.toString().split(TABLES_SPLIT));
-		} catch (IOException e) {
-			Log4jWrapper.get().error("Cannot access to file " + PATH_FILE + e);
-		}
-		return queries;
-	}
-
-	private boolean createTable(Connection connection, final String tableQuery) throws SQLException {
-		try (Statement statement = connection.createStatement()){
-			statement.executeUpdate(tableQuery);
-			return true;// .execute(tableQuery);
-		} catch (SQLException e){
-			throw e;
-		}
-	}
 }
\ No newline at end of file
@@ -0,0 +1,264 @@
+package edu.softserveinc.healthbody.db;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.bind.DatatypeConverter;
+
+import edu.softserveinc.healthbody.log.Log4jWrapper;
+
+/**
+ * Brings the database schema up to date with versioned migration scripts.
+ * <p>
+ * Scripts live in the classpath folder <code>db/migration</code> and are
+ * named <code>V&lt;version&gt;__&lt;description&gt;.sql</code>; they are
+ * listed in {@link #MIGRATIONS} in the order they are applied. Every applied
+ * script is recorded in the <code>schema_version</code> table together with
+ * the SHA-256 checksum of its content, so each script runs once per database
+ * and a script that was changed after it had been applied is detected
+ * instead of silently diverging. Applied scripts must therefore never be
+ * edited; schema changes go into a new script.
+ * <p>
+ * Each script runs in its own transaction together with its
+ * <code>schema_version</code> row. A PostgreSQL advisory lock serializes
+ * concurrent runs, for example of several nodes starting at once.
+ */
+public final class DBMigrationManager {
+
+	private static final String[] MIGRATIONS = {
+			"V1__create_tables.sql",
+			"V2__add_lookup_indexes.sql",
+			"V3__add_competition_participants.sql"
+	};
+
+	private static final ClassLoader LOADER = Thread.currentThread().getContextClassLoader();
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final String MIGRATION_FOLDER = "db/migration/";
+	private static final String VERSION_PREFIX = "V";
+	private static final String VERSION_SEPARATOR = "__";
+	private static final String SCRIPT_SUFFIX = ".sql";
+	private static final String COMMENT_PREFIX = "--";
+	private static final String STATEMENT_SPLIT = ";";
+	// arbitrary application wide key of the advisory lock
+	private static final long LOCK_KEY = 0x4865616c7468L;
+
+	private static final String CREATE_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS schema_version("
+			+ "version integer primary key, description varchar(200), script varchar(200), "
+			+ "checksum varchar(64), installed_on timestamp default now(), execution_time bigint);";
+	private static final String GET_APPLIED = "SELECT version, checksum FROM schema_version;";
+	private static final String INSERT_APPLIED = "INSERT INTO schema_version "
+			+ "(version, description, script, checksum, execution_time) VALUES (?, ?, ?, ?, ?);";
+	private static final String LOCK = "SELECT pg_advisory_lock(?);";
+	private static final String UNLOCK = "SELECT pg_advisory_unlock(?);";
+
+	private static final String ERROR_SCRIPT_NOT_FOUND = "Migration script %s was not found.";
+	private static final String ERROR_SCRIPT_NAME = "Migration script %s is not named V<version>__<description>.sql";
+	private static final String ERROR_CHECKSUM = "Migration script %s was changed after it had been applied "
+			+ "(checksum %s, applied %s).";
+	private static final String ERROR_MIGRATION = "Migration script %s failed.";
+
+	private static volatile DBMigrationManager instance;
+
+	private DBMigrationManager() {
+	}
+
+	public static DBMigrationManager getInstance() {
+		if (instance == null) {
+			synchronized (DBMigrationManager.class) {
+				if (instance == null) {
+					instance = new DBMigrationManager();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * @return <code>true</code> unless <code>migration.onStartup</code> is
+	 *         switched off in the database properties
+	 */
+	public boolean isMigrateOnStartup() {
+		return DataSourcePropertiesRepository.getInstance().isMigrateOnStartup();
+	}
+
+	/**
+	 * Applies all scripts that are not yet recorded in
+	 * <code>schema_version</code>, after verifying the checksums of the
+	 * recorded ones. The auto-commit mode of the connection is restored
+	 * afterwards.
+	 *
+	 * @param connection {@link Connection} to the application database
+	 * @return number of applied scripts
+	 * @throws SQLException if a script is missing or changed, or fails; the
+	 *             failed script is rolled back, earlier ones stay applied
+	 */
+	public int migrate(final Connection connection) throws SQLException {
+		List<Migration> migrations = loadMigrations();
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(true);
+		lock(connection, LOCK);
+		try {
+			execute(connection, CREATE_VERSION_TABLE);
+			Map<Integer, String> applied = getApplied(connection);
+			int count = 0;
+			for (Migration migration : migrations) {
+				String checksum = applied.get(migration.version);
+				if (checksum == null) {
+					apply(connection, migration);
+					count++;
+				} else if (!checksum.equals(migration.checksum)) {
+					throw new SQLException(String.format(ERROR_CHECKSUM, migration.script, migration.checksum,
+							checksum));
+				}
+			}
+			Log4jWrapper.get().info("Database schema is up to date, " + count + " migration(s) applied.");
+			return count;
+		} finally {
+			try {
+				lock(connection, UNLOCK);
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		}
+	}
+
+	private void apply(final Connection connection, final Migration migration) throws SQLException {
+		Log4jWrapper.get().info("Applying migration " + migration.script);
+		long start = System.currentTimeMillis();
+		connection.setAutoCommit(false);
+		try {
+			try (Statement statement = connection.createStatement()) {
+				for (String query : migration.statements) {
+					statement.executeUpdate(query);
+				}
+			}
+			try (PreparedStatement pst = connection.prepareStatement(INSERT_APPLIED)) {
+				int i = 1;
+				pst.setInt(i++, migration.version);
+				pst.setString(i++, migration.description);
+				pst.setString(i++, migration.script);
+				pst.setString(i++, migration.checksum);
+				pst.setLong(i++, System.currentTimeMillis() - start);
+				pst.executeUpdate();
+			}
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw new SQLException(String.format(ERROR_MIGRATION, migration.script), e);
+		} finally {
+			connection.setAutoCommit(true);
+		}
+	}
+
+	private Map<Integer, String> getApplied(final Connection connection) throws SQLException {
+		Map<Integer, String> applied = new HashMap<>();
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(GET_APPLIED)) {
+			while (resultSet.next()) {
+				applied.put(resultSet.getInt(1), resultSet.getString(2));
+			}
+		}
+		return applied;
+	}
+
+	private void lock(final Connection connection, final String query) throws SQLException {
+		try (PreparedStatement pst = connection.prepareStatement(query)) {
+			pst.setLong(1, LOCK_KEY);
+			pst.executeQuery().close();
+		}
+	}
+
+	private void execute(final Connection connection, final String query) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate(query);
+		}
+	}
+
+	private List<Migration> loadMigrations() throws SQLException {
+		List<Migration> migrations = new ArrayList<>();
+		for (String script : MIGRATIONS) {
+			migrations.add(new Migration(script, readScript(script)));
+		}
+		return migrations;
+	}
+
+	/**
+	 * Reads the script without comment lines, with lines joined by
+	 * <code>\n</code> so that the checksum does not depend on line endings.
+	 */
+	private String readScript(final String script) throws SQLException {
+		InputStream in = LOADER.getResourceAsStream(MIGRATION_FOLDER + script);
+		if (in == null) {
+			throw new SQLException(String.format(ERROR_SCRIPT_NOT_FOUND, script));
+		}
+		StringBuilder sb = new StringBuilder();
+		try (BufferedReader bufReader = new BufferedReader(new InputStreamReader(in, UTF_8))) {
+			String row;
+			while ((row = bufReader.readLine()) != null) {
+				if (!row.trim().startsWith(COMMENT_PREFIX)) {
+					sb.append(row).append('\n');
+				}
+			}
+		} catch (IOException e) {
+			throw new SQLException(String.format(ERROR_SCRIPT_NOT_FOUND, script), e);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Migration script with its version parsed from the file name.
+	 */
+	private static final class Migration {
+		private final String script;
+		private final int version;
+		private final String description;
+		private final String checksum;
+		private final List<String> statements;
+
+		private Migration(final String script, final String content) throws SQLException {
+			int separator = script.indexOf(VERSION_SEPARATOR);
+			if (!script.startsWith(VERSION_PREFIX) || separator < 0 || !script.endsWith(SCRIPT_SUFFIX)) {
+				throw new SQLException(String.format(ERROR_SCRIPT_NAME, script));
+			}
+			try {
+				this.version = Integer.parseInt(script.substring(VERSION_PREFIX.length(), separator));
+			} catch (NumberFormatException e) {
+				throw new SQLException(String.format(ERROR_SCRIPT_NAME, script), e);
+			}
+			this.script = script;
+			this.description = script.substring(separator + VERSION_SEPARATOR.length(),
+					script.length() - SCRIPT_SUFFIX.length()).replace('_', ' ');
+			this.checksum = sha256(content);
+			this.statements = new ArrayList<>();
+			for (String query : content.split(STATEMENT_SPLIT)) {
+				if (!query.trim().isEmpty()) {
+					statements.add(query.trim());
+				}
+			}
+		}
+
+		private static String sha256(final String content) {
+			try {
+				MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				return DatatypeConverter.printHexBinary(digest.digest(content.getBytes(UTF_8))).toLowerCase();
+			} catch (NoSuchAlgorithmException e) {
+				// every Java platform supports SHA-256
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
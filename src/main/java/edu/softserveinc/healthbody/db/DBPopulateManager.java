@@ -4,9 +4,11 @@ import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Random;
 import java.util.UUID;
 
+import edu.softserveinc.healthbody.cache.ReferenceDataCache;
 import edu.softserveinc.healthbody.constants.DaoStatementsConstant;
 import edu.softserveinc.healthbody.log.Log4jWrapper;
 
@@ -58,6 +60,7 @@ public class DBPopulateManager {
 		result = result && getInstance().populateGroupCompetitionsTable(connection);
 		result = result && getInstance().populateMetaDataTable(connection);
 		result = result && getInstance().populateUserCompetitionsTable(connection);
+		ReferenceDataCache.getInstance().invalidateAll();
     	return result;
     }
 	
@@ -94,11 +97,9 @@ public class DBPopulateManager {
 				}
 				pst.setString(14, "active " + j);
 				pst.setBoolean(15, false);
-				successfulInsert = (pst.executeUpdate() > 0) ? true : false;
-				if (!successfulInsert){
-					break;
-				}
+				pst.addBatch();
 			}
+			successfulInsert = executeBatch(pst);
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error populating users table.", e);
 			throw e;
@@ -118,11 +119,9 @@ public class DBPopulateManager {
 				pst.setString(4, "Description of group "+j);
 				pst.setString(5, "1"+j);	
 				pst.setString(6, "active");	
-				successfulInsert = (pst.executeUpdate() > 0) ? true : false;
-				if (!successfulInsert) {
-					break;
-				}
+				pst.addBatch();
 			}
+			successfulInsert = executeBatch(pst);
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error populating groups table.", e);
 			throw e;
@@ -138,11 +137,9 @@ public class DBPopulateManager {
 				pst.setString(1, UUID.randomUUID().toString());
 				pst.setString(2, USER_ID[(int)(Math.random() * USERS)]);
 				pst.setString(3, GROUP_ID[(int)(Math.random() * GROUPS)]);
-				successfulInsert = (pst.executeUpdate() > 0) ? true : false;
-				if (!successfulInsert) {
-					break;
-				}
+				pst.addBatch();
 			}
+			successfulInsert = executeBatch(pst);
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error populating usergroups table.", e);
 			throw e;
@@ -164,11 +161,9 @@ public class DBPopulateManager {
 				} else {
 					pst.setString(2, "bronze");
 				}
-				successfulInsert = (pst.executeUpdate() > 0) ? true : false;
-				if (!successfulInsert) {
-					break;
-				}
+				pst.addBatch();
 			}
+			successfulInsert = executeBatch(pst);
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error populating awards table.", e);
 			throw e;
@@ -191,11 +186,9 @@ public class DBPopulateManager {
 				Date endDate = new Date(startDate.getTime() + (long)(new Random().nextInt(20)) * 24 * 60 * 60 * 1000);
 				pst.setDate(5, endDate);
 				pst.setString(6, CRITERIA_ID[(int)(Math.random() * CRITERIA)]);
-				successfulInsert = (pst.executeUpdate() > 0) ? true : false;
-				if (!successfulInsert) {
-					break;
-				}
+				pst.addBatch();
 			}
+			successfulInsert = executeBatch(pst);
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error populating competitions table.", e);
 			throw e;
@@ -213,11 +206,9 @@ public class DBPopulateManager {
 				pst.setString(2, "Name criteria " + j);
 				pst.setDouble(3, 4.5 + j);
 				pst.setString(4, "get google " + j);
-				successfulInsert = (pst.executeUpdate() > 0) ? true : false;
-				if (!successfulInsert) {
-					break;
-				}
+				pst.addBatch();
 			}
+			successfulInsert = executeBatch(pst);
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error populating criteria table.", e);
 			throw e;
@@ -233,11 +224,9 @@ public class DBPopulateManager {
 				pst.setString(1, UUID.randomUUID().toString());
 				pst.setString(2, GROUP_ID[(int)(Math.random() * GROUPS)]);
 				pst.setString(3, COMPETITION_ID[(int)(Math.random() * COMPETITIONS)]);
-				successfulInsert = (pst.executeUpdate() > 0) ? true : false;
-				if (!successfulInsert) {
-					break;
-				}
+				pst.addBatch();
 			}
+			successfulInsert = executeBatch(pst);
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error populating groupcompetitions table.", e);
 			throw e;
@@ -252,11 +241,9 @@ public class DBPopulateManager {
 			for (int j = 0; j < METADATA; j++) {
 				pst.setString(1, UUID.randomUUID().toString());
 				pst.setString(2, "meta data " + j);
-				successfulInsert = (pst.executeUpdate() > 0) ? true : false;
-				if (!successfulInsert) {
-					break;
-				}
+				pst.addBatch();
 			}
+			successfulInsert = executeBatch(pst);
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error populating metadata table.", e);
 			throw e;
@@ -280,11 +267,9 @@ public class DBPopulateManager {
 				}
 				pst.setString(2, j == 0 ? "admin" : (j == 1 ? "manager" : "user"));
 				pst.setString(3, j == 0 ? "admin description" : (j == 1 ? "manager description" : "user description"));
-				successfulInsert = (pst.executeUpdate() > 0) ? true : false;
-				if (!successfulInsert) {
-					break;
-				}
+				pst.addBatch();
 			}
+			successfulInsert = executeBatch(pst);
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error populating roles table.", e);
 			throw e;
@@ -303,15 +288,27 @@ public class DBPopulateManager {
 				pst.setInt(4, (int)(Math.random() * USERCOMPETITIONS)) ;
 				pst.setString(5, AWARD_ID[(int)(Math.random() * AWARDS)]);
 				pst.setString(6, "time " + j);
-				successfulInsert = (pst.executeUpdate() > 0) ? true : false;
-				if (!successfulInsert) {
-					break;
-				}
+				pst.addBatch();
 			}
+			successfulInsert = executeBatch(pst);
 		} catch (SQLException e) {
 			Log4jWrapper.get().error("Error populating usercompetitions table.", e);
 			throw e;
 		}
 		return successfulInsert;
 	}
+
+	/**
+	 * Sends all rows added to the statement in one round trip.
+	 *
+	 * @return <code>true</code> if every row was inserted
+	 */
+	private boolean executeBatch(final PreparedStatement pst) throws SQLException {
+		for (int count : pst.executeBatch()) {
+			if (count == 0 || count == Statement.EXECUTE_FAILED) {
+				return false;
+			}
+		}
+		return true;
+	}
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 import edu.softserveinc.healthbody.log.Log4jWrapper;
@@ -18,12 +21,27 @@ class DataSourcePropertiesRepository {
 	private static final String DEFAULT_PASSWORD = "root";
 	private static final String DEFAULT_DATABASE = "healthbodydb";
 	private static final String DEFAULT_TEST_DATABASE = "healthbodydbtest";
+	private static final String POOL_PREFIX = "pool.";
+	private static final String REPLICA_PREFIX = "replica.";
+	private static final String REPLICA_URL_SEPARATOR = ",";
+	private static final long DEFAULT_REPLICA_WAIT_TIMEOUT = 1000;
+	private static final long DEFAULT_REPLICA_RETRY_INTERVAL = 30000;
+	private static final long DEFAULT_READ_AFTER_WRITE_WINDOW = 5000;
+	private static final String MIGRATE_ON_STARTUP = "migration.onStartup";
 
     private String connectionUrl;
     private String username;
     private String password;
     private String database;
     private String testDatabase;
+    private ConnectionPoolConfig poolConfig;
+    private List<String> replicaUrls;
+    private String replicaUsername;
+    private String replicaPassword;
+    private long replicaWaitTimeout;
+    private long replicaRetryInterval;
+    private long readAfterWriteWindow;
+    private boolean migrateOnStartup;
 
     private DataSourcePropertiesRepository() {
    		readProperties(getDataSourcePropertiesInputStream());
@@ -168,6 +186,85 @@ class DataSourcePropertiesRepository {
 				? properties.getProperty("testdatabase")
 				: DEFAULT_TEST_DATABASE;
 //		Log4jWrapper.get().debug("testDatabase: " + testDatabase);
+		poolConfig = readPoolProperties(properties);
+		readReplicaProperties(properties);
+		migrateOnStartup = Boolean.parseBoolean(properties.getProperty(MIGRATE_ON_STARTUP, "true").trim());
+	}
+
+	/**
+	 * Reads read replica settings (keys prefixed with <code>replica.</code>).
+	 * <code>replica.urls</code> is a comma separated list of full JDBC URLs
+	 * including the database name; replicas use the primary credentials
+	 * unless <code>replica.username</code> and <code>replica.password</code>
+	 * are given. No URLs means no replicas.
+	 * 
+	 * @param properties loaded database properties
+	 */
+	private void readReplicaProperties(Properties properties) {
+		List<String> urls = new ArrayList<>();
+		String value = properties.getProperty(REPLICA_PREFIX + "urls");
+		if (value != null) {
+			for (String url : value.split(REPLICA_URL_SEPARATOR)) {
+				if (!url.trim().isEmpty()) {
+					urls.add(url.trim());
+				}
+			}
+		}
+		replicaUrls = Collections.unmodifiableList(urls);
+		replicaUsername = (properties.getProperty(REPLICA_PREFIX + "username") != null)
+				? properties.getProperty(REPLICA_PREFIX + "username")
+				: username;
+		replicaPassword = (properties.getProperty(REPLICA_PREFIX + "password") != null)
+				? properties.getProperty(REPLICA_PREFIX + "password")
+				: password;
+		replicaWaitTimeout = getLongProperty(properties, REPLICA_PREFIX + "waitTimeout",
+				DEFAULT_REPLICA_WAIT_TIMEOUT);
+		replicaRetryInterval = getLongProperty(properties, REPLICA_PREFIX + "retryInterval",
+				DEFAULT_REPLICA_RETRY_INTERVAL);
+		readAfterWriteWindow = getLongProperty(properties, REPLICA_PREFIX + "readAfterWriteWindow",
+				DEFAULT_READ_AFTER_WRITE_WINDOW);
+	}
+
+	/**
+	 * Reads connection pool settings (keys prefixed with <code>pool.</code>).
+	 * Missing or malformed values keep the defaults of
+	 * {@link ConnectionPoolConfig}.
+	 * 
+	 * @param properties loaded database properties
+	 * @return pool settings
+	 */
+	private ConnectionPoolConfig readPoolProperties(Properties properties) {
+		ConnectionPoolConfig config = new ConnectionPoolConfig();
+		config.setMaxPoolSize((int) getLongProperty(properties, POOL_PREFIX + "maxSize", config.getMaxPoolSize()));
+		config.setMaxIdleSize((int) getLongProperty(properties, POOL_PREFIX + "maxIdle", config.getMaxIdleSize()));
+		config.setMinIdleSize((int) getLongProperty(properties, POOL_PREFIX + "minIdle", config.getMinIdleSize()));
+		config.setWaitTimeout(getLongProperty(properties, POOL_PREFIX + "waitTimeout", config.getWaitTimeout()));
+		config.setIdleTimeout(getLongProperty(properties, POOL_PREFIX + "idleTimeout", config.getIdleTimeout()));
+		config.setMaxLifetime(getLongProperty(properties, POOL_PREFIX + "maxLifetime", config.getMaxLifetime()));
+		config.setValidationTimeout((int) getLongProperty(properties, POOL_PREFIX + "validationTimeout",
+				config.getValidationTimeout()));
+		config.setHousekeepingInterval(getLongProperty(properties, POOL_PREFIX + "housekeepingInterval",
+				config.getHousekeepingInterval()));
+		config.setStatementCacheSize((int) getLongProperty(properties, POOL_PREFIX + "statementCacheSize",
+				config.getStatementCacheSize()));
+		config.setLeakDetectionThreshold(getLongProperty(properties, POOL_PREFIX + "leakDetectionThreshold",
+				config.getLeakDetectionThreshold()));
+		config.setLeakDetectionSampleRate((int) getLongProperty(properties, POOL_PREFIX + "leakDetectionSampleRate",
+				config.getLeakDetectionSampleRate()));
+		return config;
+	}
+
+	private long getLongProperty(Properties properties, String name, long defaultValue) {
+		String value = properties.getProperty(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			Log4jWrapper.get().info("Illegal value of " + name + ": " + value + ". Using default.");
+			return defaultValue;
+		}
 	}
 	
 //	private void checkProperties() {
@@ -218,5 +315,37 @@ class DataSourcePropertiesRepository {
 	protected String getTestDatabase() {
 		return testDatabase;
 	}
+
+	protected ConnectionPoolConfig getPoolConfig() {
+		return poolConfig;
+	}
+
+	protected List<String> getReplicaUrls() {
+		return replicaUrls;
+	}
+
+	protected String getReplicaUsername() {
+		return replicaUsername;
+	}
+
+	protected String getReplicaPassword() {
+		return replicaPassword;
+	}
+
+	protected long getReplicaWaitTimeout() {
+		return replicaWaitTimeout;
+	}
+
+	protected long getReplicaRetryInterval() {
+		return replicaRetryInterval;
+	}
+
+	protected long getReadAfterWriteWindow() {
+		return readAfterWriteWindow;
+	}
+
+	protected boolean isMigrateOnStartup() {
+		return migrateOnStartup;
+	}
 	
 }
@@ -1,5 +1,8 @@
 package edu.softserveinc.healthbody.db;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 
 public final class DataSourceRepository {
@@ -36,6 +39,16 @@ public final class DataSourceRepository {
         		DataSourcePropertiesRepository.getInstance().getPassword());
     }
 
+    public List<DataSource> getPostgresReplicaDatabases() throws JDBCDriverException {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : DataSourcePropertiesRepository.getInstance().getReplicaUrls()) {
+            replicas.add(new DataSource(DriverRepository.getInstance().getPostgresDriver(), url,
+            		DataSourcePropertiesRepository.getInstance().getReplicaUsername(),
+            		DataSourcePropertiesRepository.getInstance().getReplicaPassword()));
+        }
+        return replicas;
+    }
+
     public DataSource getPostgresNoDatabase() throws JDBCDriverException {
         return new DataSource(DriverRepository.getInstance().getPostgresDriver(),
         		DataSourcePropertiesRepository.getInstance().getConnectionUrl(),
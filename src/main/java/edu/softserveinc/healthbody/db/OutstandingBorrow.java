@@ -0,0 +1,51 @@
+package edu.softserveinc.healthbody.db;
+
+/**
+ * Snapshot of a connection that is currently borrowed from the pool. The
+ * borrow site is only known for sampled borrows while leak detection is
+ * enabled and is <code>null</code> otherwise.
+ */
+public final class OutstandingBorrow {
+
+	private final String threadName;
+	private final long borrowedAt;
+	private final long heldMillis;
+	private final StackTraceElement[] borrowSite;
+
+	OutstandingBorrow(final String threadName, final long borrowedAt, final long heldMillis,
+			final StackTraceElement[] borrowSite) {
+		this.threadName = threadName;
+		this.borrowedAt = borrowedAt;
+		this.heldMillis = heldMillis;
+		this.borrowSite = borrowSite;
+	}
+
+	//getters
+	public String getThreadName() {
+		return threadName;
+	}
+
+	public long getBorrowedAt() {
+		return borrowedAt;
+	}
+
+	public long getHeldMillis() {
+		return heldMillis;
+	}
+
+	public StackTraceElement[] getBorrowSite() {
+		return borrowSite;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		result.append("Connection held by ").append(threadName).append(" for ").append(heldMillis).append(" ms");
+		if (borrowSite != null) {
+			for (StackTraceElement element : borrowSite) {
+				result.append(System.lineSeparator()).append("\tat ").append(element);
+			}
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,149 @@
+package edu.softserveinc.healthbody.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bookkeeping record kept by {@link ConnectionPool} for every physical
+ * connection it owns.
+ * <p>
+ * Borrowers never see the physical connection: they get a proxy that routes
+ * <code>prepareStatement(String)</code> through the connection's
+ * {@link StatementCache} and passes every other call through.
+ */
+final class PooledConnection implements InvocationHandler {
+
+	private static final String METHOD_PREPARE_STATEMENT = "prepareStatement";
+	private static final String METHOD_SET_READ_ONLY = "setReadOnly";
+	private static final String METHOD_EQUALS = "equals";
+	private static final String METHOD_HASH_CODE = "hashCode";
+
+	private final Connection connection;
+	private final Connection proxy;
+	private final StatementCache statementCache;
+	private final long createdAt;
+	private volatile long lastUsedAt;
+	private volatile long borrowedAt;
+	private volatile boolean readOnly;
+	private volatile String borrowThread;
+	private volatile StackTraceElement[] borrowSite;
+	private volatile boolean leakReported;
+
+	PooledConnection(final Connection connection, final int statementCacheSize, final AtomicLong cacheHits,
+			final AtomicLong cacheMisses) {
+		this.connection = connection;
+		this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, this);
+		this.statementCache = new StatementCache(connection, proxy, statementCacheSize, cacheHits, cacheMisses);
+		this.createdAt = System.currentTimeMillis();
+		this.lastUsedAt = createdAt;
+	}
+
+	@Override
+	public Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+		String name = method.getName();
+		if (METHOD_PREPARE_STATEMENT.equals(name) && (args != null) && (args.length == 1)) {
+			return statementCache.prepare((String) args[0]);
+		}
+		if (METHOD_EQUALS.equals(name) && (args != null) && (args.length == 1)) {
+			return target == args[0];
+		}
+		if (METHOD_HASH_CODE.equals(name) && (args == null)) {
+			return System.identityHashCode(target);
+		}
+		try {
+			Object result = method.invoke(connection, args);
+			if (METHOD_SET_READ_ONLY.equals(name)) {
+				readOnly = (Boolean) args[0];
+			}
+			return result;
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * @param captureSite whether to record the stack of the borrowing thread
+	 */
+	void markBorrowed(final boolean captureSite) {
+		borrowedAt = System.currentTimeMillis();
+		lastUsedAt = borrowedAt;
+		borrowThread = Thread.currentThread().getName();
+		borrowSite = captureSite ? new Throwable().getStackTrace() : null;
+		leakReported = false;
+	}
+
+	void markReturned() {
+		lastUsedAt = System.currentTimeMillis();
+		borrowedAt = 0;
+		borrowThread = null;
+		borrowSite = null;
+	}
+
+	/**
+	 * Flags the connection as reported leak.
+	 *
+	 * @return <code>false</code> if it already was reported during this borrow
+	 */
+	boolean markLeakReported() {
+		if (leakReported) {
+			return false;
+		}
+		leakReported = true;
+		return true;
+	}
+
+	boolean isLeakReported() {
+		return leakReported;
+	}
+
+	OutstandingBorrow toOutstandingBorrow(final long now) {
+		long borrowed = borrowedAt;
+		return new OutstandingBorrow(borrowThread, borrowed, now - borrowed, borrowSite);
+	}
+
+	/**
+	 * @return physical connection, for use by the pool only
+	 */
+	Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * @return proxy handed out to borrowers
+	 */
+	Connection getProxy() {
+		return proxy;
+	}
+
+	/**
+	 * @return last read-only flag set on the physical connection
+	 */
+	boolean isReadOnly() {
+		return readOnly;
+	}
+
+	void setReadOnly(final boolean readOnly) {
+		this.readOnly = readOnly;
+	}
+
+	StatementCache getStatementCache() {
+		return statementCache;
+	}
+
+	long getCreatedAt() {
+		return createdAt;
+	}
+
+	long getLastUsedAt() {
+		return lastUsedAt;
+	}
+
+	long getBorrowedAt() {
+		return borrowedAt;
+	}
+}
@@ -0,0 +1,222 @@
+package edu.softserveinc.healthbody.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.softserveinc.healthbody.log.Log4jWrapper;
+
+/**
+ * LRU cache of {@link PreparedStatement}s owned by one physical connection
+ * and keyed by SQL text.
+ * <p>
+ * Statements are handed out as proxies with logical close semantics:
+ * <code>close()</code> closes the open result set and clears parameters and
+ * batch, then parks the statement in the cache for the next
+ * <code>prepareStatement</code> call with the same SQL. Reusing the same
+ * statement object lets the driver switch to a server-side prepared
+ * statement instead of parsing and planning the query on every call. A
+ * statement is physically closed when it is evicted or when its connection
+ * leaves the pool.
+ */
+final class StatementCache {
+
+	private static final String ERROR_CLOSE_STATEMENT = "Error while closing cached statement";
+	private static final String METHOD_CLOSE = "close";
+	private static final String METHOD_IS_CLOSED = "isClosed";
+	private static final String METHOD_GET_CONNECTION = "getConnection";
+	private static final String METHOD_EQUALS = "equals";
+	private static final String METHOD_HASH_CODE = "hashCode";
+
+	private final Connection connection;
+	private final Connection connectionProxy;
+	private final int maxSize;
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private final LinkedHashMap<String, CachedStatement> statements;
+
+	StatementCache(final Connection connection, final Connection connectionProxy, final int maxSize,
+			final AtomicLong hits, final AtomicLong misses) {
+		this.connection = connection;
+		this.connectionProxy = connectionProxy;
+		this.maxSize = maxSize;
+		this.hits = hits;
+		this.misses = misses;
+		this.statements = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, CachedStatement> eldest) {
+				if (size() > StatementCache.this.maxSize) {
+					eldest.getValue().evict();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns a cached statement for the SQL text or prepares a new one. If
+	 * the cached statement is still open in the caller's code (nested use of
+	 * the same query) a plain, uncached statement is returned instead.
+	 */
+	synchronized PreparedStatement prepare(final String sql) throws SQLException {
+		if (maxSize <= 0) {
+			misses.incrementAndGet();
+			return connection.prepareStatement(sql);
+		}
+		CachedStatement cached = statements.get(sql);
+		if (cached != null) {
+			if (!cached.inUse) {
+				hits.incrementAndGet();
+				cached.inUse = true;
+				return cached.proxy;
+			}
+			misses.incrementAndGet();
+			return connection.prepareStatement(sql);
+		}
+		misses.incrementAndGet();
+		cached = new CachedStatement(connection.prepareStatement(sql));
+		cached.inUse = true;
+		statements.put(sql, cached);
+		return cached.proxy;
+	}
+
+	/**
+	 * Logically closes every statement the borrower left open, so the next
+	 * borrower can reuse them.
+	 */
+	synchronized void reset() {
+		Iterator<CachedStatement> iterator = statements.values().iterator();
+		while (iterator.hasNext()) {
+			CachedStatement cached = iterator.next();
+			if (cached.inUse && !cached.recycle()) {
+				iterator.remove();
+				cached.evict();
+			}
+		}
+	}
+
+	/**
+	 * Physically closes all cached statements.
+	 */
+	synchronized void clear() {
+		List<CachedStatement> all = new ArrayList<>(statements.values());
+		statements.clear();
+		for (CachedStatement cached : all) {
+			cached.evict();
+		}
+	}
+
+	synchronized int size() {
+		return statements.size();
+	}
+
+	private synchronized void returnStatement(final CachedStatement cached) {
+		if (cached.evicted) {
+			cached.closeQuietly();
+		} else if (!cached.recycle()) {
+			statements.values().remove(cached);
+			cached.evict();
+		}
+	}
+
+	private final class CachedStatement implements InvocationHandler {
+
+		private final PreparedStatement statement;
+		private final PreparedStatement proxy;
+		private boolean inUse;
+		private boolean evicted;
+
+		CachedStatement(final PreparedStatement statement) {
+			this.statement = statement;
+			this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+					new Class<?>[] { PreparedStatement.class }, this);
+		}
+
+		@Override
+		public Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+			String name = method.getName();
+			if (METHOD_CLOSE.equals(name) && (args == null)) {
+				synchronized (StatementCache.this) {
+					if (inUse) {
+						returnStatement(this);
+					}
+				}
+				return null;
+			}
+			if (METHOD_IS_CLOSED.equals(name) && (args == null)) {
+				synchronized (StatementCache.this) {
+					if (!inUse) {
+						return Boolean.TRUE;
+					}
+				}
+			}
+			if (METHOD_GET_CONNECTION.equals(name) && (args == null)) {
+				return connectionProxy;
+			}
+			if (METHOD_EQUALS.equals(name) && (args != null) && (args.length == 1)) {
+				return target == args[0];
+			}
+			if (METHOD_HASH_CODE.equals(name) && (args == null)) {
+				return System.identityHashCode(target);
+			}
+			try {
+				return method.invoke(statement, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		/**
+		 * Puts the statement back into its initial state.
+		 *
+		 * @return <code>false</code> if the statement could not be reset and
+		 *         must be discarded
+		 */
+		private boolean recycle() {
+			inUse = false;
+			try {
+				ResultSet resultSet = statement.getResultSet();
+				if (resultSet != null) {
+					resultSet.close();
+				}
+				statement.clearParameters();
+				statement.clearBatch();
+				statement.setFetchSize(0);
+				statement.clearWarnings();
+				return !statement.isClosed();
+			} catch (SQLException e) {
+				return false;
+			}
+		}
+
+		private void evict() {
+			evicted = true;
+			if (!inUse) {
+				closeQuietly();
+			}
+		}
+
+		private void closeQuietly() {
+			inUse = false;
+			try {
+				statement.close();
+			} catch (SQLException e) {
+				Log4jWrapper.get().error(ERROR_CLOSE_STATEMENT, e);
+			}
+		}
+	}
+}
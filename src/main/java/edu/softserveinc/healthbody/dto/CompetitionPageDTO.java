@@ -0,0 +1,51 @@
+package edu.softserveinc.healthbody.dto;
+
+import java.util.List;
+
+	/**
+	 * Class  edu.softserveinc.healthbody.dto.CompetitionPageDTO is POJO.
+	 * Used by edu.softserveinc.healthbody.services.impl.CompetitionsViewServiceImpl
+	 * to transfer one page of competitions together with the token of the next page.
+	 * The token is <code>null</code> on the last page.
+	 * 
+	 * */
+public class CompetitionPageDTO {
+
+	private List<CompetitionDTO> competitions;
+	private String nextPageToken;
+
+	 /**
+     *  Default constructor of edu.softserveinc.healthbody.dto.CompetitionPageDTO   
+     */
+	public CompetitionPageDTO() { }
+
+	 /**
+     *  Constructor of edu.softserveinc.healthbody.dto.CompetitionPageDTO   
+     */
+	public CompetitionPageDTO(final List<CompetitionDTO> competitions, final String nextPageToken) {
+		this.competitions = competitions;
+		this.nextPageToken = nextPageToken;
+	}
+
+	 /**
+     * Getters   
+     */
+	public List<CompetitionDTO> getCompetitions() {
+		return competitions;
+	}
+
+	public String getNextPageToken() {
+		return nextPageToken;
+	}
+
+	 /**
+     * Setters   
+     */
+	public void setCompetitions(final List<CompetitionDTO> competitions) {
+		this.competitions = competitions;
+	}
+
+	public void setNextPageToken(final String nextPageToken) {
+		this.nextPageToken = nextPageToken;
+	}
+}
@@ -0,0 +1,247 @@
+package edu.softserveinc.healthbody.dto;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Hand written Gson adapters for the DTOs returned by the REST controllers.
+ * They write the same JSON as Gson's reflective adapters, field by field
+ * through the getters, without reflective field access. Reading is left to
+ * the adapter Gson would use without them.
+ */
+public final class DtoTypeAdapters {
+
+	private interface DtoWriter<T> {
+		void write(JsonWriter out, T value) throws IOException;
+	}
+
+	private static final DtoWriter<GroupDTO> GROUP = new DtoWriter<GroupDTO>() {
+		@Override
+		public void write(final JsonWriter out, final GroupDTO group) throws IOException {
+			if (group == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("idGroup").value(group.getIdGroup());
+			out.name("name").value(group.getName());
+			out.name("count").value(group.getCount());
+			out.name("descriptions").value(group.getDescriptions());
+			out.name("scoreGroup").value(group.getScoreGroup());
+			out.name("status").value(group.getStatus());
+			writeStrings(out.name("users"), group.getUsers());
+			writeStrings(out.name("firstname"), group.getFirstname());
+			writeStrings(out.name("lastname"), group.getLastname());
+			out.endObject();
+		}
+	};
+
+	private static final DtoWriter<UserDTO> USER = new DtoWriter<UserDTO>() {
+		@Override
+		public void write(final JsonWriter out, final UserDTO user) throws IOException {
+			if (user == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("idUser").value(user.getIdUser());
+			out.name("firstname").value(user.getFirstname());
+			out.name("lastname").value(user.getLastname());
+			out.name("login").value(user.getLogin());
+			out.name("password").value(user.getPassword());
+			out.name("email").value(user.getEmail());
+			out.name("age").value(user.getAge());
+			out.name("weight").value(user.getWeight());
+			out.name("gender").value(user.getGender());
+			out.name("photoURL").value(user.getPhotoURL());
+			out.name("roleName").value(user.getRoleName());
+			out.name("health").value(user.getHealth());
+			out.name("googleApi").value(user.getGoogleApi());
+			out.name("status").value(user.getStatus());
+			out.name("score").value(user.getScore());
+			writeList(out.name("groups"), user.getGroups(), GROUP);
+			out.name("isDisabled").value(user.getIsDisabled());
+			out.endObject();
+		}
+	};
+
+	private static final DtoWriter<CompetitionDTO> COMPETITION = new DtoWriter<CompetitionDTO>() {
+		@Override
+		public void write(final JsonWriter out, final CompetitionDTO competition) throws IOException {
+			if (competition == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("idCompetition").value(competition.getIdCompetition());
+			out.name("name").value(competition.getName());
+			out.name("count").value(competition.getCount());
+			out.name("startDate").value(competition.getStartDate());
+			out.name("finishDate").value(competition.getFinishDate());
+			out.name("description").value(competition.getDescription());
+			out.name("nameCriteria").value(competition.getNameCriteria());
+			writeStrings(out.name("groups"), competition.getGroups());
+			writeStrings(out.name("logins"), competition.getLogins());
+			out.endObject();
+		}
+	};
+
+	private static final DtoWriter<LeaderboardEntryDTO> LEADERBOARD_ENTRY = new DtoWriter<LeaderboardEntryDTO>() {
+		@Override
+		public void write(final JsonWriter out, final LeaderboardEntryDTO entry) throws IOException {
+			if (entry == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("rank").value(entry.getRank());
+			out.name("login").value(entry.getLogin());
+			out.name("score").value(entry.getScore());
+			out.endObject();
+		}
+	};
+
+	private static final DtoWriter<CompetitionPageDTO> COMPETITION_PAGE = new DtoWriter<CompetitionPageDTO>() {
+		@Override
+		public void write(final JsonWriter out, final CompetitionPageDTO page) throws IOException {
+			if (page == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			writeList(out.name("competitions"), page.getCompetitions(), COMPETITION);
+			out.name("nextPageToken").value(page.getNextPageToken());
+			out.endObject();
+		}
+	};
+
+	private static final DtoWriter<GroupPageDTO> GROUP_PAGE = new DtoWriter<GroupPageDTO>() {
+		@Override
+		public void write(final JsonWriter out, final GroupPageDTO page) throws IOException {
+			if (page == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			writeList(out.name("groups"), page.getGroups(), GROUP);
+			out.name("nextPageToken").value(page.getNextPageToken());
+			out.endObject();
+		}
+	};
+
+	private static final DtoWriter<UserPageDTO> USER_PAGE = new DtoWriter<UserPageDTO>() {
+		@Override
+		public void write(final JsonWriter out, final UserPageDTO page) throws IOException {
+			if (page == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			writeList(out.name("users"), page.getUsers(), USER);
+			out.name("nextPageToken").value(page.getNextPageToken());
+			out.endObject();
+		}
+	};
+
+	private static final TypeAdapterFactory FACTORY = new WriterFactory()
+			.register(GroupDTO.class, GROUP)
+			.register(UserDTO.class, USER)
+			.register(CompetitionDTO.class, COMPETITION)
+			.register(LeaderboardEntryDTO.class, LEADERBOARD_ENTRY)
+			.register(CompetitionPageDTO.class, COMPETITION_PAGE)
+			.register(GroupPageDTO.class, GROUP_PAGE)
+			.register(UserPageDTO.class, USER_PAGE);
+
+	private DtoTypeAdapters() {
+	}
+
+	/**
+	 * @return a {@link Gson} with the DTO adapters, lists of DTOs use them
+	 *         for their elements
+	 */
+	public static Gson createGson() {
+		return new GsonBuilder().registerTypeAdapterFactory(FACTORY).create();
+	}
+
+	/**
+	 * Writes the registered DTOs with their writers and reads them with the
+	 * delegate adapter.
+	 */
+	private static final class WriterFactory implements TypeAdapterFactory {
+
+		private final Map<Class<?>, DtoWriter<?>> writers = new HashMap<>();
+
+		<T> WriterFactory register(final Class<T> type, final DtoWriter<T> writer) {
+			writers.put(type, writer);
+			return this;
+		}
+
+		@Override
+		public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+			@SuppressWarnings("unchecked")
+			final DtoWriter<T> writer = (DtoWriter<T>) writers.get(type.getRawType());
+			if (writer == null) {
+				return null;
+			}
+			final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+			return new TypeAdapter<T>() {
+				@Override
+				public void write(final JsonWriter out, final T value) throws IOException {
+					writer.write(out, value);
+				}
+
+				@Override
+				public T read(final JsonReader in) throws IOException {
+					return delegate.read(in);
+				}
+			};
+		}
+	}
+
+	private static void writeStrings(final JsonWriter out, final List<String> values) throws IOException {
+		if (values == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginArray();
+		for (String value : values) {
+			out.value(value);
+		}
+		out.endArray();
+	}
+
+	private static void writeStrings(final JsonWriter out, final String[] values) throws IOException {
+		if (values == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginArray();
+		for (String value : values) {
+			out.value(value);
+		}
+		out.endArray();
+	}
+
+	private static <T> void writeList(final JsonWriter out, final List<T> values, final DtoWriter<T> writer)
+			throws IOException {
+		if (values == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginArray();
+		for (T value : values) {
+			writer.write(out, value);
+		}
+		out.endArray();
+	}
+}
@@ -0,0 +1,51 @@
+package edu.softserveinc.healthbody.dto;
+
+import java.util.List;
+
+	/**
+	 * Class  edu.softserveinc.healthbody.dto.GroupPageDTO is POJO.
+	 * Used by edu.softserveinc.healthbody.services.impl.GroupServiceImpl
+	 * to transfer one page of groups together with the token of the next page.
+	 * The token is <code>null</code> on the last page.
+	 * 
+	 * */
+public class GroupPageDTO {
+
+	private List<GroupDTO> groups;
+	private String nextPageToken;
+
+	 /**
+     *  Default constructor of edu.softserveinc.healthbody.dto.GroupPageDTO   
+     */
+	public GroupPageDTO() { }
+
+	 /**
+     *  Constructor of edu.softserveinc.healthbody.dto.GroupPageDTO   
+     */
+	public GroupPageDTO(final List<GroupDTO> groups, final String nextPageToken) {
+		this.groups = groups;
+		this.nextPageToken = nextPageToken;
+	}
+
+	 /**
+     * Getters   
+     */
+	public List<GroupDTO> getGroups() {
+		return groups;
+	}
+
+	public String getNextPageToken() {
+		return nextPageToken;
+	}
+
+	 /**
+     * Setters   
+     */
+	public void setGroups(final List<GroupDTO> groups) {
+		this.groups = groups;
+	}
+
+	public void setNextPageToken(final String nextPageToken) {
+		this.nextPageToken = nextPageToken;
+	}
+}
@@ -0,0 +1,64 @@
+package edu.softserveinc.healthbody.dto;
+
+	/**
+	 * Class  edu.softserveinc.healthbody.dto.LeaderboardEntryDTO is POJO.
+	 * Used by edu.softserveinc.healthbody.services.impl.LeaderboardServiceImpl
+	 * to transfer the rank and the score of a user in a competition.
+	 * Rank 1 is the highest score.
+	 * 
+	 * */
+public class LeaderboardEntryDTO {
+
+	private int rank;
+	private String login;
+	private long score;
+
+	 /**
+     *  Default constructor of edu.softserveinc.healthbody.dto.LeaderboardEntryDTO   
+     */
+	public LeaderboardEntryDTO() { }
+
+	 /**
+     *  Constructor of edu.softserveinc.healthbody.dto.LeaderboardEntryDTO   
+     */
+	public LeaderboardEntryDTO(final int rank, final String login, final long score) {
+		this.rank = rank;
+		this.login = login;
+		this.score = score;
+	}
+
+	 /**
+     * Getters   
+     */
+	public int getRank() {
+		return rank;
+	}
+
+	public String getLogin() {
+		return login;
+	}
+
+	public long getScore() {
+		return score;
+	}
+
+	 /**
+     * Setters   
+     */
+	public void setRank(final int rank) {
+		this.rank = rank;
+	}
+
+	public void setLogin(final String login) {
+		this.login = login;
+	}
+
+	public void setScore(final long score) {
+		this.score = score;
+	}
+
+	@Override
+	public String toString() {
+		return "LeaderboardEntryDTO [rank=" + rank + ", login=" + login + ", score=" + score + "]";
+	}
+}
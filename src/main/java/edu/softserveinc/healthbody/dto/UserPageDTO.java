@@ -0,0 +1,51 @@
+package edu.softserveinc.healthbody.dto;
+
+import java.util.List;
+
+	/**
+	 * Class  edu.softserveinc.healthbody.dto.UserPageDTO is POJO.
+	 * Used by edu.softserveinc.healthbody.services.impl.UsersViewServiceImpl
+	 * to transfer one page of users together with the token of the next page.
+	 * The token is <code>null</code> on the last page.
+	 * 
+	 * */
+public class UserPageDTO {
+
+	private List<UserDTO> users;
+	private String nextPageToken;
+
+	 /**
+     *  Default constructor of edu.softserveinc.healthbody.dto.UserPageDTO   
+     */
+	public UserPageDTO() { }
+
+	 /**
+     *  Constructor of edu.softserveinc.healthbody.dto.UserPageDTO   
+     */
+	public UserPageDTO(final List<UserDTO> users, final String nextPageToken) {
+		this.users = users;
+		this.nextPageToken = nextPageToken;
+	}
+
+	 /**
+     * Getters   
+     */
+	public List<UserDTO> getUsers() {
+		return users;
+	}
+
+	public String getNextPageToken() {
+		return nextPageToken;
+	}
+
+	 /**
+     * Setters   
+     */
+	public void setUsers(final List<UserDTO> users) {
+		this.users = users;
+	}
+
+	public void setNextPageToken(final String nextPageToken) {
+		this.nextPageToken = nextPageToken;
+	}
+}
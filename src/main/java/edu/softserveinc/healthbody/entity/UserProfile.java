@@ -0,0 +1,43 @@
+package edu.softserveinc.healthbody.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+	/**
+	 * Class  edu.softserveinc.healthbody.entity.UserProfile is POJO.
+	 * Called by:
+	 * edu.softserveinc.healthbody.dao.UserDao - create instance
+	 * Return a user together with the name of its role and its groups,
+	 * read with one query.
+	 *
+	 * */
+public class UserProfile {
+
+	private User user;
+	private String roleName;
+	private List<Group> groups;
+
+	 /**
+     *  Constructor of edu.softserveinc.healthbody.entity.UserProfile
+     */
+	public UserProfile(final User user, final String roleName) {
+		this.user = user;
+		this.roleName = roleName;
+		this.groups = new ArrayList<Group>();
+	}
+
+	 /**
+     * Getters
+     */
+	public final User getUser() {
+		return user;
+	}
+
+	public final String getRoleName() {
+		return roleName;
+	}
+
+	public final List<Group> getGroups() {
+		return groups;
+	}
+}
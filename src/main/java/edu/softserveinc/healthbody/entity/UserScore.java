@@ -0,0 +1,40 @@
+package edu.softserveinc.healthbody.entity;
+
+	/**
+	 * Class  edu.softserveinc.healthbody.entity.UserScore is POJO.
+	 * Called by:
+	 * edu.softserveinc.healthbody.dao.UserCompetitionsDao - create instance
+	 * Return the score of a user in one competition together with the login
+	 * of the user.
+	 *
+	 * */
+public class UserScore {
+
+	private String idUser;
+	private String login;
+	private long score;
+
+	 /**
+     *  Constructor of edu.softserveinc.healthbody.entity.UserScore
+     */
+	public UserScore(final String idUser, final String login, final long score) {
+		this.idUser = idUser;
+		this.login = login;
+		this.score = score;
+	}
+
+	 /**
+     * Getters
+     */
+	public final String getIdUser() {
+		return idUser;
+	}
+
+	public final String getLogin() {
+		return login;
+	}
+
+	public final long getScore() {
+		return score;
+	}
+}
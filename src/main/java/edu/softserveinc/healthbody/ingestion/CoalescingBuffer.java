@@ -0,0 +1,168 @@
+package edu.softserveinc.healthbody.ingestion;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded buffer of pending values that keeps only the latest value per key.
+ * Producers {@link #offer(Object, Object, long) offer} values, a single
+ * consumer {@link #take(int, long) takes} everything buffered once enough
+ * keys are pending or the oldest of them waited long enough.
+ * <p>
+ * The capacity bounds the number of distinct keys. Replacing the value of a
+ * buffered key always succeeds, so a full buffer still accepts updates of the
+ * keys it holds.
+ */
+public final class CoalescingBuffer<K, V> {
+
+	/**
+	 * Outcome of an offer.
+	 */
+	public enum Offer {
+		ACCEPTED, COALESCED, FULL, CLOSED
+	}
+
+	private final int capacity;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notFull = lock.newCondition();
+	private final Condition changed = lock.newCondition();
+	private Map<K, V> pending = new LinkedHashMap<>();
+	private long oldestNanos;
+	private boolean closing;
+	private boolean closed;
+
+	public CoalescingBuffer(final int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Buffers the value, waiting up to <code>timeoutMillis</code> for room if
+	 * the key is new and the buffer is full.
+	 */
+	public Offer offer(final K key, final V value, final long timeoutMillis) throws InterruptedException {
+		long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		lock.lockInterruptibly();
+		try {
+			while (true) {
+				if (closed) {
+					return Offer.CLOSED;
+				}
+				if (pending.containsKey(key)) {
+					pending.put(key, value);
+					return Offer.COALESCED;
+				}
+				if (pending.size() < capacity) {
+					break;
+				}
+				if (remaining <= 0) {
+					return Offer.FULL;
+				}
+				changed.signal();
+				remaining = notFull.awaitNanos(remaining);
+			}
+			if (pending.isEmpty()) {
+				oldestNanos = System.nanoTime();
+				changed.signal();
+			}
+			pending.put(key, value);
+			if (pending.size() == capacity) {
+				changed.signal();
+			}
+			return Offer.ACCEPTED;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until <code>batchSize</code> keys are pending, the oldest pending
+	 * key waited <code>maxDelayMillis</code> or the buffer is closing, and
+	 * takes all pending values in offer order.
+	 *
+	 * @return the taken values, or <code>null</code> once the buffer is closed
+	 *         and drained; the buffer then rejects further offers
+	 */
+	public Map<K, V> take(final int batchSize, final long maxDelayMillis) throws InterruptedException {
+		long maxDelay = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+		lock.lockInterruptibly();
+		try {
+			while (!closing && pending.size() < batchSize && pending.size() < capacity) {
+				if (pending.isEmpty()) {
+					changed.await();
+				} else {
+					long remaining = oldestNanos + maxDelay - System.nanoTime();
+					if (remaining <= 0) {
+						break;
+					}
+					changed.awaitNanos(remaining);
+				}
+			}
+			if (pending.isEmpty()) {
+				if (closing) {
+					closed = true;
+					notFull.signalAll();
+					return null;
+				}
+				return new LinkedHashMap<>();
+			}
+			Map<K, V> taken = pending;
+			pending = new LinkedHashMap<>();
+			notFull.signalAll();
+			return taken;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Puts back values that could not be processed. Keys offered again in
+	 * the meantime keep their newer value; the capacity is not enforced.
+	 */
+	public void requeue(final Map<K, V> values) {
+		lock.lock();
+		try {
+			if (pending.isEmpty() && !values.isEmpty()) {
+				oldestNanos = System.nanoTime();
+			}
+			Map<K, V> merged = new LinkedHashMap<>(values);
+			merged.putAll(pending);
+			pending = merged;
+			changed.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Lets the consumer take the remaining values without waiting. Offers are
+	 * still accepted until the consumer finds the buffer empty.
+	 */
+	public void close() {
+		lock.lock();
+		try {
+			closing = true;
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int size() {
+		lock.lock();
+		try {
+			return pending.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+}
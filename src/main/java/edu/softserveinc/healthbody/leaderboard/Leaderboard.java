@@ -0,0 +1,180 @@
+package edu.softserveinc.healthbody.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import edu.softserveinc.healthbody.dto.LeaderboardEntryDTO;
+import edu.softserveinc.healthbody.entity.UserScore;
+
+/**
+ * Ranked scores of the participants of one competition. Users are ranked
+ * by score, highest first, and by login for equal scores.
+ * <p>
+ * A leaderboard starts unloaded. The owner calls {@link #beginLoad()},
+ * reads the scores from the database and passes them to
+ * {@link #load(List)}; score updates arriving in between are kept and
+ * applied on top of the loaded scores, so none is lost. While a leaderboard
+ * is neither loaded nor loading updates are ignored, the next load reads
+ * them from the database.
+ * <p>
+ * A loaded leaderboard is never cleared. When its participants change the
+ * owner replaces it with a new one, so readers still holding it see a
+ * consistent ranking.
+ */
+public final class Leaderboard {
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final RankedScores scores = new RankedScores();
+	// id_user -> login of the ranked users
+	private final Map<String, String> logins = new HashMap<>();
+	private final Map<String, Long> pending = new HashMap<>();
+	private boolean loaded;
+	private boolean loading;
+
+	public boolean isLoaded() {
+		lock.readLock().lock();
+		try {
+			return loaded;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void beginLoad() {
+		lock.writeLock().lock();
+		try {
+			loading = true;
+			pending.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Replaces the scores and applies the updates kept since
+	 * {@link #beginLoad()}.
+	 */
+	public void load(final List<UserScore> userScores) {
+		lock.writeLock().lock();
+		try {
+			clear();
+			for (UserScore userScore : userScores) {
+				logins.put(userScore.getIdUser(), userScore.getLogin());
+				scores.put(userScore.getLogin(), userScore.getScore());
+			}
+			for (Map.Entry<String, Long> update : pending.entrySet()) {
+				String login = logins.get(update.getKey());
+				if (login != null) {
+					scores.put(login, update.getValue());
+				}
+			}
+			pending.clear();
+			loaded = true;
+			loading = false;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Moves a participant to its new score.
+	 *
+	 * @return <code>false</code> if the user is not a known participant of
+	 *         a loaded leaderboard, which then has to be loaded again
+	 */
+	public boolean updateScore(final String idUser, final long score) {
+		lock.writeLock().lock();
+		try {
+			if (loading) {
+				pending.put(idUser, score);
+				return true;
+			}
+			if (!loaded) {
+				return true;
+			}
+			String login = logins.get(idUser);
+			if (login == null) {
+				return false;
+			}
+			scores.put(login, score);
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return scores.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the <code>count</code> best participants
+	 */
+	public List<LeaderboardEntryDTO> getTop(final int count) {
+		return getRange(1, count);
+	}
+
+	/**
+	 * @return rank and score of the user or <code>null</code> if the user
+	 *         does not take part
+	 */
+	public LeaderboardEntryDTO getRank(final String login) {
+		lock.readLock().lock();
+		try {
+			int rank = scores.rank(login);
+			return rank == 0 ? null : new LeaderboardEntryDTO(rank, login, scores.getScore(login));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the user together with up to <code>radius</code> participants
+	 *         ranked directly above and below, empty if the user does not
+	 *         take part
+	 */
+	public List<LeaderboardEntryDTO> getAround(final String login, final int radius) {
+		lock.readLock().lock();
+		try {
+			int rank = scores.rank(login);
+			if (rank == 0 || radius < 0) {
+				return new ArrayList<>();
+			}
+			int from = Math.max(1, rank - radius);
+			return toEntries(scores.range(from, rank - from + radius + 1));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private List<LeaderboardEntryDTO> getRange(final int from, final int count) {
+		lock.readLock().lock();
+		try {
+			return toEntries(scores.range(from, count));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private List<LeaderboardEntryDTO> toEntries(final List<RankedScores.Entry> entries) {
+		List<LeaderboardEntryDTO> result = new ArrayList<>(entries.size());
+		for (RankedScores.Entry entry : entries) {
+			result.add(new LeaderboardEntryDTO(entry.getRank(), entry.getMember(), entry.getScore()));
+		}
+		return result;
+	}
+
+	private void clear() {
+		scores.clear();
+		logins.clear();
+	}
+}
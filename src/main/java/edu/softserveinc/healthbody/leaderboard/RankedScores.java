@@ -0,0 +1,227 @@
+package edu.softserveinc.healthbody.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Order-statistics skip list of members ordered by score, highest first,
+ * and by member name for equal scores. Every link stores how many members it
+ * skips, so insert, remove, the rank of a member and the member at a rank
+ * all take O(log n) expected time; a range of k members costs O(log n + k).
+ * <p>
+ * Not thread-safe, see {@link Leaderboard}.
+ */
+final class RankedScores {
+
+	private static final int MAX_LEVEL = 32;
+	private static final double LEVEL_PROBABILITY = 0.25;
+
+	private final Node head = new Node(null, 0, MAX_LEVEL);
+	private final Map<String, Long> scores = new HashMap<>();
+	private final Random random = new Random();
+	private int level = 1;
+
+	/**
+	 * Member and its score at a 1-based rank.
+	 */
+	static final class Entry {
+		private final int rank;
+		private final String member;
+		private final long score;
+
+		Entry(final int rank, final String member, final long score) {
+			this.rank = rank;
+			this.member = member;
+			this.score = score;
+		}
+
+		int getRank() {
+			return rank;
+		}
+
+		String getMember() {
+			return member;
+		}
+
+		long getScore() {
+			return score;
+		}
+	}
+
+	private static final class Node {
+		private final String member;
+		private final long score;
+		private final Node[] next;
+		private final int[] span;
+
+		private Node(final String member, final long score, final int level) {
+			this.member = member;
+			this.score = score;
+			this.next = new Node[level];
+			this.span = new int[level];
+		}
+	}
+
+	void clear() {
+		for (int i = 0; i < MAX_LEVEL; i++) {
+			head.next[i] = null;
+			head.span[i] = 0;
+		}
+		scores.clear();
+		level = 1;
+	}
+
+	int size() {
+		return scores.size();
+	}
+
+	Long getScore(final String member) {
+		return scores.get(member);
+	}
+
+	/**
+	 * Adds the member or moves it to its new score.
+	 */
+	void put(final String member, final long score) {
+		Long old = scores.get(member);
+		if (old != null) {
+			if (old == score) {
+				return;
+			}
+			delete(member, old);
+		}
+		insert(member, score);
+		scores.put(member, score);
+	}
+
+	boolean remove(final String member) {
+		Long old = scores.remove(member);
+		if (old == null) {
+			return false;
+		}
+		delete(member, old);
+		return true;
+	}
+
+	/**
+	 * @return 1-based rank of the member or 0 if it is not ranked
+	 */
+	int rank(final String member) {
+		Long score = scores.get(member);
+		if (score == null) {
+			return 0;
+		}
+		int rank = 0;
+		Node node = head;
+		for (int i = level - 1; i >= 0; i--) {
+			while (node.next[i] != null && !precedes(member, score, node.next[i])) {
+				rank += node.span[i];
+				node = node.next[i];
+			}
+			if (node.member != null && node.member.equals(member)) {
+				return rank;
+			}
+		}
+		return rank;
+	}
+
+	/**
+	 * @return at most <code>count</code> members starting at the 1-based
+	 *         rank <code>from</code>
+	 */
+	List<Entry> range(final int from, final int count) {
+		List<Entry> result = new ArrayList<>();
+		if (from < 1 || from > size() || count <= 0) {
+			return result;
+		}
+		int rank = 0;
+		Node node = head;
+		for (int i = level - 1; i >= 0; i--) {
+			while (node.next[i] != null && rank + node.span[i] <= from) {
+				rank += node.span[i];
+				node = node.next[i];
+			}
+		}
+		while (node != null && result.size() < count) {
+			result.add(new Entry(rank++, node.member, node.score));
+			node = node.next[0];
+		}
+		return result;
+	}
+
+	/**
+	 * @return <code>true</code> if the member with the score is ordered
+	 *         before the node
+	 */
+	private static boolean precedes(final String member, final long score, final Node node) {
+		return score > node.score || (score == node.score && member.compareTo(node.member) < 0);
+	}
+
+	private void insert(final String member, final long score) {
+		Node[] update = new Node[MAX_LEVEL];
+		int[] rank = new int[MAX_LEVEL];
+		Node node = head;
+		for (int i = level - 1; i >= 0; i--) {
+			rank[i] = (i == level - 1) ? 0 : rank[i + 1];
+			while (node.next[i] != null && !precedes(member, score, node.next[i])) {
+				rank[i] += node.span[i];
+				node = node.next[i];
+			}
+			update[i] = node;
+		}
+		int newLevel = randomLevel();
+		if (newLevel > level) {
+			for (int i = level; i < newLevel; i++) {
+				rank[i] = 0;
+				update[i] = head;
+				update[i].span[i] = size();
+			}
+			level = newLevel;
+		}
+		Node inserted = new Node(member, score, newLevel);
+		for (int i = 0; i < newLevel; i++) {
+			inserted.next[i] = update[i].next[i];
+			update[i].next[i] = inserted;
+			inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+			update[i].span[i] = (rank[0] - rank[i]) + 1;
+		}
+		for (int i = newLevel; i < level; i++) {
+			update[i].span[i]++;
+		}
+	}
+
+	private void delete(final String member, final long score) {
+		Node[] update = new Node[MAX_LEVEL];
+		Node node = head;
+		for (int i = level - 1; i >= 0; i--) {
+			while (node.next[i] != null && !precedes(member, score, node.next[i])
+					&& !member.equals(node.next[i].member)) {
+				node = node.next[i];
+			}
+			update[i] = node;
+		}
+		Node deleted = node.next[0];
+		for (int i = 0; i < level; i++) {
+			if (update[i].next[i] == deleted) {
+				update[i].span[i] += deleted.span[i] - 1;
+				update[i].next[i] = deleted.next[i];
+			} else {
+				update[i].span[i]--;
+			}
+		}
+		while (level > 1 && head.next[level - 1] == null) {
+			level--;
+		}
+	}
+
+	private int randomLevel() {
+		int newLevel = 1;
+		while (newLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+			newLevel++;
+		}
+		return newLevel;
+	}
+}
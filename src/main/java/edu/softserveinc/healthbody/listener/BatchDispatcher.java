@@ -0,0 +1,297 @@
+package edu.softserveinc.healthbody.listener;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+
+import edu.softserveinc.healthbody.controller.MethodMapUtil;
+import edu.softserveinc.healthbody.controller.RouteInvoker;
+import edu.softserveinc.healthbody.db.CallerContext;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
+import edu.softserveinc.healthbody.log.Log4jWrapper;
+
+/**
+ * Runs the calls of a batch request through the routes of
+ * {@link MethodMapUtil}. The request body is a JSON array of calls like
+ * <code>{"route": "/UserByLogin", "params": {"login": "..."}}</code>, a call
+ * of a route that reads the body gives it as <code>"body"</code>. The result
+ * lists every call in order with its own status, so a failing call does not
+ * fail the batch.
+ * <p>
+ * With the request parameter <code>parallelism</code> up to that many calls
+ * of the batch run at the same time. The request thread works through the
+ * calls itself and helper threads take the next call while there is one;
+ * helpers are only started while the pool has an idle thread, so a busy pool
+ * makes a batch sequential but never blocks it.
+ */
+final class BatchDispatcher {
+
+	static final String PARALLELISM_PARAMETER = "parallelism";
+	private static final String THREAD_NAME = "rest-batch-";
+	private static final long KEEP_ALIVE = 60;
+	private static final String ILLEGAL_BATCH = "Illegal batch. %s.";
+
+	private final Gson gson = new Gson();
+	private final int maxCalls;
+	private final int maxParallelism;
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * One call of a batch.
+	 */
+	private static final class BatchCall {
+		private String route;
+		private Map<String, String> params;
+		private JsonElement body;
+	}
+
+	/**
+	 * Result of one call of a batch: the controller result if it succeeded,
+	 * else the error message.
+	 */
+	static final class BatchResult {
+		private final String route;
+		private final int status;
+		private final Object result;
+		private final String message;
+
+		private BatchResult(final String route, final int status, final Object result, final String message) {
+			this.route = route;
+			this.status = status;
+			this.result = result;
+			this.message = message;
+		}
+
+		int getStatus() {
+			return status;
+		}
+
+		Object getResult() {
+			return result;
+		}
+	}
+
+	/**
+	 * Request of one call: the parameters and the body are those of the call,
+	 * anything else is read from the batch request.
+	 */
+	private static final class CallRequest extends HttpServletRequestWrapper {
+		private final String route;
+		private final Map<String, String[]> parameters = new HashMap<>();
+		private final byte[] body;
+
+		private CallRequest(final HttpServletRequest request, final BatchCall call) {
+			super(request);
+			this.route = call.route;
+			if (call.params != null) {
+				for (Map.Entry<String, String> param : call.params.entrySet()) {
+					parameters.put(param.getKey(), new String[] {param.getValue()});
+				}
+			}
+			String content = "";
+			if (call.body != null && !call.body.isJsonNull()) {
+				content = call.body.isJsonPrimitive() ? call.body.getAsString() : call.body.toString();
+			}
+			this.body = content.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public String getPathInfo() {
+			return route;
+		}
+
+		@Override
+		public String getParameter(final String name) {
+			String[] values = parameters.get(name);
+			return values == null ? null : values[0];
+		}
+
+		@Override
+		public String[] getParameterValues(final String name) {
+			String[] values = parameters.get(name);
+			return values == null ? null : values.clone();
+		}
+
+		@Override
+		public Map<String, String[]> getParameterMap() {
+			return Collections.unmodifiableMap(parameters);
+		}
+
+		@Override
+		public Enumeration<String> getParameterNames() {
+			return Collections.enumeration(parameters.keySet());
+		}
+
+		@Override
+		public int getContentLength() {
+			return body.length;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			final ByteArrayInputStream in = new ByteArrayInputStream(body);
+			return new ServletInputStream() {
+				@Override
+				public int read() {
+					return in.read();
+				}
+
+				@Override
+				public int read(final byte[] buffer, final int offset, final int length) {
+					return in.read(buffer, offset, length);
+				}
+			};
+		}
+	}
+
+	/**
+	 * @param maxCalls
+	 *            most calls of a batch
+	 * @param maxParallelism
+	 *            most calls of a batch that run at the same time
+	 * @param threads
+	 *            helper threads shared by all batches
+	 */
+	BatchDispatcher(final int maxCalls, final int maxParallelism, final int threads) {
+		this.maxCalls = Math.max(1, maxCalls);
+		this.maxParallelism = Math.max(1, maxParallelism);
+		this.executor = this.maxParallelism > 1
+				? new ThreadPoolExecutor(0, Math.max(1, threads), KEEP_ALIVE, TimeUnit.SECONDS,
+						new SynchronousQueue<Runnable>(), new NamedThreadFactory(THREAD_NAME))
+				: null;
+	}
+
+	/**
+	 * @return the results of the calls in the order of the calls
+	 * @throws IllegalAgrumentCheckedException
+	 *             if the body is no array of calls or has too many calls
+	 */
+	List<BatchResult> run(final HttpServletRequest request) throws IllegalAgrumentCheckedException, IOException {
+		final BatchCall[] calls = readCalls(request);
+		final int parallelism = Math.min(Math.min(readParallelism(request), maxParallelism), calls.length);
+		final BatchResult[] results = new BatchResult[calls.length];
+		if (parallelism <= 1 || executor == null) {
+			for (int i = 0; i < calls.length; i++) {
+				results[i] = call(calls[i], request);
+			}
+			return Arrays.asList(results);
+		}
+		final AtomicInteger next = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(calls.length);
+		final String caller = CallerContext.get();
+		Runnable worker = new Runnable() {
+			@Override
+			public void run() {
+				String previous = CallerContext.get();
+				CallerContext.set(caller);
+				try {
+					int i;
+					while ((i = next.getAndIncrement()) < calls.length) {
+						results[i] = call(calls[i], request);
+						done.countDown();
+					}
+				} finally {
+					CallerContext.set(previous);
+				}
+			}
+		};
+		try {
+			for (int i = 1; i < parallelism; i++) {
+				executor.execute(worker);
+			}
+		} catch (RejectedExecutionException e) {
+			// no idle helper, the remaining calls run on this thread
+		}
+		worker.run();
+		try {
+			done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Batch interrupted");
+		}
+		return Arrays.asList(results);
+	}
+
+	void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	private BatchCall[] readCalls(final HttpServletRequest request)
+			throws IllegalAgrumentCheckedException, IOException {
+		BatchCall[] calls;
+		try {
+			calls = gson.fromJson(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8),
+					BatchCall[].class);
+		} catch (JsonParseException e) {
+			throw new IllegalAgrumentCheckedException(String.format(ILLEGAL_BATCH,
+					"The body must be a JSON array of calls"), e);
+		}
+		if (calls == null || calls.length == 0) {
+			throw new IllegalAgrumentCheckedException(String.format(ILLEGAL_BATCH,
+					"The body must be a JSON array of calls"));
+		}
+		if (calls.length > maxCalls) {
+			throw new IllegalAgrumentCheckedException(String.format(ILLEGAL_BATCH,
+					"At most " + maxCalls + " calls are allowed"));
+		}
+		return calls;
+	}
+
+	private static int readParallelism(final HttpServletRequest request) throws IllegalAgrumentCheckedException {
+		String value = request.getParameter(PARALLELISM_PARAMETER);
+		if (value == null || value.trim().isEmpty()) {
+			return 1;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalAgrumentCheckedException("Illegal parameter. \"" + PARALLELISM_PARAMETER
+					+ "\" is not an integer.");
+		}
+	}
+
+	private static BatchResult call(final BatchCall call, final HttpServletRequest request) {
+		if (call == null || call.route == null) {
+			return new BatchResult(null, HttpServletResponse.SC_BAD_REQUEST, null,
+					"Illegal call. \"route\" is empty or null.");
+		}
+		RouteInvoker route = MethodMapUtil.getInstanse().getRoute(call.route);
+		if (route == null) {
+			return new BatchResult(call.route, HttpServletResponse.SC_NOT_FOUND, null, "No route for " + call.route);
+		}
+		try {
+			return new BatchResult(call.route, HttpServletResponse.SC_OK, route.invoke(new CallRequest(request, call)),
+					null);
+		} catch (IllegalAgrumentCheckedException e) {
+			return new BatchResult(call.route, HttpServletResponse.SC_BAD_REQUEST, null, e.getMessage());
+		} catch (Throwable e) {
+			Log4jWrapper.get().error("Could't load data: ", e);
+			return new BatchResult(call.route, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, null, "Request failed");
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package edu.softserveinc.healthbody.listener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Streams a response body and compresses it on the fly once it reached
+ * <code>threshold</code> bytes. Up to then the bytes are held back, so
+ * smaller bodies are sent as they are and with a
+ * <code>Content-Length</code>. Without a coding everything goes straight to
+ * the response.
+ * <p>
+ * {@link #flush()} does nothing, so the response is not committed before
+ * {@link #finish()} and the caller can still set headers that depend on the
+ * whole body.
+ */
+final class EncodingOutputStream extends OutputStream {
+
+	private final HttpServletResponse response;
+	private final String encoding;
+	private final int threshold;
+	private ByteArrayOutputStream pending;
+	private OutputStream out;
+	private boolean compressed;
+
+	/**
+	 * @param encoding
+	 *            {@link ResponseBody#GZIP}, {@link ResponseBody#DEFLATE} or
+	 *            <code>null</code> to send the body as it is
+	 */
+	EncodingOutputStream(final HttpServletResponse response, final String encoding, final int threshold)
+			throws IOException {
+		this.response = response;
+		this.encoding = encoding;
+		this.threshold = threshold;
+		if (encoding == null) {
+			this.out = response.getOutputStream();
+		} else {
+			this.pending = new ByteArrayOutputStream(threshold);
+		}
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+		if (out == null) {
+			if (pending.size() + length < threshold) {
+				pending.write(bytes, offset, length);
+				return;
+			}
+			response.setHeader("Content-Encoding", encoding);
+			out = ResponseBody.GZIP.equals(encoding) ? new GZIPOutputStream(response.getOutputStream())
+					: new DeflaterOutputStream(response.getOutputStream());
+			compressed = true;
+			pending.writeTo(out);
+			pending = null;
+		}
+		out.write(bytes, offset, length);
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	/**
+	 * Writes the bytes held back and ends the compressed stream. The response
+	 * itself is not flushed.
+	 */
+	void finish() throws IOException {
+		if (out == null) {
+			response.setContentLength(pending.size());
+			out = response.getOutputStream();
+			pending.writeTo(out);
+			pending = null;
+		} else if (compressed) {
+			((DeflaterOutputStream) out).finish();
+		}
+	}
+
+	/**
+	 * @return the coding the body was sent with, <code>null</code> if it was
+	 *         sent as it is
+	 */
+	String getEncoding() {
+		return compressed ? encoding : null;
+	}
+}
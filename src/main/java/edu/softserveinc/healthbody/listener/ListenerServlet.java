@@ -1,13 +1,23 @@
 package edu.softserveinc.healthbody.listener;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -15,80 +25,361 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 
-import edu.softserveinc.healthbody.annotation.Param;
 import edu.softserveinc.healthbody.controller.MethodMapUtil;
-import edu.softserveinc.healthbody.controller.Pair;
-import edu.softserveinc.healthbody.controller.ParamUtils;
-import edu.softserveinc.healthbody.controller.RequestParamUtils;
+import edu.softserveinc.healthbody.controller.RouteInvoker;
+import edu.softserveinc.healthbody.db.CallerContext;
+import edu.softserveinc.healthbody.db.ConnectionManager;
+import edu.softserveinc.healthbody.dto.DtoTypeAdapters;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
+import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.log.Log4jWrapper;
 
 /**
- * Servlet implementation class ListenerServlet
+ * Dispatches REST requests to the controller routes of
+ * {@link MethodMapUtil}, which are built once when the servlet starts.
+ * Failures are answered with a JSON error body: 404 for an unknown path, 400
+ * for an illegal parameter and 500 if the controller fails.
+ * <p>
+ * Routes run asynchronously on a fixed pool of <code>restThreads</code>
+ * threads, by default <code>DEFAULT_THREADS</code> but never more than the
+ * primary connection pool holds, so container threads never wait for the
+ * database. The helper threads of batches are limited the same way. At most
+ * <code>restQueueLimit</code> requests wait for a thread; beyond that, and
+ * for requests not answered within <code>restTimeout</code> ms, the client
+ * gets a 503 right away. The context parameter <code>restAsync</code>
+ * switches back to running routes on the container thread.
+ * <p>
+ * Results are streamed to the response writer, the DTOs through the
+ * adapters of {@link DtoTypeAdapters}, instead of being built as a string
+ * first. The response buffers <code>restResponseBufferSize</code> bytes
+ * before it is sent chunked.
+ * <p>
+ * GET responses get a strong ETag when they fit into the response buffer,
+ * and bodies of at least <code>restCompressionThreshold</code> bytes are
+ * compressed on the fly with gzip or deflate when the client accepts it.
+ * Only GET requests with <code>If-None-Match</code> are serialized into
+ * memory first, so they can be answered with 304 when the tag matches.
+ * <p>
+ * <code>/listener/batch</code> runs a JSON array of route calls in one
+ * request through {@link BatchDispatcher}, at most
+ * <code>restBatchLimit</code> calls of which up to
+ * <code>restBatchParallelism</code> run at the same time.
  */
-@WebServlet("/listener")
+@WebServlet(value = "/listener", asyncSupported = true)
 public class ListenerServlet extends HttpServlet {
 	private static final long serialVersionUID = 1L;
+	private static final String ASYNC_PARAMETER = "restAsync";
+	private static final String THREADS_PARAMETER = "restThreads";
+	private static final String QUEUE_LIMIT_PARAMETER = "restQueueLimit";
+	private static final String TIMEOUT_PARAMETER = "restTimeout";
+	private static final String BUFFER_SIZE_PARAMETER = "restResponseBufferSize";
+	private static final String COMPRESSION_PARAMETER = "restCompressionThreshold";
+	private static final String ETAGS_PARAMETER = "restETags";
+	private static final String BATCH_LIMIT_PARAMETER = "restBatchLimit";
+	private static final String BATCH_PARALLELISM_PARAMETER = "restBatchParallelism";
+	private static final String BATCH_PATH = "/batch";
+	private static final int DEFAULT_THREADS = 10;
+	private static final long DEFAULT_QUEUE_LIMIT = 100;
+	private static final long DEFAULT_TIMEOUT = 30000;
+	private static final long DEFAULT_BUFFER_SIZE = 8192;
+	private static final long DEFAULT_COMPRESSION_THRESHOLD = 1024;
+	private static final long DEFAULT_BATCH_LIMIT = 50;
+	private static final long DEFAULT_BATCH_PARALLELISM = 4;
+	private static final String RETRY_AFTER = "1";
+	private static final String THREAD_NAME = "rest-dispatch-";
 	private Gson gson;
+	private transient ThreadPoolExecutor executor;
+	private transient BatchDispatcher batchDispatcher;
+	private long timeout;
+	private int bufferSize = (int) DEFAULT_BUFFER_SIZE;
+	private int compressionThreshold;
+	private boolean eTags;
+
+	/**
+	 * Error body of a failed request.
+	 */
+	private static final class ErrorResponse {
+		private final int status;
+		private final String message;
+
+		private ErrorResponse(final int status, final String message) {
+			this.status = status;
+			this.message = message;
+		}
+	}
 
 	/**
 	 * @see HttpServlet#HttpServlet()
 	 */
 	public ListenerServlet() {
 		super();
-		this.gson = new Gson();
+		this.gson = DtoTypeAdapters.createGson();
+	}
+
+	@Override
+	public void init() throws ServletException {
+		Log4jWrapper.get().info(MethodMapUtil.getInstanse().getRoutes().size() + " REST routes bound.");
+		ServletContext context = getServletContext();
+		bufferSize = (int) Math.max(0, getLong(context, BUFFER_SIZE_PARAMETER, DEFAULT_BUFFER_SIZE));
+		compressionThreshold = (int) Math.max(0,
+				getLong(context, COMPRESSION_PARAMETER, DEFAULT_COMPRESSION_THRESHOLD));
+		eTags = Boolean.parseBoolean(getParameter(context, ETAGS_PARAMETER, "true"));
+		int threads = (int) getLong(context, THREADS_PARAMETER, 0);
+		if (threads <= 0) {
+			threads = Math.min(DEFAULT_THREADS, getPoolSize());
+		}
+		batchDispatcher = new BatchDispatcher((int) getLong(context, BATCH_LIMIT_PARAMETER, DEFAULT_BATCH_LIMIT),
+				(int) getLong(context, BATCH_PARALLELISM_PARAMETER, DEFAULT_BATCH_PARALLELISM), threads);
+		if (!Boolean.parseBoolean(getParameter(context, ASYNC_PARAMETER, "true"))) {
+			Log4jWrapper.get().info("Asynchronous REST dispatch is switched off.");
+			return;
+		}
+		int queueLimit = (int) Math.max(1, getLong(context, QUEUE_LIMIT_PARAMETER, DEFAULT_QUEUE_LIMIT));
+		timeout = getLong(context, TIMEOUT_PARAMETER, DEFAULT_TIMEOUT);
+		executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(queueLimit), new NamedThreadFactory(THREAD_NAME));
+	}
+
+	private int getPoolSize() {
+		try {
+			return ConnectionManager.getInstance().getPoolMonitor().getMaxPoolSize();
+		} catch (JDBCDriverException e) {
+			Log4jWrapper.get().error("JDBC Driver Exception ", e);
+			return DEFAULT_THREADS;
+		}
+	}
+
+	private String getParameter(final ServletContext context, final String name, final String defaultValue) {
+		String value = context.getInitParameter(name);
+		return value == null ? defaultValue : value.trim();
+	}
+
+	private long getLong(final ServletContext context, final String name, final long defaultValue) {
+		String value = getParameter(context, name, null);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			Log4jWrapper.get().info("Illegal value of " + name + ": " + value + ". Using default.");
+			return defaultValue;
+		}
 	}
 
 	/**
 	 * @see HttpServlet#doGet(HttpServletRequest request, HttpServletResponse
 	 *      response)
 	 */
-	protected void doGet(HttpServletRequest request, HttpServletResponse response)
+	protected void doGet(final HttpServletRequest request, final HttpServletResponse response)
 			throws ServletException, IOException {
 
 		String path = request.getPathInfo();
-		Pair<Method, Class<?>> methodClassPair = MethodMapUtil.getInstanse().getMethodsClasUrlMapping()
-				.get(path.toLowerCase());
+		final RouteInvoker route = MethodMapUtil.getInstanse().getRoute(path);
+		if (route == null && !isBatch(path)) {
+			wrightError(HttpServletResponse.SC_NOT_FOUND, "No route for " + path, response);
+			return;
+		}
+		if (executor == null || !request.isAsyncSupported()) {
+			wrightResult(route, request, response);
+			return;
+		}
+		final AsyncContext asyncContext = request.startAsync();
+		asyncContext.setTimeout(timeout);
+		final AtomicBoolean finished = new AtomicBoolean();
+		final String caller = CallerContext.get();
+		asyncContext.addListener(new AsyncListener() {
+			@Override
+			public void onTimeout(final AsyncEvent event) throws IOException {
+				if (finished.compareAndSet(false, true)) {
+					wrightError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Request timed out", response);
+					asyncContext.complete();
+				}
+			}
+
+			@Override
+			public void onError(final AsyncEvent event) {
+				finished.set(true);
+			}
+
+			@Override
+			public void onComplete(final AsyncEvent event) {
+			}
 
+			@Override
+			public void onStartAsync(final AsyncEvent event) {
+			}
+		});
 		try {
-			List<Object> parameters = getParameters(methodClassPair, request);
-			wrightResponse(methodClassPair.getLeftObject().invoke(methodClassPair.getRightObject().newInstance(), parameters.toArray()), response);
-			ParamUtils.getLogin(request);
-		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException
-				| InstantiationException e) {
-			Log4jWrapper.get().error("Could't load data: " , e);
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					if (finished.get()) {
+						return;
+					}
+					Object result = null;
+					Throwable failure = null;
+					CallerContext.set(caller);
+					try {
+						result = invoke(route, request);
+					} catch (Throwable e) {
+						failure = e;
+					} finally {
+						CallerContext.set(null);
+					}
+					if (finished.compareAndSet(false, true)) {
+						try {
+							if (failure == null) {
+								wrightResponse(result, request, response);
+							} else {
+								wrightFailure(failure, response);
+							}
+						} catch (IOException e) {
+							Log4jWrapper.get().error("Could't write response: ", e);
+						} finally {
+							asyncContext.complete();
+						}
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			if (finished.compareAndSet(false, true)) {
+				response.setHeader("Retry-After", RETRY_AFTER);
+				wrightError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is overloaded", response);
+				asyncContext.complete();
+			}
 		}
+	}
 
+	@Override
+	public void destroy() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		if (batchDispatcher != null) {
+			batchDispatcher.shutdown();
+		}
 	}
 
-	private List<Object> getParameters(Pair<Method, Class<?>> methodClassPair, HttpServletRequest request) {
-		Method method = methodClassPair.getLeftObject();
-		List<Object> parameters = new ArrayList<>();
-		Class<?>[] types = method.getParameterTypes();
-		int i = 0;
-		for (Annotation[] annotations : method.getParameterAnnotations()) {
+	private boolean isBatch(final String path) {
+		return batchDispatcher != null && BATCH_PATH.equalsIgnoreCase(path);
+	}
 
-			for (Annotation annotation : annotations) {
-				Param param = (Param) annotation;
-				parameters.add(RequestParamUtils.toObject(types[i], request.getParameter(param.name())));
-				i++;
-			}
+	/**
+	 * @return the result of the route, or of the batch if there is none
+	 */
+	private Object invoke(final RouteInvoker route, final HttpServletRequest request) throws Throwable {
+		return route == null ? batchDispatcher.run(request) : route.invoke(request);
+	}
+
+	private void wrightResult(RouteInvoker route, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		Object result;
+		try {
+			result = invoke(route, request);
+		} catch (IOException e) {
+			throw e;
+		} catch (Throwable e) {
+			wrightFailure(e, response);
+			return;
+		}
+		wrightResponse(result, request, response);
+	}
+
+	private void wrightFailure(Throwable failure, HttpServletResponse response) throws IOException {
+		if (failure instanceof IllegalAgrumentCheckedException) {
+			wrightError(HttpServletResponse.SC_BAD_REQUEST, failure.getMessage(), response);
+		} else {
+			Log4jWrapper.get().error("Could't load data: ", failure);
+			wrightError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Request failed", response);
+		}
+	}
+
+	private void wrightResponse(Object object, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		setJsonHeaders(response);
+		boolean conditional = eTags && "GET".equals(request.getMethod());
+		if (conditional && request.getHeader("If-None-Match") != null) {
+			wrightBody(object, conditional, request, response);
+			return;
+		}
+		if (bufferSize > 0) {
+			response.setBufferSize(bufferSize);
+		}
+		String encoding = null;
+		if (compressionThreshold > 0) {
+			response.setHeader("Vary", "Accept-Encoding");
+			encoding = ResponseBody.negotiateEncoding(request.getHeader("Accept-Encoding"));
+		}
+		EncodingOutputStream body = new EncodingOutputStream(response, encoding, compressionThreshold);
+		MessageDigest digest = conditional ? ResponseBody.newDigest() : null;
+		OutputStream out = digest == null ? body : new DigestOutputStream(body, digest);
+		JsonWriter jsonWriter = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		gson.toJson(object, object == null ? Object.class : object.getClass(), jsonWriter);
+		jsonWriter.flush();
+		body.finish();
+		// a body larger than the response buffer is already on its way
+		if (conditional && !response.isCommitted()) {
+			response.setHeader("ETag", ResponseBody.toETag(digest.digest(), body.getEncoding()));
+			response.setHeader("Cache-Control", "no-cache");
+		}
+		response.flushBuffer();
+	}
 
+	private void wrightBody(Object object, boolean conditional, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		ByteArrayOutputStream json = new ByteArrayOutputStream(bufferSize > 0 ? bufferSize : (int) DEFAULT_BUFFER_SIZE);
+		JsonWriter jsonWriter = new JsonWriter(new OutputStreamWriter(json, StandardCharsets.UTF_8));
+		gson.toJson(object, object == null ? Object.class : object.getClass(), jsonWriter);
+		jsonWriter.flush();
+		String encoding = null;
+		if (compressionThreshold > 0) {
+			response.setHeader("Vary", "Accept-Encoding");
+			if (json.size() >= compressionThreshold) {
+				encoding = ResponseBody.negotiateEncoding(request.getHeader("Accept-Encoding"));
+			}
+		}
+		ResponseBody body = new ResponseBody(json.toByteArray(), encoding);
+		if (conditional) {
+			response.setHeader("ETag", body.getETag());
+			response.setHeader("Cache-Control", "no-cache");
+			if (body.matches(request.getHeader("If-None-Match"))) {
+				response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+				return;
+			}
+		}
+		if (encoding != null) {
+			response.setHeader("Content-Encoding", encoding);
 		}
-		return parameters;
+		byte[] bytes = body.encode();
+		response.setContentLength(bytes.length);
+		OutputStream out = response.getOutputStream();
+		out.write(bytes);
+		out.flush();
+	}
+
+	private void wrightError(int status, String message, HttpServletResponse response) throws IOException {
+		response.setStatus(status);
+		wrightJson(gson.toJson(new ErrorResponse(status, message)), response);
+	}
+
+	private void wrightJson(String json, HttpServletResponse response) throws IOException {
+		setJsonHeaders(response);
+		PrintWriter out = response.getWriter();
+		out.print(json);
+		out.flush();
 	}
 
-	private void wrightResponse(Object object, HttpServletResponse response) throws IOException {
+	private void setJsonHeaders(HttpServletResponse response) {
 		response.setContentType("application/json");
 		response.setCharacterEncoding("UTF-8");
 		response.setHeader("Access-Control-Allow-Origin", "*");
 		response.setHeader("Accept", "application/json");
 /*		response.setHeader("Connection", "keep-alive");*/
-		PrintWriter out = response.getWriter();
-		out.print(gson.toJson(object));
-		out.flush();
 	}
-	
+
 	  // Method to handle POST method request
 	  public void doPost(HttpServletRequest request,
 	                     HttpServletResponse response)
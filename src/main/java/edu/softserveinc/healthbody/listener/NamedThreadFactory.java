@@ -0,0 +1,24 @@
+package edu.softserveinc.healthbody.listener;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates numbered daemon threads for the REST dispatch pools.
+ */
+final class NamedThreadFactory implements ThreadFactory {
+
+	private final String prefix;
+	private final AtomicInteger count = new AtomicInteger();
+
+	NamedThreadFactory(final String prefix) {
+		this.prefix = prefix;
+	}
+
+	@Override
+	public Thread newThread(final Runnable runnable) {
+		Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+}
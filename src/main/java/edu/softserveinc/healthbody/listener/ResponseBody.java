@@ -0,0 +1,163 @@
+package edu.softserveinc.healthbody.listener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON body of a REST response and the content coding it is sent
+ * with. The strong ETag is the MD5 of the JSON with the coding appended, so
+ * the gzip, deflate and identity representations have different tags.
+ */
+final class ResponseBody {
+
+	static final String GZIP = "gzip";
+	static final String DEFLATE = "deflate";
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private final byte[] json;
+	private final String encoding;
+	private String eTag;
+
+	/**
+	 * @param encoding
+	 *            {@link #GZIP}, {@link #DEFLATE} or <code>null</code> to send
+	 *            the JSON as it is
+	 */
+	ResponseBody(final byte[] json, final String encoding) {
+		this.json = json;
+		this.encoding = encoding;
+	}
+
+	/**
+	 * @return the coding of the preferred acceptable compression of an
+	 *         <code>Accept-Encoding</code> header, gzip before deflate, or
+	 *         <code>null</code>
+	 */
+	static String negotiateEncoding(final String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return null;
+		}
+		float gzip = 0;
+		float deflate = 0;
+		float any = 0;
+		boolean gzipListed = false;
+		boolean deflateListed = false;
+		for (String element : acceptEncoding.split(",")) {
+			String[] parts = element.split(";");
+			String coding = parts[0].trim().toLowerCase(Locale.ENGLISH);
+			float quality = quality(parts);
+			if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+				gzip = Math.max(gzip, quality);
+				gzipListed = true;
+			} else if (DEFLATE.equals(coding)) {
+				deflate = Math.max(deflate, quality);
+				deflateListed = true;
+			} else if ("*".equals(coding)) {
+				any = quality;
+			}
+		}
+		if (!gzipListed) {
+			gzip = any;
+		}
+		if (!deflateListed) {
+			deflate = any;
+		}
+		if (gzip > 0 && gzip >= deflate) {
+			return GZIP;
+		}
+		return deflate > 0 ? DEFLATE : null;
+	}
+
+	private static float quality(final String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			String parameter = parts[i].trim();
+			if (parameter.startsWith("q=")) {
+				try {
+					return Float.parseFloat(parameter.substring(2).trim());
+				} catch (NumberFormatException e) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+
+	String getEncoding() {
+		return encoding;
+	}
+
+	String getETag() {
+		if (eTag == null) {
+			eTag = toETag(newDigest().digest(json), encoding);
+		}
+		return eTag;
+	}
+
+	/**
+	 * @return the digest the ETag of a JSON body is built from
+	 */
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("MD5 is not supported", e);
+		}
+	}
+
+	/**
+	 * @return the strong ETag of a JSON body with the given digest, sent with
+	 *         the given coding
+	 */
+	static String toETag(final byte[] digest, final String encoding) {
+		StringBuilder tag = new StringBuilder("\"");
+		for (byte b : digest) {
+			tag.append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+		}
+		if (encoding != null) {
+			tag.append('-').append(encoding);
+		}
+		return tag.append('"').toString();
+	}
+
+	/**
+	 * @return <code>true</code> if an <code>If-None-Match</code> header
+	 *         names this body, weak tags compare by their value
+	 */
+	boolean matches(final String ifNoneMatch) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		String tag = getETag();
+		for (String candidate : ifNoneMatch.split(",")) {
+			candidate = candidate.trim();
+			if (candidate.startsWith("W/")) {
+				candidate = candidate.substring(2);
+			}
+			if ("*".equals(candidate) || tag.equals(candidate)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the bytes to send, compressed with the coding of this body
+	 */
+	byte[] encode() throws IOException {
+		if (encoding == null) {
+			return json;
+		}
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream(json.length / 4 + 64);
+		try (OutputStream out = GZIP.equals(encoding) ? new GZIPOutputStream(encoded)
+				: new DeflaterOutputStream(encoded)) {
+			out.write(json);
+		}
+		return encoded.toByteArray();
+	}
+}
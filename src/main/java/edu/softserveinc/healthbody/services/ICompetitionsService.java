@@ -23,4 +23,6 @@ public interface ICompetitionsService extends IBaseService<CompetitionDTO> {
 	
 	boolean addUserInCompetition(String nameCompetition, String nameUser) throws SQLException, JDBCDriverException, TransactionException, DataBaseReadingException, QueryNotFoundException, EmptyResultSetException, CloseStatementException;
 
+	int repairParticipantCounts() throws SQLException, JDBCDriverException, TransactionException;
+
 }
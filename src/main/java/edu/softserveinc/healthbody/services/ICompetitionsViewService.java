@@ -5,6 +5,7 @@ import java.util.List;
 
 import edu.softserveinc.healthbody.dto.AwardDTO;
 import edu.softserveinc.healthbody.dto.CompetitionDTO;
+import edu.softserveinc.healthbody.dto.CompetitionPageDTO;
 import edu.softserveinc.healthbody.dto.GroupCompetitionsDTO;
 import edu.softserveinc.healthbody.dto.GroupDTO;
 import edu.softserveinc.healthbody.dto.UserCompetitionsDTO;
@@ -22,6 +23,16 @@ public interface ICompetitionsViewService {
 	List<CompetitionDTO> getAllActive(int partNumber, int partSize)
 			throws JDBCDriverException, SQLException, TransactionException;
 
+	/**
+	 * Pages by continuation token when <code>pageToken</code> is given and by
+	 * <code>partNumber</code> otherwise.
+	 */
+	CompetitionPageDTO getAllPage(int partNumber, int partSize, String pageToken)
+			throws IllegalAgrumentCheckedException, JDBCDriverException, SQLException, TransactionException;
+
+	CompetitionPageDTO getAllActivePage(int partNumber, int partSize, String pageToken)
+			throws IllegalAgrumentCheckedException, JDBCDriverException, SQLException, TransactionException;
+
 	List<CompetitionDTO> getAllByUser(int partNumber, int partSize, String login)
 			throws IllegalAgrumentCheckedException, SQLException, JDBCDriverException, TransactionException;
 
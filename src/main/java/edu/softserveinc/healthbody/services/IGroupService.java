@@ -3,7 +3,9 @@ package edu.softserveinc.healthbody.services;
 import java.sql.SQLException;
 import java.util.List;
 import edu.softserveinc.healthbody.dto.GroupDTO;
+import edu.softserveinc.healthbody.dto.GroupPageDTO;
 import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
 import edu.softserveinc.healthbody.exceptions.TransactionException;
@@ -24,6 +26,16 @@ public interface IGroupService extends IBaseFilterService<GroupDTO> {
 	List<GroupDTO> getAllGroupsParticipants(int partNumber, int partSize) throws QueryNotFoundException,
 			JDBCDriverException, DataBaseReadingException, SQLException, TransactionException;
 
+	/**
+	 * Pages by continuation token when <code>pageToken</code> is given and by
+	 * <code>partNumber</code> otherwise.
+	 */
+	GroupPageDTO getAllPage(int partNumber, int partSize, String pageToken) throws IllegalAgrumentCheckedException,
+			JDBCDriverException, SQLException, TransactionException;
+
+	GroupPageDTO getAllGroupsParticipantsPage(int partNumber, int partSize, String pageToken)
+			throws IllegalAgrumentCheckedException, JDBCDriverException, SQLException, TransactionException;
+
 	void update(GroupDTO groupDTO) throws JDBCDriverException, SQLException, TransactionException,
 			QueryNotFoundException, DataBaseReadingException;
 
@@ -0,0 +1,27 @@
+package edu.softserveinc.healthbody.services;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import edu.softserveinc.healthbody.dto.LeaderboardEntryDTO;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
+import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
+import edu.softserveinc.healthbody.exceptions.TransactionException;
+
+public interface ILeaderboardService {
+
+	List<LeaderboardEntryDTO> getTop(String idCompetition, int count)
+			throws IllegalAgrumentCheckedException, SQLException, JDBCDriverException, TransactionException;
+
+	LeaderboardEntryDTO getRank(String idCompetition, String login)
+			throws IllegalAgrumentCheckedException, SQLException, JDBCDriverException, TransactionException;
+
+	List<LeaderboardEntryDTO> getAround(String idCompetition, String login, int radius)
+			throws IllegalAgrumentCheckedException, SQLException, JDBCDriverException, TransactionException;
+
+	void updateScore(String idCompetition, String idUser, long score);
+
+	void invalidate(String idCompetition);
+
+	void invalidateAll();
+}
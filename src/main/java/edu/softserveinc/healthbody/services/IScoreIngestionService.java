@@ -0,0 +1,13 @@
+package edu.softserveinc.healthbody.services;
+
+import edu.softserveinc.healthbody.entity.UserCompetitions;
+import edu.softserveinc.healthbody.exceptions.TransactionException;
+
+public interface IScoreIngestionService {
+
+	void start(int capacity, int batchSize, long flushInterval, long offerTimeout);
+
+	boolean submit(UserCompetitions update) throws TransactionException;
+
+	boolean shutdown(long timeoutMillis);
+}
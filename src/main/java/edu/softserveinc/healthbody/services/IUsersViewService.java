@@ -4,7 +4,9 @@ import java.sql.SQLException;
 import java.util.List;
 
 import edu.softserveinc.healthbody.dto.UserDTO;
+import edu.softserveinc.healthbody.dto.UserPageDTO;
 import edu.softserveinc.healthbody.entity.UsersView;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.exceptions.TransactionException;
 
@@ -14,6 +16,13 @@ public interface IUsersViewService {
 	List<UserDTO> getAll(int partNumber, int partSize) 
 			throws JDBCDriverException, SQLException, TransactionException;
 	
+	/**
+	 * Pages by continuation token when <code>pageToken</code> is given and by
+	 * <code>partNumber</code> otherwise.
+	 */
+	UserPageDTO getAllPage(int partNumber, int partSize, String pageToken)
+			throws IllegalAgrumentCheckedException, JDBCDriverException, SQLException, TransactionException;
+
 	List<UserDTO> getAllbyAdmin(int partNumber, int partSize)
 			throws JDBCDriverException, SQLException, TransactionException;
 
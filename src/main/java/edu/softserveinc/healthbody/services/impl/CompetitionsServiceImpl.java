@@ -3,18 +3,15 @@ package edu.softserveinc.healthbody.services.impl;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
+import edu.softserveinc.healthbody.cache.ReferenceDataCache;
 import edu.softserveinc.healthbody.constants.ErrorConstants;
 import edu.softserveinc.healthbody.dao.CompetitionDao;
-import edu.softserveinc.healthbody.dao.CriteriaDao;
 import edu.softserveinc.healthbody.dao.UserCompetitionsDao;
-import edu.softserveinc.healthbody.dao.UserDao;
 import edu.softserveinc.healthbody.db.ConnectionManager;
 import edu.softserveinc.healthbody.dto.CompetitionDTO;
 import edu.softserveinc.healthbody.entity.Competition;
-import edu.softserveinc.healthbody.entity.UserCompetitions;
 import edu.softserveinc.healthbody.exceptions.CloseStatementException;
 import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
 import edu.softserveinc.healthbody.exceptions.EmptyResultSetException;
@@ -45,6 +42,7 @@ public class CompetitionsServiceImpl implements ICompetitionsService {
 				throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 			}
 			ConnectionManager.getInstance().commitTransaction(connection);
+			CompetitionsViewServiceImpl.getInstance().invalidateCompetitions();
 		}
 	}
 
@@ -71,30 +69,44 @@ public class CompetitionsServiceImpl implements ICompetitionsService {
 		Competition competition;
 		String idCriteria;
 		List<String> logins;
-		int count = 0;
 		try {
 			competition = CompetitionDao.getInstance().getCompetitionByName(connection, name);
-			idCriteria = CriteriaDao.getInstance().getByFieldName(connection, competition.getIdCriteria())
+			idCriteria = ReferenceDataCache.getInstance().getCriteriaByName(connection, competition.getIdCriteria())
 					.getIdCriteria();
-			logins = new ArrayList<>();
-			List<UserCompetitions> userCompetitions = UserCompetitionsDao.getInstance().viewAll(connection);
-			for (UserCompetitions usComp : userCompetitions) {
-				if (usComp.getIdCompetition().equals(competition.getId())) {
-					logins.add(UserDao.getInstance().getUserById(connection, usComp.getIdUser()).getLogin());
-					count++;
-				}
-			}
-		} catch (QueryNotFoundException | DataBaseReadingException | CloseStatementException
-				| EmptyResultSetException e) {
+			logins = UserCompetitionsDao.getInstance().getLoginsByCompetitionId(connection, competition.getId());
+		} catch (QueryNotFoundException | DataBaseReadingException e) {
 			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 		}
 		ConnectionManager.getInstance().commitTransaction(connection);
-		return new CompetitionDTO(competition.getIdCompetition(), competition.getName(), String.valueOf(count),
+		return new CompetitionDTO(competition.getIdCompetition(), competition.getName(), String.valueOf(logins.size()),
 				competition.getStart().toString(), competition.getFinish().toString(), competition.getDescription(),
 				idCriteria, null, logins);
 	}
 
+	/**
+	 * Recomputes the participant counts of all competitions; they are
+	 * normally kept up to date by the user competition queries.
+	 * 
+	 * @return number of repaired competitions
+	 */
+	@Override
+	public int repairParticipantCounts() throws SQLException, JDBCDriverException, TransactionException {
+		int result;
+		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		try {
+			result = CompetitionDao.getInstance().repairParticipantCounts(connection);
+		} catch (QueryNotFoundException | DataBaseReadingException e) {
+			ConnectionManager.getInstance().rollbackTransaction(connection);
+			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		}
+		ConnectionManager.getInstance().commitTransaction(connection);
+		if (result > 0) {
+			CompetitionsViewServiceImpl.getInstance().invalidateCompetitions();
+		}
+		return result;
+	}
+
 	@Override
 	public void update(final CompetitionDTO competitionDTO)
 			throws SQLException, JDBCDriverException, DataBaseReadingException, QueryNotFoundException,
@@ -114,6 +126,7 @@ public class CompetitionsServiceImpl implements ICompetitionsService {
 				throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 			}
 			ConnectionManager.getInstance().commitTransaction(connection);
+			CompetitionsViewServiceImpl.getInstance().invalidateCompetitions();
 		}
 	}
 
@@ -3,18 +3,24 @@ package edu.softserveinc.healthbody.services.impl;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import edu.softserveinc.healthbody.cache.ReferenceCache;
+import edu.softserveinc.healthbody.cache.ReferenceDataCache;
+import edu.softserveinc.healthbody.cache.SingleFlight;
 import edu.softserveinc.healthbody.constants.ErrorConstants;
-import edu.softserveinc.healthbody.dao.AwardDao;
 import edu.softserveinc.healthbody.dao.CompetitionsViewDao;
 import edu.softserveinc.healthbody.dao.GroupCompetitionsDao;
 import edu.softserveinc.healthbody.dao.GroupDao;
+import edu.softserveinc.healthbody.dao.PageToken;
 import edu.softserveinc.healthbody.dao.UserCompetitionsDao;
 import edu.softserveinc.healthbody.dao.UserDao;
 import edu.softserveinc.healthbody.db.ConnectionManager;
 import edu.softserveinc.healthbody.dto.AwardDTO;
 import edu.softserveinc.healthbody.dto.CompetitionDTO;
+import edu.softserveinc.healthbody.dto.CompetitionPageDTO;
 import edu.softserveinc.healthbody.dto.GroupCompetitionsDTO;
 import edu.softserveinc.healthbody.dto.GroupDTO;
 import edu.softserveinc.healthbody.dto.UserCompetitionsDTO;
@@ -34,10 +40,39 @@ import edu.softserveinc.healthbody.exceptions.TransactionException;
 import edu.softserveinc.healthbody.log.Log4jWrapper;
 import edu.softserveinc.healthbody.services.ICompetitionsViewService;
 
+/**
+ * Competition listings are cached per page. The write paths of
+ * competitions, registrations and group competitions invalidate them after
+ * their transaction commits. Listings are loaded from the primary, so a
+ * lagging replica cannot put rows from before the write back into the
+ * cache. Concurrent misses of the same page, and concurrent reads of the
+ * same competition, share one query through {@link SingleFlight}; a caller
+ * that just wrote reads its competition on its own.
+ */
 public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 
+	private static final String ALL = "all";
+	private static final String ACTIVE = "active";
+	private static final String BY_USER = "byUser";
+	private static final String ACTIVE_BY_USER = "activeByUser";
+	private static final String BY_GROUP = "byGroup";
+	private static final int PAGE_CACHE_SIZE = 1000;
+	// also bounds how long a finished competition stays in the active listings
+	private static final long PAGE_CACHE_TTL = 60000;
+
 	private static volatile CompetitionsViewServiceImpl instance;
 
+	// competition listings by (kind, partNumber, partSize, filter argument)
+	private final ReferenceCache<String, List<CompetitionDTO>> competitionLists = new ReferenceCache<>(
+			"competition_lists", PAGE_CACHE_SIZE, PAGE_CACHE_TTL);
+	private final ReferenceCache<String, CompetitionPageDTO> competitionPages = new ReferenceCache<>(
+			"competition_pages", PAGE_CACHE_SIZE, PAGE_CACHE_TTL);
+	private final ReferenceCache<String, List<CompetitionDTO>> groupCompetitionLists = new ReferenceCache<>(
+			"group_competition_lists", PAGE_CACHE_SIZE, PAGE_CACHE_TTL);
+	private final SingleFlight<String, List<CompetitionDTO>> listFlights = new SingleFlight<>("competition_lists");
+	private final SingleFlight<String, CompetitionPageDTO> pageFlights = new SingleFlight<>("competition_pages");
+	private final SingleFlight<String, CompetitionsView> competitionFlights = new SingleFlight<>("competitions");
+
 	private CompetitionsViewServiceImpl() {
 	}
 
@@ -52,46 +87,221 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 		return instance;
 	}
 
-	@Override
-	public List<CompetitionDTO> getAll(final int partNumber, final int partSize)
+	/**
+	 * Drops the cached competition listings after competitions or their
+	 * participants changed.
+	 */
+	public void invalidateCompetitions() {
+		competitionLists.invalidateAll();
+		competitionPages.invalidateAll();
+		groupCompetitionLists.invalidateAll();
+		listFlights.forgetAll();
+		pageFlights.forgetAll();
+		competitionFlights.forgetAll();
+	}
+
+	/**
+	 * Drops the cached competition listings of groups after competitions were
+	 * assigned to or removed from groups.
+	 */
+	public void invalidateGroupCompetitions() {
+		groupCompetitionLists.invalidateAll();
+		listFlights.forgetAll();
+	}
+
+	public List<ReferenceCache<String, ?>> getCaches() {
+		return Arrays.<ReferenceCache<String, ?>>asList(competitionLists, competitionPages, groupCompetitionLists);
+	}
+
+	public List<SingleFlight<String, ?>> getFlights() {
+		return Arrays.<SingleFlight<String, ?>>asList(listFlights, pageFlights, competitionFlights);
+	}
+
+	/**
+	 * @return a copy of the cached list of the key, loaded by
+	 *         <code>loader</code> on a miss unless the same list is loading
+	 */
+	private List<CompetitionDTO> loadList(final ReferenceCache<String, List<CompetitionDTO>> cache, final String key,
+			final SingleFlight.Loader<List<CompetitionDTO>> loader)
 			throws JDBCDriverException, SQLException, TransactionException {
-		List<CompetitionDTO> competitionDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		final long generation = cache.getGeneration();
+		List<CompetitionDTO> cached = cache.get(key);
+		if (cached == null) {
+			cached = coalesce(listFlights, key, new SingleFlight.Loader<List<CompetitionDTO>>() {
+				@Override
+				public List<CompetitionDTO> load() throws Exception {
+					List<CompetitionDTO> loaded = Collections.unmodifiableList(new ArrayList<>(loader.load()));
+					cache.put(key, loaded, generation);
+					return loaded;
+				}
+			});
+		}
+		return new ArrayList<>(cached);
+	}
+
+	/**
+	 * @return a copy of the cached page of the key, loaded by
+	 *         <code>loader</code> on a miss unless the same page is loading
+	 */
+	private CompetitionPageDTO loadPage(final String key, final SingleFlight.Loader<CompetitionPageDTO> loader)
+			throws JDBCDriverException, SQLException, TransactionException {
+		final long generation = competitionPages.getGeneration();
+		CompetitionPageDTO cached = competitionPages.get(key);
+		if (cached == null) {
+			cached = coalesce(pageFlights, key, new SingleFlight.Loader<CompetitionPageDTO>() {
+				@Override
+				public CompetitionPageDTO load() throws Exception {
+					CompetitionPageDTO loaded = loader.load();
+					competitionPages.put(key, loaded, generation);
+					return loaded;
+				}
+			});
+		}
+		return new CompetitionPageDTO(new ArrayList<>(cached.getCompetitions()), cached.getNextPageToken());
+	}
+
+	private static <V> V coalesce(final SingleFlight<String, V> flight, final String key,
+			final SingleFlight.Loader<V> loader) throws JDBCDriverException, SQLException, TransactionException {
 		try {
-			for (CompetitionsView competitionsView : CompetitionsViewDao.getInstance()
-					.getAllCompetitionsView(connection, partNumber, partSize)) {
-				competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(), competitionsView.getName(),
-						competitionsView.getUsersCount().toString(), competitionsView.getStart(),
-						competitionsView.getFinish(), competitionsView.getDescription(), null, new ArrayList<String>(),
-						new ArrayList<String>()));
-			}
-		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
+			return flight.execute(key, loader);
+		} catch (JDBCDriverException | SQLException | TransactionException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
-		return competitionDTO;
+	}
+
+	private static String pageKey(final String kind, final int partNumber, final int partSize, final String argument) {
+		return kind + ":" + partNumber + ":" + partSize + ":" + (argument == null ? "" : argument);
+	}
+
+	@Override
+	public List<CompetitionDTO> getAll(final int partNumber, final int partSize)
+			throws JDBCDriverException, SQLException, TransactionException {
+		String key = pageKey(ALL, partNumber, partSize, null);
+		return loadList(competitionLists, key, new SingleFlight.Loader<List<CompetitionDTO>>() {
+			@Override
+			public List<CompetitionDTO> load() throws JDBCDriverException, SQLException, TransactionException {
+				List<CompetitionDTO> competitionDTO = new ArrayList<>();
+				Connection connection = ConnectionManager.getInstance().borrowPrimaryReadOnly();
+				try {
+					for (CompetitionsView competitionsView : CompetitionsViewDao.getInstance()
+							.getAllCompetitionsView(connection, partNumber, partSize)) {
+						competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(),
+								competitionsView.getName(), competitionsView.getUsersCount().toString(),
+								competitionsView.getStart(), competitionsView.getFinish(),
+								competitionsView.getDescription(), null, new ArrayList<String>(),
+								new ArrayList<String>()));
+					}
+				} catch (QueryNotFoundException | DataBaseReadingException e) {
+					throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+				} finally {
+					ConnectionManager.getInstance().releaseReadOnly(connection);
+				}
+				return competitionDTO;
+			}
+		});
 	}
 
 	@Override
 	public List<CompetitionDTO> getAllActive(final int partNumber, final int partSize)
 			throws JDBCDriverException, SQLException, TransactionException {
-		List<CompetitionDTO> competitionDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
-		try {
-			for (CompetitionsView competitionsView : CompetitionsViewDao.getInstance()
-					.getActiveCompetitionsView(connection, partNumber, partSize)) {
-				competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(), competitionsView.getName(),
-						competitionsView.getUsersCount().toString(), competitionsView.getStart(),
-						competitionsView.getFinish(), competitionsView.getDescription(), null, new ArrayList<String>(),
-						new ArrayList<String>()));
+		String key = pageKey(ACTIVE, partNumber, partSize, null);
+		return loadList(competitionLists, key, new SingleFlight.Loader<List<CompetitionDTO>>() {
+			@Override
+			public List<CompetitionDTO> load() throws JDBCDriverException, SQLException, TransactionException {
+				List<CompetitionDTO> competitionDTO = new ArrayList<>();
+				Connection connection = ConnectionManager.getInstance().borrowPrimaryReadOnly();
+				try {
+					for (CompetitionsView competitionsView : CompetitionsViewDao.getInstance()
+							.getActiveCompetitionsView(connection, partNumber, partSize)) {
+						competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(),
+								competitionsView.getName(), competitionsView.getUsersCount().toString(),
+								competitionsView.getStart(), competitionsView.getFinish(),
+								competitionsView.getDescription(), null, new ArrayList<String>(),
+								new ArrayList<String>()));
+					}
+				} catch (QueryNotFoundException | DataBaseReadingException e) {
+					throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+				} finally {
+					ConnectionManager.getInstance().releaseReadOnly(connection);
+				}
+				return competitionDTO;
 			}
-		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
-			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		});
+	}
+
+	@Override
+	public CompetitionPageDTO getAllPage(final int partNumber, final int partSize, final String pageToken)
+			throws IllegalAgrumentCheckedException, JDBCDriverException, SQLException, TransactionException {
+		final PageToken after = PageToken.decode(pageToken, partSize);
+		String key = pageKey(ALL, partNumber, partSize, pageToken);
+		return loadPage(key, new SingleFlight.Loader<CompetitionPageDTO>() {
+			@Override
+			public CompetitionPageDTO load() throws JDBCDriverException, SQLException, TransactionException {
+				List<CompetitionsView> competitionsViews;
+				Connection connection = ConnectionManager.getInstance().borrowPrimaryReadOnly();
+				try {
+					if (after == null) {
+						competitionsViews = CompetitionsViewDao.getInstance().getAllCompetitionsView(connection,
+								partNumber, partSize);
+					} else {
+						competitionsViews = CompetitionsViewDao.getInstance().getAllCompetitionsViewAfter(connection,
+								after, partSize);
+					}
+				} catch (QueryNotFoundException | DataBaseReadingException e) {
+					throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+				} finally {
+					ConnectionManager.getInstance().releaseReadOnly(connection);
+				}
+				return toCompetitionPage(competitionsViews, partSize);
+			}
+		});
+	}
+
+	@Override
+	public CompetitionPageDTO getAllActivePage(final int partNumber, final int partSize, final String pageToken)
+			throws IllegalAgrumentCheckedException, JDBCDriverException, SQLException, TransactionException {
+		final PageToken after = PageToken.decode(pageToken, partSize);
+		String key = pageKey(ACTIVE, partNumber, partSize, pageToken);
+		return loadPage(key, new SingleFlight.Loader<CompetitionPageDTO>() {
+			@Override
+			public CompetitionPageDTO load() throws JDBCDriverException, SQLException, TransactionException {
+				List<CompetitionsView> competitionsViews;
+				Connection connection = ConnectionManager.getInstance().borrowPrimaryReadOnly();
+				try {
+					if (after == null) {
+						competitionsViews = CompetitionsViewDao.getInstance().getActiveCompetitionsView(connection,
+								partNumber, partSize);
+					} else {
+						competitionsViews = CompetitionsViewDao.getInstance().getActiveCompetitionsViewAfter(connection,
+								after, partSize);
+					}
+				} catch (QueryNotFoundException | DataBaseReadingException e) {
+					throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+				} finally {
+					ConnectionManager.getInstance().releaseReadOnly(connection);
+				}
+				return toCompetitionPage(competitionsViews, partSize);
+			}
+		});
+	}
+
+	private CompetitionPageDTO toCompetitionPage(final List<CompetitionsView> competitionsViews, final int partSize) {
+		List<CompetitionDTO> competitionDTO = new ArrayList<>();
+		for (CompetitionsView competitionsView : competitionsViews) {
+			competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(), competitionsView.getName(),
+					competitionsView.getUsersCount().toString(), competitionsView.getStart(),
+					competitionsView.getFinish(), competitionsView.getDescription(), null, new ArrayList<String>(),
+					new ArrayList<String>()));
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
-		return competitionDTO;
+		String nextPageToken = null;
+		if (!competitionsViews.isEmpty()) {
+			CompetitionsView last = competitionsViews.get(competitionsViews.size() - 1);
+			nextPageToken = PageToken.next(competitionsViews.size(), partSize, last.getName(),
+					last.getIdCompetition());
+		}
+		return new CompetitionPageDTO(competitionDTO, nextPageToken);
 	}
 
 	@Override
@@ -102,22 +312,29 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 			Log4jWrapper.get().error(errorStr);
 			throw new IllegalAgrumentCheckedException(errorStr);
 		}
-		List<CompetitionDTO> competitionDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
-		try {
-			for (CompetitionsView competitionsView : CompetitionsViewDao.getInstance()
-					.getCompetitionsByUserView(connection, partNumber, partSize, login)) {
-				competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(), competitionsView.getName(),
-						competitionsView.getUsersCount().toString(), competitionsView.getStart(),
-						competitionsView.getFinish(), competitionsView.getDescription(), null, new ArrayList<String>(),
-						new ArrayList<String>()));
+		String key = pageKey(BY_USER, partNumber, partSize, login);
+		return loadList(competitionLists, key, new SingleFlight.Loader<List<CompetitionDTO>>() {
+			@Override
+			public List<CompetitionDTO> load() throws JDBCDriverException, SQLException, TransactionException {
+				List<CompetitionDTO> competitionDTO = new ArrayList<>();
+				Connection connection = ConnectionManager.getInstance().borrowPrimaryReadOnly();
+				try {
+					for (CompetitionsView competitionsView : CompetitionsViewDao.getInstance()
+							.getCompetitionsByUserView(connection, partNumber, partSize, login)) {
+						competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(),
+								competitionsView.getName(), competitionsView.getUsersCount().toString(),
+								competitionsView.getStart(), competitionsView.getFinish(),
+								competitionsView.getDescription(), null, new ArrayList<String>(),
+								new ArrayList<String>()));
+					}
+				} catch (QueryNotFoundException | DataBaseReadingException | IllegalAgrumentCheckedException e) {
+					throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+				} finally {
+					ConnectionManager.getInstance().releaseReadOnly(connection);
+				}
+				return competitionDTO;
 			}
-		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
-			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
-		}
-		ConnectionManager.getInstance().commitTransaction(connection);
-		return competitionDTO;
+		});
 	}
 	
 	@Override
@@ -128,22 +345,29 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 			Log4jWrapper.get().error(errorStr);
 			throw new IllegalAgrumentCheckedException(errorStr);
 		}
-		List<CompetitionDTO> competitionDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
-		try {
-			for (CompetitionsView competitionsView : CompetitionsViewDao.getInstance()
-					.getCompetitionsByGroup(connection, partNumber, partSize, idGroup)) {
-				competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(), competitionsView.getName(),
-						competitionsView.getUsersCount().toString(), competitionsView.getStart(),
-						competitionsView.getFinish(), competitionsView.getDescription(), null, new ArrayList<String>(),
-						new ArrayList<String>()));
+		String key = pageKey(BY_GROUP, partNumber, partSize, idGroup);
+		return loadList(groupCompetitionLists, key, new SingleFlight.Loader<List<CompetitionDTO>>() {
+			@Override
+			public List<CompetitionDTO> load() throws JDBCDriverException, SQLException, TransactionException {
+				List<CompetitionDTO> competitionDTO = new ArrayList<>();
+				Connection connection = ConnectionManager.getInstance().borrowPrimaryReadOnly();
+				try {
+					for (CompetitionsView competitionsView : CompetitionsViewDao.getInstance()
+							.getCompetitionsByGroup(connection, partNumber, partSize, idGroup)) {
+						competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(),
+								competitionsView.getName(), competitionsView.getUsersCount().toString(),
+								competitionsView.getStart(), competitionsView.getFinish(),
+								competitionsView.getDescription(), null, new ArrayList<String>(),
+								new ArrayList<String>()));
+					}
+				} catch (QueryNotFoundException | DataBaseReadingException | IllegalAgrumentCheckedException e) {
+					throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+				} finally {
+					ConnectionManager.getInstance().releaseReadOnly(connection);
+				}
+				return competitionDTO;
 			}
-		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
-			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
-		}
-		ConnectionManager.getInstance().commitTransaction(connection);
-		return competitionDTO;
+		});
 	}
 
 	@Override
@@ -155,7 +379,7 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 			throw new IllegalAgrumentCheckedException(errorStr);
 		}
 		List<GroupDTO> groupDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
 			for (Group group : GroupDao.getInstance().getGroupsByIdCompetition(connection, partNumber, partSize,
 					idCompetition)) {
@@ -163,10 +387,10 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 						group.getDescription(), group.getScoreGroup(), group.getStatus(), null, null, null));
 			}
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return groupDTO;
 	}
 
@@ -178,36 +402,51 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 			Log4jWrapper.get().error(errorStr);
 			throw new IllegalAgrumentCheckedException(errorStr);
 		}
-		List<CompetitionDTO> competitionDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
-		try {
-			for (CompetitionsView competitionsView : CompetitionsViewDao.getInstance()
-					.getActiveCompetitionsByUserView(connection, partNumber, partSize, login)) {
-				competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(), competitionsView.getName(),
-						competitionsView.getUsersCount().toString(), competitionsView.getStart(),
-						competitionsView.getFinish(), competitionsView.getDescription(), null, new ArrayList<String>(),
-						new ArrayList<String>()));
+		String key = pageKey(ACTIVE_BY_USER, partNumber, partSize, login);
+		return loadList(competitionLists, key, new SingleFlight.Loader<List<CompetitionDTO>>() {
+			@Override
+			public List<CompetitionDTO> load() throws JDBCDriverException, SQLException, TransactionException {
+				List<CompetitionDTO> competitionDTO = new ArrayList<>();
+				Connection connection = ConnectionManager.getInstance().borrowPrimaryReadOnly();
+				try {
+					for (CompetitionsView competitionsView : CompetitionsViewDao.getInstance()
+							.getActiveCompetitionsByUserView(connection, partNumber, partSize, login)) {
+						competitionDTO.add(new CompetitionDTO(competitionsView.getIdCompetition(),
+								competitionsView.getName(), competitionsView.getUsersCount().toString(),
+								competitionsView.getStart(), competitionsView.getFinish(),
+								competitionsView.getDescription(), null, new ArrayList<String>(),
+								new ArrayList<String>()));
+					}
+				} catch (QueryNotFoundException | DataBaseReadingException | IllegalAgrumentCheckedException e) {
+					throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+				} finally {
+					ConnectionManager.getInstance().releaseReadOnly(connection);
+				}
+				return competitionDTO;
 			}
-		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
-			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
-		}
-		ConnectionManager.getInstance().commitTransaction(connection);
-		return competitionDTO;
+		});
 	}
 
 	@Override
-	public CompetitionDTO getCompetition(String idCompetition)
+	public CompetitionDTO getCompetition(final String idCompetition)
 			throws JDBCDriverException, SQLException, TransactionException {
-		CompetitionsView competitionview;
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
-		try {
-			competitionview = CompetitionsViewDao.getInstance().getCompetitionViewById(connection, idCompetition);
-		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
-			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
-		}
-		ConnectionManager.getInstance().commitTransaction(connection);
+		// a shared read may come from a replica that misses the caller's write
+		String key = ConnectionManager.getInstance().isReadAfterWrite() ? null : idCompetition;
+		CompetitionsView competitionview = coalesce(competitionFlights, key,
+				new SingleFlight.Loader<CompetitionsView>() {
+					@Override
+					public CompetitionsView load() throws JDBCDriverException, SQLException, TransactionException {
+						Connection connection = ConnectionManager.getInstance().borrowPrimaryReadOnly();
+						try {
+							return CompetitionsViewDao.getInstance().getCompetitionViewById(connection,
+									idCompetition);
+						} catch (QueryNotFoundException | DataBaseReadingException e) {
+							throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+						} finally {
+							ConnectionManager.getInstance().releaseReadOnly(connection);
+						}
+					}
+				});
 		return new CompetitionDTO(competitionview.getIdCompetition(), competitionview.getName(),
 				String.valueOf(competitionview.getUsersCount()), competitionview.getStart(),
 				competitionview.getFinish(), competitionview.getDescription(), null, null, null);
@@ -217,14 +456,14 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 	public CompetitionDTO getCompetitionByName(String name)
 			throws JDBCDriverException, SQLException, TransactionException {
 		CompetitionsView competitionview;
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
 			competitionview = CompetitionsViewDao.getInstance().getCompetitionViewByName(connection, name);
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		if (competitionview == null)
 			return null;
 		return new CompetitionDTO(competitionview.getIdCompetition(), competitionview.getName(),
@@ -247,6 +486,8 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 		}
 		ConnectionManager.getInstance().commitTransaction(connection);
+		LeaderboardServiceImpl.getInstance().invalidate(idCompetition);
+		invalidateCompetitions();
 		result = true;
 		return result;
 	}
@@ -259,13 +500,14 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 		try {
 			CompetitionsView competitionview = CompetitionsViewDao.getInstance().getCompetitionViewById(connection,
 					idCompetition);
-			Group group = GroupDao.getInstance().getGroupById(connection, idGroup);
+			Group group = ReferenceDataCache.getInstance().getGroupById(connection, idGroup);
 			GroupCompetitionsDao.getInstance().createGroupCompetition(connection, group, competitionview);
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
 			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 		}
 		ConnectionManager.getInstance().commitTransaction(connection);
+		invalidateGroupCompetitions();
 		result = true;
 		return result;
 	}
@@ -287,38 +529,38 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 		}
 		ConnectionManager.getInstance().commitTransaction(connection);
+		LeaderboardServiceImpl.getInstance().invalidate(idCompetition);
+		invalidateCompetitions();
 		return result;
 	}
 
 	@Override
 	public UserCompetitionsDTO getUserCompetition(String idCompetition, String nameUser)
 			throws SQLException, JDBCDriverException, TransactionException {
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
 			CompetitionsView competitionview = CompetitionsViewDao.getInstance().getCompetitionViewById(connection,
 					idCompetition);
 			User user = UserDao.getInstance().getUserByLoginName(connection, nameUser);
-			List<UserCompetitions> list = UserCompetitionsDao.getInstance().getAllbyId(connection, user.getIdUser());
-			for (UserCompetitions usercompetition : list) {
-				if (usercompetition.getIdCompetition().equals(competitionview.getIdCompetition())) {
-					return new UserCompetitionsDTO(usercompetition.getIdUserCompetition(), nameUser, null,
-							usercompetition.getUserScore().toString(), usercompetition.getIdAwards(),
-							usercompetition.getTimeReceived());
-				}
+			UserCompetitions usercompetition = UserCompetitionsDao.getInstance().getUserCompetitionByIds(connection,
+					user.getIdUser(), competitionview.getIdCompetition());
+			if (usercompetition != null) {
+				return new UserCompetitionsDTO(usercompetition.getIdUserCompetition(), nameUser, null,
+						usercompetition.getUserScore().toString(), usercompetition.getIdAwards(),
+						usercompetition.getTimeReceived());
 			}
-		} catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException | CloseStatementException
-				| EmptyResultSetException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
+		} catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException e) {
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return null;
 	}
 	
 	@Override
 	public GroupCompetitionsDTO getGroupCompetition(String idCompetition, String idGroup)
 			throws SQLException, JDBCDriverException, TransactionException {
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
 			List<GroupCompetitions> list = GroupCompetitionsDao.getInstance().getGroupCompetitionsByGroupId(connection, idGroup);
 			for (GroupCompetitions groupcompetition : list) {
@@ -328,10 +570,10 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 			}
 		} catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException | CloseStatementException
 				| EmptyResultSetException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return null;
 	}
 
@@ -342,20 +584,67 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 			Log4jWrapper.get().error("You didn't enter userCompetition");
 			throw new IllegalArgumentException();
 		} else {
+			int userScore = parseScore(userCompetition.getUserScore());
+			checkAward(userCompetition.getAwardsName());
+			if (ScoreIngestionServiceImpl.getInstance().submit(new UserCompetitions(
+					userCompetition.getIdUserCompetition(), null, null, userScore,
+					userCompetition.getAwardsName(), userCompetition.getTimeReceivedAward()))) {
+				return;
+			}
 			Connection connection = ConnectionManager.getInstance().beginTransaction();
 			UserCompetitions userCompetitions = UserCompetitionsDao.getInstance().getByFieldName(connection,
 					userCompetition.getIdUserCompetition());
 			try {
 				UserCompetitionsDao.getInstance().updateUserCompetition(connection,
 						new UserCompetitions(userCompetitions.getIdUserCompetition(), userCompetitions.getIdUser(),
-								userCompetitions.getIdCompetition(), Integer.parseInt(userCompetition.getUserScore()),
+								userCompetitions.getIdCompetition(), userScore,
 								userCompetition.getAwardsName(), userCompetition.getTimeReceivedAward()));
 			} catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException e) {
 				ConnectionManager.getInstance().rollbackTransaction(connection);
 				throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 			}
 			ConnectionManager.getInstance().commitTransaction(connection);
+			LeaderboardServiceImpl.getInstance().updateScore(userCompetitions.getIdCompetition(),
+					userCompetitions.getIdUser(), userScore);
+		}
+	}
+
+	private static int parseScore(final String score) {
+		int userScore;
+		try {
+			userScore = Integer.parseInt(score == null ? "" : score.trim());
+		} catch (NumberFormatException e) {
+			userScore = -1;
+		}
+		if (userScore < 0) {
+			String errorStr = "Illegal score \"" + score + "\". It must be a non-negative integer.";
+			Log4jWrapper.get().error(errorStr);
+			throw new IllegalArgumentException(errorStr);
 		}
+		return userScore;
+	}
+
+	/**
+	 * Rejects awards that do not exist before an update is accepted, the
+	 * write-behind could not report the failed foreign key to the caller.
+	 */
+	private static void checkAward(final String idAward)
+			throws JDBCDriverException, SQLException, TransactionException {
+		if (idAward == null) {
+			return;
+		}
+		try {
+			for (Award award : ReferenceDataCache.getInstance().getAllAwards()) {
+				if (idAward.equals(award.getIdAward())) {
+					return;
+				}
+			}
+		} catch (DataBaseReadingException e) {
+			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		}
+		String errorStr = "Illegal award \"" + idAward + "\". No such award.";
+		Log4jWrapper.get().error(errorStr);
+		throw new IllegalArgumentException(errorStr);
 	}
 
 	@Override
@@ -366,19 +655,19 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 			CompetitionsView competitionview = CompetitionsViewDao.getInstance().getCompetitionViewById(connection,
 					idCompetition);
 			User user = UserDao.getInstance().getUserByLoginName(connection, nameUser);
-			List<UserCompetitions> list = UserCompetitionsDao.getInstance().getAllbyId(connection, user.getIdUser());
-			for (UserCompetitions usercompetition : list) {
-				if (usercompetition.getIdCompetition().equals(competitionview.getIdCompetition())) {
-					UserCompetitionsDao.getInstance().deleteByUserCompetitionId(connection,
-							usercompetition.getIdUserCompetition());
-				}
+			UserCompetitions usercompetition = UserCompetitionsDao.getInstance().getUserCompetitionByIds(connection,
+					user.getIdUser(), competitionview.getIdCompetition());
+			if (usercompetition != null) {
+				UserCompetitionsDao.getInstance().deleteByUserCompetitionId(connection,
+						usercompetition.getIdUserCompetition());
 			}
-		} catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException | CloseStatementException
-				| EmptyResultSetException e) {
+		} catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException e) {
 			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 		}
 		ConnectionManager.getInstance().commitTransaction(connection);
+		LeaderboardServiceImpl.getInstance().invalidate(idCompetition);
+		invalidateCompetitions();
 	}
 
 	@Override
@@ -399,22 +688,20 @@ public class CompetitionsViewServiceImpl implements ICompetitionsViewService {
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 		}
 		ConnectionManager.getInstance().commitTransaction(connection);
+		invalidateGroupCompetitions();
 	}
 	
 	@Override
 	public List<AwardDTO> getAllAwards()
 			throws JDBCDriverException, SQLException, TransactionException {
 		List<AwardDTO> awardDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
 		try {
-			for (Award award : AwardDao.getInstance().getAllAwards(connection)) {
+			for (Award award : ReferenceDataCache.getInstance().getAllAwards()) {
 				awardDTO.add(new AwardDTO(award.getIdAward(), award.getName()));
 			}
 		} catch (DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return awardDTO;
 	}
 
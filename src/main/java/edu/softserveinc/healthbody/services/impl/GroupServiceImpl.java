@@ -6,16 +6,20 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import edu.softserveinc.healthbody.cache.ReferenceDataCache;
 import edu.softserveinc.healthbody.constants.ErrorConstants;
 import edu.softserveinc.healthbody.dao.GroupDao;
 import edu.softserveinc.healthbody.dao.GroupUserViewDao;
+import edu.softserveinc.healthbody.dao.PageToken;
 import edu.softserveinc.healthbody.db.ConnectionManager;
 import edu.softserveinc.healthbody.dto.GroupDTO;
+import edu.softserveinc.healthbody.dto.GroupPageDTO;
 import edu.softserveinc.healthbody.entity.Group;
 import edu.softserveinc.healthbody.entity.GroupUserView;
 import edu.softserveinc.healthbody.exceptions.CloseStatementException;
 import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
 import edu.softserveinc.healthbody.exceptions.EmptyResultSetException;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
 import edu.softserveinc.healthbody.exceptions.TransactionException;
@@ -44,32 +48,62 @@ public final class GroupServiceImpl implements IGroupService {
 	public List<GroupDTO> getAll(final int partNumber, final int partSize) throws QueryNotFoundException,
 			JDBCDriverException, DataBaseReadingException, SQLException, TransactionException {
 		List<GroupDTO> resultGroup = new ArrayList<GroupDTO>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
 			for (Group group : GroupDao.getInstance().getAll(connection, partNumber, partSize)) {
 				resultGroup.add(new GroupDTO(group.getIdGroup(), group.getName(), group.getCount().toString(),
 						group.getDescription(), group.getScoreGroup(), group.getStatus(), null, null, null));
 			}
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return resultGroup;
 	}
 
+	@Override
+	public GroupPageDTO getAllPage(final int partNumber, final int partSize, final String pageToken)
+			throws IllegalAgrumentCheckedException, JDBCDriverException, SQLException, TransactionException {
+		PageToken after = PageToken.decode(pageToken, partSize);
+		List<Group> groups;
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
+		try {
+			if (after == null) {
+				groups = GroupDao.getInstance().getAll(connection, partNumber, partSize);
+			} else {
+				groups = GroupDao.getInstance().getAllAfter(connection, after, partSize);
+			}
+		} catch (QueryNotFoundException | DataBaseReadingException e) {
+			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
+		}
+		List<GroupDTO> resultGroup = new ArrayList<GroupDTO>();
+		for (Group group : groups) {
+			resultGroup.add(new GroupDTO(group.getIdGroup(), group.getName(), group.getCount().toString(),
+					group.getDescription(), group.getScoreGroup(), group.getStatus(), null, null, null));
+		}
+		String nextPageToken = null;
+		if (!groups.isEmpty()) {
+			Group last = groups.get(groups.size() - 1);
+			nextPageToken = PageToken.next(groups.size(), partSize, last.getName(), last.getIdGroup());
+		}
+		return new GroupPageDTO(resultGroup, nextPageToken);
+	}
+
 	@Override
 	public GroupDTO getGroup(String name) throws QueryNotFoundException, JDBCDriverException, DataBaseReadingException,
 			SQLException, TransactionException {
 		Group group;
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
-			group = GroupDao.getInstance().getGroupByName(connection, name);
+			group = ReferenceDataCache.getInstance().getGroupByName(connection, name);
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		if (group == null) return null;
 		return new GroupDTO(group.getIdGroup(), group.getName(), String.valueOf(group.getCount()),
 				group.getDescription(), group.getScoreGroup(), group.getStatus(), null, null, null);
@@ -79,14 +113,14 @@ public final class GroupServiceImpl implements IGroupService {
 	public GroupDTO getGroupById(String id) throws QueryNotFoundException, JDBCDriverException,
 			DataBaseReadingException, SQLException, TransactionException {
 		Group group;
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
-			group = GroupDao.getInstance().getGroupById(connection, id);
+			group = ReferenceDataCache.getInstance().getGroupById(connection, id);
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return new GroupDTO(group.getIdGroup(), group.getName(), String.valueOf(group.getCount()),
 				group.getDescription(), group.getScoreGroup(), group.getStatus(), null, null, null);
 	}
@@ -113,6 +147,7 @@ public final class GroupServiceImpl implements IGroupService {
 				throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 			}
 			ConnectionManager.getInstance().commitTransaction(connection);
+			ReferenceDataCache.getInstance().invalidateGroups();
 		}
 	}
 
@@ -131,6 +166,7 @@ public final class GroupServiceImpl implements IGroupService {
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 		}
 		ConnectionManager.getInstance().commitTransaction(connection);
+		ReferenceDataCache.getInstance().invalidateGroups();
 	}
 
 	@Override
@@ -144,7 +180,7 @@ public final class GroupServiceImpl implements IGroupService {
 	public List<GroupDTO> getAllGroupsParticipants(int partNumber, int partSize) throws QueryNotFoundException,
 			JDBCDriverException, DataBaseReadingException, SQLException, TransactionException {
 		List<GroupDTO> resultGroupParticipants = new ArrayList<GroupDTO>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
 			for (GroupUserView groupUsers : GroupUserViewDao.getInstance().getAllGroupsParticiapnts(connection,
 					partNumber, partSize)) {
@@ -153,11 +189,44 @@ public final class GroupServiceImpl implements IGroupService {
 						groupUsers.getFirstname().split(";"), groupUsers.getLastname().split(";")));
 			}
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return resultGroupParticipants;
 	}
 
+	@Override
+	public GroupPageDTO getAllGroupsParticipantsPage(final int partNumber, final int partSize, final String pageToken)
+			throws IllegalAgrumentCheckedException, JDBCDriverException, SQLException, TransactionException {
+		PageToken after = PageToken.decode(pageToken, partSize);
+		List<GroupUserView> groupsUsers;
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
+		try {
+			if (after == null) {
+				groupsUsers = GroupUserViewDao.getInstance().getAllGroupsParticiapnts(connection, partNumber,
+						partSize);
+			} else {
+				groupsUsers = GroupUserViewDao.getInstance().getAllGroupsParticipantsAfter(connection, after,
+						partSize);
+			}
+		} catch (QueryNotFoundException | DataBaseReadingException e) {
+			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
+		}
+		List<GroupDTO> resultGroupParticipants = new ArrayList<GroupDTO>();
+		for (GroupUserView groupUsers : groupsUsers) {
+			resultGroupParticipants.add(new GroupDTO(groupUsers.getIdGroup(), groupUsers.getName(), null, null,
+					null, groupUsers.getStatus(), groupUsers.getUsers().split(";"),
+					groupUsers.getFirstname().split(";"), groupUsers.getLastname().split(";")));
+		}
+		String nextPageToken = null;
+		if (!groupsUsers.isEmpty()) {
+			GroupUserView last = groupsUsers.get(groupsUsers.size() - 1);
+			nextPageToken = PageToken.next(groupsUsers.size(), partSize, last.getName(), last.getIdGroup());
+		}
+		return new GroupPageDTO(resultGroupParticipants, nextPageToken);
+	}
+
 }
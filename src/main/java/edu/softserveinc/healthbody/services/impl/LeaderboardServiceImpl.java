@@ -0,0 +1,174 @@
+package edu.softserveinc.healthbody.services.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import edu.softserveinc.healthbody.constants.ErrorConstants;
+import edu.softserveinc.healthbody.dao.CompetitionDao;
+import edu.softserveinc.healthbody.dao.UserCompetitionsDao;
+import edu.softserveinc.healthbody.db.ConnectionManager;
+import edu.softserveinc.healthbody.dto.LeaderboardEntryDTO;
+import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
+import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
+import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
+import edu.softserveinc.healthbody.exceptions.TransactionException;
+import edu.softserveinc.healthbody.leaderboard.Leaderboard;
+import edu.softserveinc.healthbody.log.Log4jWrapper;
+import edu.softserveinc.healthbody.services.ILeaderboardService;
+
+/**
+ * Answers rank queries from one in-memory {@link Leaderboard} per
+ * competition. A leaderboard is loaded from <code>usercompetitions</code>
+ * on first use; afterwards the write paths keep it current: score changes
+ * are applied after their transaction commits, registrations and
+ * removals make the leaderboard load again. Such a leaderboard is replaced
+ * by a new one instead of being cleared, so readers that already hold it
+ * answer from the ranking they started with. Leaderboards are only kept for
+ * competitions that exist, and a query returns at most
+ * <code>MAX_COUNT</code> entries.
+ */
+public class LeaderboardServiceImpl implements ILeaderboardService {
+
+	public static final int MAX_COUNT = 100;
+	public static final int MAX_RADIUS = MAX_COUNT / 2;
+
+	private static volatile LeaderboardServiceImpl instance;
+
+	private final ConcurrentMap<String, Leaderboard> leaderboards = new ConcurrentHashMap<>();
+
+	private LeaderboardServiceImpl() {
+	}
+
+	public static LeaderboardServiceImpl getInstance() {
+		if (instance == null) {
+			synchronized (LeaderboardServiceImpl.class) {
+				if (instance == null) {
+					instance = new LeaderboardServiceImpl();
+				}
+			}
+		}
+		return instance;
+	}
+
+	@Override
+	public List<LeaderboardEntryDTO> getTop(final String idCompetition, final int count)
+			throws IllegalAgrumentCheckedException, SQLException, JDBCDriverException, TransactionException {
+		checkLimit("count", count, MAX_COUNT);
+		return getLoaded(idCompetition).getTop(count);
+	}
+
+	@Override
+	public LeaderboardEntryDTO getRank(final String idCompetition, final String login)
+			throws IllegalAgrumentCheckedException, SQLException, JDBCDriverException, TransactionException {
+		checkLogin(login);
+		return getLoaded(idCompetition).getRank(login);
+	}
+
+	@Override
+	public List<LeaderboardEntryDTO> getAround(final String idCompetition, final String login, final int radius)
+			throws IllegalAgrumentCheckedException, SQLException, JDBCDriverException, TransactionException {
+		checkLogin(login);
+		checkLimit("radius", radius, MAX_RADIUS);
+		return getLoaded(idCompetition).getAround(login, radius);
+	}
+
+	/**
+	 * Applies a committed score change of a participant.
+	 */
+	@Override
+	public void updateScore(final String idCompetition, final String idUser, final long score) {
+		Leaderboard leaderboard = leaderboards.get(idCompetition);
+		if (leaderboard != null && !leaderboard.updateScore(idUser, score)) {
+			leaderboards.remove(idCompetition, leaderboard);
+		}
+	}
+
+	/**
+	 * Makes the leaderboard of the competition load again, after its
+	 * participants changed.
+	 */
+	@Override
+	public void invalidate(final String idCompetition) {
+		leaderboards.remove(idCompetition);
+	}
+
+	@Override
+	public void invalidateAll() {
+		leaderboards.clear();
+	}
+
+	private Leaderboard getLoaded(final String idCompetition)
+			throws IllegalAgrumentCheckedException, SQLException, JDBCDriverException, TransactionException {
+		if (idCompetition == null || idCompetition.isEmpty()) {
+			String errorStr = "Illegal parameter. \"idCompetition\" is empty or null.";
+			Log4jWrapper.get().error(errorStr);
+			throw new IllegalAgrumentCheckedException(errorStr);
+		}
+		Leaderboard leaderboard = leaderboards.get(idCompetition);
+		if (leaderboard == null) {
+			Leaderboard created = new Leaderboard();
+			leaderboard = leaderboards.putIfAbsent(idCompetition, created);
+			leaderboard = (leaderboard == null) ? created : leaderboard;
+		}
+		if (!leaderboard.isLoaded()) {
+			synchronized (leaderboard) {
+				if (!leaderboard.isLoaded()) {
+					load(idCompetition, leaderboard);
+				}
+			}
+		}
+		return leaderboard;
+	}
+
+	/**
+	 * Loads the scores of the competition. If the competition does not exist
+	 * or cannot be read the leaderboard is dropped again, so unknown ids
+	 * leave nothing behind.
+	 */
+	private void load(final String idCompetition, final Leaderboard leaderboard)
+			throws IllegalAgrumentCheckedException, SQLException, JDBCDriverException, TransactionException {
+		leaderboard.beginLoad();
+		boolean exists;
+		// the primary, a lagging replica could miss updates applied before the load
+		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		try {
+			exists = CompetitionDao.getInstance().getById(connection, idCompetition) != null;
+			if (exists) {
+				leaderboard.load(UserCompetitionsDao.getInstance().getScoresByCompetitionId(connection,
+						idCompetition));
+			}
+		} catch (QueryNotFoundException | DataBaseReadingException e) {
+			leaderboards.remove(idCompetition, leaderboard);
+			ConnectionManager.getInstance().rollbackTransaction(connection);
+			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		}
+		ConnectionManager.getInstance().commitTransaction(connection);
+		if (!exists) {
+			leaderboards.remove(idCompetition, leaderboard);
+			String errorStr = "Illegal parameter. Competition \"" + idCompetition + "\" does not exist.";
+			Log4jWrapper.get().error(errorStr);
+			throw new IllegalAgrumentCheckedException(errorStr);
+		}
+	}
+
+	private void checkLimit(final String name, final int value, final int max)
+			throws IllegalAgrumentCheckedException {
+		if (value > max) {
+			String errorStr = "Illegal parameter. \"" + name + "\" is greater than " + max + ".";
+			Log4jWrapper.get().error(errorStr);
+			throw new IllegalAgrumentCheckedException(errorStr);
+		}
+	}
+
+	private void checkLogin(final String login) throws IllegalAgrumentCheckedException {
+		if (login == null || login.isEmpty()) {
+			String errorStr = "Illegal parameter. \"login\" is empty or null.";
+			Log4jWrapper.get().error(errorStr);
+			throw new IllegalAgrumentCheckedException(errorStr);
+		}
+	}
+}
@@ -0,0 +1,307 @@
+package edu.softserveinc.healthbody.services.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.softserveinc.healthbody.constants.ErrorConstants;
+import edu.softserveinc.healthbody.dao.UserCompetitionsDao;
+import edu.softserveinc.healthbody.db.ConnectionManager;
+import edu.softserveinc.healthbody.entity.UserCompetitions;
+import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
+import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
+import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
+import edu.softserveinc.healthbody.exceptions.TransactionException;
+import edu.softserveinc.healthbody.ingestion.CoalescingBuffer;
+import edu.softserveinc.healthbody.log.Log4jWrapper;
+import edu.softserveinc.healthbody.services.IScoreIngestionService;
+
+/**
+ * Write-behind for score updates of user competitions. Accepted updates are
+ * buffered per <code>id_user_competition</code>, the last one wins, and a
+ * background thread writes them with JDBC batches in one transaction once
+ * enough are pending or the oldest waited the flush interval. Scores are
+ * passed to the leaderboards after the transaction commits.
+ * <p>
+ * A full buffer makes callers wait up to the offer timeout and then fails
+ * them, so clients slow down instead of the buffer growing. When a batch
+ * fails its updates are written one by one. Updates the database rejects as
+ * invalid data are dropped at once, other failing updates are retried with
+ * the next flushes and dropped after {@value #MAX_ATTEMPTS} attempts in which
+ * other updates were written. If no update could be written the database is
+ * taken to be unavailable: the batch is retried after the flush interval and
+ * no attempt is counted. Dropped updates are logged. On
+ * {@link #shutdown(long)} everything accepted is written before the thread
+ * ends.
+ * <p>
+ * Until {@link #start(int, int, long, long)} is called, and after shutdown,
+ * {@link #submit(UserCompetitions)} accepts nothing and callers write
+ * synchronously.
+ */
+public class ScoreIngestionServiceImpl implements IScoreIngestionService {
+
+	private static final String THREAD_NAME = "score-ingestion";
+	private static final int MAX_ATTEMPTS = 3;
+	// SQL state classes of data exceptions and integrity constraint violations
+	private static final String DATA_EXCEPTION = "22";
+	private static final String CONSTRAINT_VIOLATION = "23";
+
+	private static volatile ScoreIngestionServiceImpl instance;
+
+	private volatile CoalescingBuffer<String, UserCompetitions> buffer;
+	private volatile boolean stopping;
+	private Thread flusher;
+	private int batchSize;
+	private long flushInterval;
+	private long offerTimeout;
+
+	/**
+	 * Failed attempts to write one update.
+	 */
+	private static final class Failure {
+		private final UserCompetitions update;
+		private int attempts;
+
+		private Failure(final UserCompetitions update) {
+			this.update = update;
+		}
+	}
+
+	private ScoreIngestionServiceImpl() {
+	}
+
+	public static ScoreIngestionServiceImpl getInstance() {
+		if (instance == null) {
+			synchronized (ScoreIngestionServiceImpl.class) {
+				if (instance == null) {
+					instance = new ScoreIngestionServiceImpl();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Starts the background writer.
+	 *
+	 * @param capacity
+	 *            maximum number of distinct pending user competitions
+	 * @param batchSize
+	 *            pending user competitions that trigger a flush, also the
+	 *            JDBC batch size
+	 * @param flushInterval
+	 *            maximum time in ms an update stays pending
+	 * @param offerTimeout
+	 *            maximum time in ms a caller waits for room
+	 */
+	@Override
+	public synchronized void start(final int capacity, final int batchSize, final long flushInterval,
+			final long offerTimeout) {
+		if (buffer != null) {
+			throw new IllegalStateException("Score ingestion is already started");
+		}
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+		}
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+		this.offerTimeout = offerTimeout;
+		this.stopping = false;
+		final CoalescingBuffer<String, UserCompetitions> started = new CoalescingBuffer<>(capacity);
+		flusher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				runFlusher(started);
+			}
+		}, THREAD_NAME);
+		flusher.setDaemon(true);
+		buffer = started;
+		flusher.start();
+	}
+
+	/**
+	 * Buffers a score update. Only the id, score, award and award time of the
+	 * update are written.
+	 *
+	 * @return <code>false</code> if the write-behind is not running and the
+	 *         caller has to write the update itself
+	 * @throws TransactionException
+	 *             if the buffer stayed full for the offer timeout
+	 */
+	@Override
+	public boolean submit(final UserCompetitions update) throws TransactionException {
+		CoalescingBuffer<String, UserCompetitions> current = buffer;
+		if (current == null) {
+			return false;
+		}
+		CoalescingBuffer.Offer offer;
+		try {
+			offer = current.offer(update.getIdUserCompetition(), update, offerTimeout);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TransactionException(ErrorConstants.SCORE_QUEUE_FULL, e);
+		}
+		if (offer == CoalescingBuffer.Offer.FULL) {
+			throw new TransactionException(ErrorConstants.SCORE_QUEUE_FULL);
+		}
+		return offer != CoalescingBuffer.Offer.CLOSED;
+	}
+
+	/**
+	 * Writes all accepted updates and stops the background writer.
+	 *
+	 * @return <code>false</code> if the writer did not finish within the
+	 *         timeout; pending updates are then lost
+	 */
+	@Override
+	public synchronized boolean shutdown(final long timeoutMillis) {
+		CoalescingBuffer<String, UserCompetitions> current = buffer;
+		if (current == null) {
+			return true;
+		}
+		stopping = true;
+		current.close();
+		try {
+			flusher.join(timeoutMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		boolean finished = !flusher.isAlive();
+		if (!finished) {
+			Log4jWrapper.get().error("Score ingestion did not finish, " + current.size() + " update(s) are lost.");
+		}
+		buffer = null;
+		flusher = null;
+		return finished;
+	}
+
+	private void runFlusher(final CoalescingBuffer<String, UserCompetitions> source) {
+		Map<String, Failure> failures = new HashMap<>();
+		while (true) {
+			Map<String, UserCompetitions> updates;
+			try {
+				updates = source.take(batchSize, flushInterval);
+			} catch (InterruptedException e) {
+				Log4jWrapper.get().error("Score ingestion interrupted, " + source.size() + " update(s) are lost.");
+				return;
+			}
+			if (updates == null) {
+				return;
+			}
+			if (updates.isEmpty()) {
+				continue;
+			}
+			try {
+				flush(updates);
+				failures.keySet().removeAll(updates.keySet());
+			} catch (SQLException | JDBCDriverException | TransactionException | RuntimeException e) {
+				Log4jWrapper.get().error("Score flush failed, writing the updates one by one ", e);
+				if (!flushEach(source, updates, failures)) {
+					Log4jWrapper.get().error("Score ingestion interrupted, " + source.size()
+							+ " update(s) are lost.");
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the updates of a failed batch one at a time and requeues or
+	 * drops the failing ones.
+	 *
+	 * @return <code>false</code> if the thread was interrupted while waiting
+	 *         to retry
+	 */
+	private boolean flushEach(final CoalescingBuffer<String, UserCompetitions> source,
+			final Map<String, UserCompetitions> updates, final Map<String, Failure> failures) {
+		Map<String, UserCompetitions> failed = new HashMap<>();
+		Map<String, Exception> causes = new HashMap<>();
+		boolean written = false;
+		for (Map.Entry<String, UserCompetitions> update : updates.entrySet()) {
+			try {
+				flush(Collections.singletonMap(update.getKey(), update.getValue()));
+				failures.remove(update.getKey());
+				written = true;
+			} catch (SQLException | JDBCDriverException | TransactionException | RuntimeException e) {
+				failed.put(update.getKey(), update.getValue());
+				causes.put(update.getKey(), e);
+			}
+		}
+		Map<String, UserCompetitions> retry = new HashMap<>();
+		for (Map.Entry<String, UserCompetitions> update : failed.entrySet()) {
+			String id = update.getKey();
+			Exception cause = causes.get(id);
+			Failure failure = failures.get(id);
+			if ((failure == null) || (failure.update != update.getValue())) {
+				failure = new Failure(update.getValue());
+				failures.put(id, failure);
+			}
+			if (written) {
+				failure.attempts++;
+			}
+			if (stopping || isInvalidData(cause) || (failure.attempts >= MAX_ATTEMPTS)) {
+				failures.remove(id);
+				Log4jWrapper.get().error("Score update dropped: " + id + " = " + update.getValue().getUserScore()
+						+ ", award " + update.getValue().getIdAwards(), cause);
+			} else {
+				retry.put(id, update.getValue());
+			}
+		}
+		if (retry.isEmpty()) {
+			return true;
+		}
+		source.requeue(retry);
+		if (!written) {
+			try {
+				Thread.sleep(flushInterval);
+			} catch (InterruptedException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isInvalidData(final Throwable failure) {
+		for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+			if (!(cause instanceof SQLException)) {
+				continue;
+			}
+			// a batch reports the failed statement as its next exception
+			for (SQLException sql = (SQLException) cause; sql != null; sql = sql.getNextException()) {
+				String state = sql.getSQLState();
+				if ((state != null) && (state.startsWith(DATA_EXCEPTION) || state.startsWith(CONSTRAINT_VIOLATION))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void flush(final Map<String, UserCompetitions> updates)
+			throws SQLException, JDBCDriverException, TransactionException {
+		List<UserCompetitions> flushed;
+		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		try {
+			UserCompetitionsDao.getInstance().updateAll(connection, updates.values(), batchSize);
+			flushed = UserCompetitionsDao.getInstance().getByIds(connection, updates.keySet());
+		} catch (QueryNotFoundException | JDBCDriverException | DataBaseReadingException e) {
+			ConnectionManager.getInstance().rollbackTransaction(connection);
+			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} catch (RuntimeException e) {
+			ConnectionManager.getInstance().rollbackTransaction(connection);
+			throw e;
+		}
+		ConnectionManager.getInstance().commitTransaction(connection);
+		if (flushed.size() < updates.size()) {
+			Log4jWrapper.get().warn((updates.size() - flushed.size())
+					+ " score update(s) skipped, their user competitions do not exist.");
+		}
+		for (UserCompetitions userCompetition : flushed) {
+			LeaderboardServiceImpl.getInstance().updateScore(userCompetition.getIdCompetition(),
+					userCompetition.getIdUser(), userCompetition.getUserScore());
+		}
+	}
+}
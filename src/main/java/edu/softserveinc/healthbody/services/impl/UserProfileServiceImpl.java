@@ -5,9 +5,8 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+import edu.softserveinc.healthbody.cache.ReferenceDataCache;
 import edu.softserveinc.healthbody.constants.ErrorConstants;
-import edu.softserveinc.healthbody.dao.GroupDao;
-import edu.softserveinc.healthbody.dao.RoleDao;
 import edu.softserveinc.healthbody.dao.UserCompetitionsDao;
 import edu.softserveinc.healthbody.dao.UserDao;
 import edu.softserveinc.healthbody.dao.UserGroupDao;
@@ -17,7 +16,7 @@ import edu.softserveinc.healthbody.dto.UserDTO;
 import edu.softserveinc.healthbody.entity.Group;
 import edu.softserveinc.healthbody.entity.Role;
 import edu.softserveinc.healthbody.entity.User;
-import edu.softserveinc.healthbody.entity.UserGroup;
+import edu.softserveinc.healthbody.entity.UserProfile;
 import edu.softserveinc.healthbody.exceptions.CloseStatementException;
 import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
 import edu.softserveinc.healthbody.exceptions.EmptyResultSetException;
@@ -55,7 +54,7 @@ public final class UserProfileServiceImpl implements IBaseService<UserDTO> {
 		} else {
 			Connection connection = ConnectionManager.getInstance().beginTransaction();
 			try {				
-				Role roles = RoleDao.getInstance().getRoleByName(connection, userDTO.getRoleName());
+				Role roles = ReferenceDataCache.getInstance().getRoleByName(connection, userDTO.getRoleName());
 				UserDao.getInstance().createUser(connection, new User(userDTO.getIdUser(), userDTO.getLogin(), userDTO.getPassword(),
 						userDTO.getFirstname(), userDTO.getLastname(), userDTO.getEmail(),
 						Integer.parseInt(userDTO.getAge()), Double.parseDouble(userDTO.getWeight()),
@@ -63,7 +62,7 @@ public final class UserProfileServiceImpl implements IBaseService<UserDTO> {
 						userDTO.getGoogleApi(), roles.getIdRole(), userDTO.getStatus(),
 						Boolean.parseBoolean(userDTO.getIsDisabled())));
 				User user = UserDao.getInstance().getUserByLoginName(connection, userDTO.getLogin());
-				Group group = GroupDao.getInstance().getGroupByName(connection, userDTO.getGroups().get(0).getName());
+				Group group = ReferenceDataCache.getInstance().getGroupByName(connection, userDTO.getGroups().get(0).getName());
 				UserGroupDao.getInstance().createUserGroup(connection, user, group);
 			} catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException e) {
 				ConnectionManager.getInstance().rollbackTransaction(connection);
@@ -81,64 +80,51 @@ public final class UserProfileServiceImpl implements IBaseService<UserDTO> {
 			Log4jWrapper.get().error("User Login couldn't be null");
 			throw new IllegalArgumentException();
 		} else {
-			User user = null;
-			Role role = null;
-			Group group = null;
-			List<UserGroup> userGroup = new ArrayList<UserGroup>();
-			List<GroupDTO> groups = new ArrayList<GroupDTO>();
-		
-			Connection connection = ConnectionManager.getInstance().beginTransaction();
+			UserProfile profile;
+			Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 			try {
-				user = UserDao.getInstance().getUserByLoginName(connection, name);
-				if (user == null) {
-					Log4jWrapper.get().error("User " + name + " doesn't exist");
-					return null;
-				} else {
-					role = RoleDao.getInstance().getRoleById(connection, user.getIdRole());
-					userGroup = UserGroupDao.getInstance().getUserGroupbyId(connection, user.getId());
-					for (UserGroup usergroup : userGroup) {
-						group = GroupDao.getInstance().getById(connection, usergroup.getIdGroup());
-						groups.add(new GroupDTO(group.getId(), group.getName(), group.getCount().toString(), group.getDescription(), group.getScoreGroup(),null,null,null,null));
-					}
-				}
-			 } catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException | CloseStatementException | EmptyResultSetException e) {
-				 ConnectionManager.getInstance().rollbackTransaction(connection);
-				 throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
-			 }
-			ConnectionManager.getInstance().commitTransaction(connection);
-		return new UserDTO(user.getId(), user.getLogin(), user.getPasswd(), user.getFirsName(), user.getLastName(), user.getMail(),
-				user.getAge().toString(), user.getWeight().toString(), user.getGender(), user.getAvatar(),
-				role.getName(), user.getStatus(), user.getGoogleApi(),"", user.getHealth(), groups, String.valueOf(user.getIsDisabled()));
+				profile = UserDao.getInstance().getUserProfileByLogin(connection, name);
+			} catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException e) {
+				throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+			} finally {
+				ConnectionManager.getInstance().releaseReadOnly(connection);
+			}
+			if (profile == null) {
+				Log4jWrapper.get().error("User " + name + " doesn't exist");
+				return null;
+			}
+			return toUserDTO(profile);
 		}
 	}
 	
 	//get user by id
 	public UserDTO getById(final String id) 
 			throws SQLException, JDBCDriverException, TransactionException, CloseStatementException, EmptyResultSetException {
-		User user = null;
-		Role role = null;
-		Group group = null;
-		List<UserGroup> userGroup = new ArrayList<UserGroup>();
-		List<GroupDTO> groups = new ArrayList<GroupDTO>();
-		
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		UserProfile profile;
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
-			 user = UserDao.getInstance().getUserById(connection, id);
-			 role = RoleDao.getInstance().getRoleById(connection, user.getIdRole());
-			 userGroup = UserGroupDao.getInstance().getUserGroupbyId(connection, user.getId());
-			 for (UserGroup usergroup : userGroup) {
-				 group = GroupDao.getInstance().getById(connection, usergroup.getIdGroup());
-				 groups.add(new GroupDTO(group.getId(), group.getName(), group.getCount().toString(), group.getDescription(), group.getScoreGroup(),null,null,null,null));
-			}
+			profile = UserDao.getInstance().getUserProfileById(connection, id);
 		} catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
+		}
+		if (profile == null) {
+			Log4jWrapper.get().error("User with id " + id + " doesn't exist");
+			return null;
+		}
+		return toUserDTO(profile);
+	}
+
+	private UserDTO toUserDTO(final UserProfile profile) {
+		User user = profile.getUser();
+		List<GroupDTO> groups = new ArrayList<GroupDTO>();
+		for (Group group : profile.getGroups()) {
+			groups.add(new GroupDTO(group.getId(), group.getName(), group.getCount().toString(), group.getDescription(), group.getScoreGroup(),null,null,null,null));
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
-		
 		return new UserDTO(user.getId(), user.getLogin(), user.getPasswd(), user.getFirsName(), user.getLastName(), user.getMail(),
 				user.getAge().toString(), user.getWeight().toString(), user.getGender(), user.getAvatar(),
-				role.getName(), user.getStatus(), user.getGoogleApi(),"", user.getHealth(), groups, String.valueOf(user.getIsDisabled()));
+				profile.getRoleName(), user.getStatus(), user.getGoogleApi(),"", user.getHealth(), groups, String.valueOf(user.getIsDisabled()));
 	}
 
 	//Update user
@@ -151,7 +137,7 @@ public final class UserProfileServiceImpl implements IBaseService<UserDTO> {
 		} else {			
 			Connection connection = ConnectionManager.getInstance().beginTransaction();
 			try {
-				Role role = RoleDao.getInstance().getByFieldName(connection, userDTO.getRoleName());
+				Role role = ReferenceDataCache.getInstance().getRoleByName(connection, userDTO.getRoleName());
 				User user = new User(userDTO.getIdUser(), userDTO.getLogin(), userDTO.getPassword(),
 						userDTO.getFirstname(), userDTO.getLastname(), userDTO.getEmail(),
 						Integer.parseInt(userDTO.getAge()), Double.parseDouble(userDTO.getWeight()),
@@ -160,15 +146,13 @@ public final class UserProfileServiceImpl implements IBaseService<UserDTO> {
 						Boolean.parseBoolean(userDTO.getIsDisabled()));
 				if (UserGroupDao.getInstance().getById(connection, user.getId()) != null) {
 					UserGroupDao.getInstance().deleteById(connection, user.getId());
+				}
+				if (userDTO.getGroups() != null) {
+					List<Group> groups = new ArrayList<Group>();
 					for (GroupDTO group : userDTO.getGroups()) {
-						UserGroupDao.getInstance().createUserGroup(connection, user, GroupDao.getInstance().getGroupByName(connection, group.getName()));
-					}
-				} else {
-					if (userDTO.getGroups() != null) {
-						for (GroupDTO group : userDTO.getGroups()) {
-							UserGroupDao.getInstance().createUserGroup(connection, user, GroupDao.getInstance().getGroupByName(connection, group.getName()));
-						}
+						groups.add(ReferenceDataCache.getInstance().getGroupByName(connection, group.getName()));
 					}
+					UserGroupDao.getInstance().createUserGroups(connection, user, groups);
 				}
 				UserDao.getInstance().updateUser(connection, user);
 			} catch (JDBCDriverException | DataBaseReadingException | QueryNotFoundException e) {
@@ -207,6 +191,7 @@ public final class UserProfileServiceImpl implements IBaseService<UserDTO> {
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
 		}
 		ConnectionManager.getInstance().commitTransaction(connection);
+		CompetitionsViewServiceImpl.getInstance().invalidateCompetitions();
 	}
 	
 	//lock and unlock user (for lock - isDisabled = true, for unlock - isDisabled = false)
@@ -6,11 +6,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import edu.softserveinc.healthbody.constants.ErrorConstants;
+import edu.softserveinc.healthbody.dao.PageToken;
 import edu.softserveinc.healthbody.dao.UsersViewDao;
 import edu.softserveinc.healthbody.db.ConnectionManager;
 import edu.softserveinc.healthbody.dto.UserDTO;
+import edu.softserveinc.healthbody.dto.UserPageDTO;
 import edu.softserveinc.healthbody.entity.UsersView;
 import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.exceptions.QueryNotFoundException;
 import edu.softserveinc.healthbody.exceptions.TransactionException;
@@ -27,7 +30,7 @@ public class UsersViewServiceImpl implements IUsersViewService {
 	public final List<UserDTO> getAll(final int partNumber, final int partSize)
 			throws JDBCDriverException, SQLException, TransactionException {
 		List<UserDTO> userDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
 			for (UsersView usersView : UsersViewDao.getInstance().getAllUsersView(connection, partNumber, partSize)) {
 				userDTO.add(new UserDTO(usersView.getId(), usersView.getLogin(), usersView.getPasswd(),
@@ -37,13 +40,50 @@ public class UsersViewServiceImpl implements IUsersViewService {
 						usersView.getScore().toString(), usersView.getHealth(), null, null));
 			}
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return userDTO;
 	}
 
+	/*
+	 * The getAllPage method is the keyset paged variant of getAll: with a
+	 * pageToken it continues after the last user of the previous page.
+	 **/
+	@Override
+	public final UserPageDTO getAllPage(final int partNumber, final int partSize, final String pageToken)
+			throws IllegalAgrumentCheckedException, JDBCDriverException, SQLException, TransactionException {
+		PageToken after = PageToken.decode(pageToken, partSize);
+		List<UsersView> usersViews;
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
+		try {
+			if (after == null) {
+				usersViews = UsersViewDao.getInstance().getAllUsersView(connection, partNumber, partSize);
+			} else {
+				usersViews = UsersViewDao.getInstance().getAllUsersViewAfter(connection, after, partSize);
+			}
+		} catch (QueryNotFoundException | DataBaseReadingException e) {
+			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
+		}
+		List<UserDTO> userDTO = new ArrayList<>();
+		for (UsersView usersView : usersViews) {
+			userDTO.add(new UserDTO(usersView.getId(), usersView.getLogin(), usersView.getPasswd(),
+					usersView.getFirsName(), usersView.getLastName(), usersView.getMail(),
+					usersView.getAge().toString(), usersView.getWeight().toString(), usersView.getGender(),
+					usersView.getAvatar(), usersView.getRoleName(), usersView.getStatus(), usersView.getGoogleApi(),
+					usersView.getScore().toString(), usersView.getHealth(), null, null));
+		}
+		String nextPageToken = null;
+		if (!usersViews.isEmpty()) {
+			UsersView last = usersViews.get(usersViews.size() - 1);
+			nextPageToken = PageToken.next(usersViews.size(), partSize, last.getLogin(), last.getId());
+		}
+		return new UserPageDTO(userDTO, nextPageToken);
+	}
+
 	/*
 	 * The getAllbyAdmin method is used for returning extended list of all users
 	 * for admin role on a pages where users lists presented.
@@ -63,7 +103,7 @@ public class UsersViewServiceImpl implements IUsersViewService {
 	public final List<UserDTO> getAlltoAddInCompetition(final int partNumber, final int partSize)
 			throws JDBCDriverException, SQLException, TransactionException {
 		List<UserDTO> userDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
 			for (UsersView usersView : UsersViewDao.getInstance().getAllUsersView(connection, partNumber, partSize)) {
 				userDTO.add(new UserDTO(usersView.getId(), usersView.getLogin(), usersView.getPasswd(),
@@ -73,10 +113,10 @@ public class UsersViewServiceImpl implements IUsersViewService {
 						usersView.getScore().toString(), usersView.getHealth(), null, null));
 			}
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return userDTO;
 	}
 
@@ -99,7 +139,7 @@ public class UsersViewServiceImpl implements IUsersViewService {
 	public final List<UserDTO> getAllinCompetition(final int partNumber, final int partSize)
 			throws JDBCDriverException, SQLException, TransactionException {
 		List<UserDTO> userDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
 			for (UsersView usersView : UsersViewDao.getInstance().getAllUsersView(connection, partNumber, partSize)) {
 				userDTO.add(new UserDTO(usersView.getId(), usersView.getLogin(), usersView.getPasswd(),
@@ -109,10 +149,10 @@ public class UsersViewServiceImpl implements IUsersViewService {
 						usersView.getScore().toString(), usersView.getHealth(), null, null));
 			}
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return userDTO;
 	}
 
@@ -120,14 +160,14 @@ public class UsersViewServiceImpl implements IUsersViewService {
 	public final List<UsersView> searchUsers(final String login)
 			throws SQLException, JDBCDriverException, TransactionException {
 		List<UsersView> userDTO = new ArrayList<>();
-		Connection connection = ConnectionManager.getInstance().beginTransaction();
+		Connection connection = ConnectionManager.getInstance().borrowReadOnly();
 		try {
 			userDTO = UsersViewDao.getInstance().searchUsersView(connection, login);
 		} catch (QueryNotFoundException | DataBaseReadingException e) {
-			ConnectionManager.getInstance().rollbackTransaction(connection);
 			throw new TransactionException(ErrorConstants.TRANSACTION_ERROR, e);
+		} finally {
+			ConnectionManager.getInstance().releaseReadOnly(connection);
 		}
-		ConnectionManager.getInstance().commitTransaction(connection);
 		return userDTO;
 	}
 }
\ No newline at end of file
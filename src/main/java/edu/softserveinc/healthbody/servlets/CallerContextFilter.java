@@ -0,0 +1,54 @@
+package edu.softserveinc.healthbody.servlets;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+
+import edu.softserveinc.healthbody.db.CallerContext;
+
+/**
+ * Binds the user of every request to {@link CallerContext}: the user the
+ * container authenticated, otherwise the login the request acts for. A
+ * request without either has no caller, clients behind one proxy would share
+ * its address.
+ */
+public class CallerContextFilter implements Filter {
+
+	private static final String LOGIN = "login";
+
+	@Override
+	public void init(final FilterConfig filterConfig) {
+	}
+
+	@Override
+	public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+			throws IOException, ServletException {
+		CallerContext.set(getCaller(request));
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			CallerContext.set(null);
+		}
+	}
+
+	@Override
+	public void destroy() {
+	}
+
+	private static String getCaller(final ServletRequest request) {
+		if (request instanceof HttpServletRequest) {
+			String user = ((HttpServletRequest) request).getRemoteUser();
+			if (user != null) {
+				return user;
+			}
+		}
+		String login = request.getParameter(LOGIN);
+		return (login == null) || login.isEmpty() ? null : login;
+	}
+}
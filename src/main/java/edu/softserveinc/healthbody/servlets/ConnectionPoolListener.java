@@ -0,0 +1,23 @@
+package edu.softserveinc.healthbody.servlets;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import edu.softserveinc.healthbody.db.ConnectionManager;
+
+/**
+ * Closes the connection pools when the application stops. It is declared
+ * first in web.xml, so it is destroyed after every other listener, including
+ * those that still write to the database on shutdown.
+ */
+public class ConnectionPoolListener implements ServletContextListener {
+
+	@Override
+	public void contextInitialized(final ServletContextEvent event) {
+	}
+
+	@Override
+	public void contextDestroyed(final ServletContextEvent event) {
+		ConnectionManager.shutdown();
+	}
+}
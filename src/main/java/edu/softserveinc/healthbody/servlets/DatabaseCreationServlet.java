@@ -17,6 +17,7 @@ import edu.softserveinc.healthbody.db.DataSource;
 import edu.softserveinc.healthbody.db.DataSourceRepository;
 import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
 import edu.softserveinc.healthbody.log.Log4jWrapper;
+import edu.softserveinc.healthbody.services.impl.CompetitionsViewServiceImpl;
 
 /**
  * Servlet implementation class DatabaseCreationServlet.
@@ -51,6 +52,7 @@ public class DatabaseCreationServlet extends HttpServlet {
 			Log4jWrapper.get().error("SQL Exception ", e);
 			return;
 		}
+		CompetitionsViewServiceImpl.getInstance().invalidateCompetitions();
 		
 		Log4jWrapper.get().info("Database successfully created and populated at: " + request.getContextPath());
 	
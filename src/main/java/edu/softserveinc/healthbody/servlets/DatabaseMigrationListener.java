@@ -0,0 +1,48 @@
+package edu.softserveinc.healthbody.servlets;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+import edu.softserveinc.healthbody.db.ConnectionManager;
+import edu.softserveinc.healthbody.db.DBMigrationManager;
+import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
+import edu.softserveinc.healthbody.log.Log4jWrapper;
+
+/**
+ * Applies the pending schema migrations when the application starts, unless
+ * <code>migration.onStartup</code> is switched off. A failed migration stops
+ * the deployment, so the application never runs against a schema it does
+ * not expect.
+ */
+@WebListener
+public class DatabaseMigrationListener implements ServletContextListener {
+
+	@Override
+	public void contextInitialized(final ServletContextEvent event) {
+		if (!DBMigrationManager.getInstance().isMigrateOnStartup()) {
+			Log4jWrapper.get().info("Schema migration on startup is switched off.");
+			return;
+		}
+		try {
+			Connection connection = ConnectionManager.getInstance().beginTransaction();
+			try {
+				DBMigrationManager.getInstance().migrate(connection);
+			} catch (SQLException e) {
+				ConnectionManager.getInstance().rollbackTransaction(connection);
+				throw e;
+			}
+			ConnectionManager.getInstance().commitTransaction(connection);
+		} catch (SQLException | JDBCDriverException e) {
+			Log4jWrapper.get().error("Schema migration failed ", e);
+			throw new IllegalStateException("Schema migration failed", e);
+		}
+	}
+
+	@Override
+	public void contextDestroyed(final ServletContextEvent event) {
+	}
+}
@@ -0,0 +1,140 @@
+package edu.softserveinc.healthbody.servlets;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import edu.softserveinc.healthbody.cache.ReferenceCache;
+import edu.softserveinc.healthbody.cache.ReferenceDataCache;
+import edu.softserveinc.healthbody.cache.SingleFlight;
+import edu.softserveinc.healthbody.db.ConnectionManager;
+import edu.softserveinc.healthbody.db.ConnectionPoolMXBean;
+import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
+import edu.softserveinc.healthbody.log.Log4jWrapper;
+import edu.softserveinc.healthbody.services.impl.CompetitionsViewServiceImpl;
+
+/**
+ * Publishes connection pool, cache and read coalescing metrics in the Prometheus text
+ * exposition format. The pool values are available over JMX through
+ * {@link ConnectionPoolMXBean} as well.
+ */
+@WebServlet("/metrics")
+public class MetricsServlet extends HttpServlet {
+	private static final long serialVersionUID = 1L;
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=UTF-8";
+	private static final String PREFIX = "healthbody_pool_";
+	private static final String CACHE_PREFIX = "healthbody_cache_";
+	private static final String FLIGHT_PREFIX = "healthbody_singleflight_";
+
+	/**
+	 * Default constructor of MetricsServlet
+	 */
+	public MetricsServlet() {
+	}
+
+	@Override
+	protected final void doGet(final HttpServletRequest request, final HttpServletResponse response)
+			throws ServletException, IOException {
+		ConnectionPoolMXBean pool;
+		try {
+			pool = ConnectionManager.getInstance().getPoolMonitor();
+		} catch (JDBCDriverException e) {
+			Log4jWrapper.get().error("JDBC Driver Exception ", e);
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			return;
+		}
+		response.setContentType(CONTENT_TYPE);
+		PrintWriter out = response.getWriter();
+		writeGauge(out, "max_connections", pool.getMaxPoolSize());
+		writeGauge(out, "connections", pool.getTotalConnections());
+		writeGauge(out, "active_connections", pool.getActiveConnections());
+		writeGauge(out, "idle_connections", pool.getIdleConnections());
+		writeGauge(out, "pending_threads", pool.getPendingThreads());
+		writeCounter(out, "connections_created_total", pool.getConnectionsCreated());
+		writeCounter(out, "connections_closed_total", pool.getConnectionsClosed());
+		writeCounter(out, "connection_creation_failures_total", pool.getCreationFailures());
+		writeCounter(out, "validation_failures_total", pool.getValidationFailures());
+		writeCounter(out, "borrow_timeouts_total", pool.getBorrowTimeouts());
+		writeCounter(out, "statement_cache_hits_total", pool.getStatementCacheHits());
+		writeCounter(out, "statement_cache_misses_total", pool.getStatementCacheMisses());
+		writeBorrowHistogram(out, pool);
+		List<ReferenceCache<String, ?>> caches = new ArrayList<>(ReferenceDataCache.getInstance().getCaches());
+		caches.addAll(CompetitionsViewServiceImpl.getInstance().getCaches());
+		writeCacheMetrics(out, caches);
+		writeFlightMetrics(out, CompetitionsViewServiceImpl.getInstance().getFlights());
+		out.flush();
+	}
+
+	private void writeGauge(final PrintWriter out, final String name, final long value) {
+		out.println("# TYPE " + PREFIX + name + " gauge");
+		out.println(PREFIX + name + " " + value);
+	}
+
+	private void writeCounter(final PrintWriter out, final String name, final long value) {
+		out.println("# TYPE " + PREFIX + name + " counter");
+		out.println(PREFIX + name + " " + value);
+	}
+
+	private void writeBorrowHistogram(final PrintWriter out, final ConnectionPoolMXBean pool) {
+		String name = PREFIX + "borrow_milliseconds";
+		long[] bounds = pool.getBorrowLatencyBounds();
+		long[] counts = pool.getBorrowLatencyCounts();
+		out.println("# TYPE " + name + " histogram");
+		long cumulative = 0;
+		for (int i = 0; i < bounds.length; i++) {
+			cumulative += counts[i];
+			out.println(name + "_bucket{le=\"" + bounds[i] + "\"} " + cumulative);
+		}
+		cumulative += counts[bounds.length];
+		out.println(name + "_bucket{le=\"+Inf\"} " + cumulative);
+		out.println(name + "_sum " + pool.getAverageBorrowMillis() * pool.getBorrowCount());
+		out.println(name + "_count " + cumulative);
+		writeGauge(out, "borrow_max_milliseconds", (long) Math.ceil(pool.getMaxBorrowMillis()));
+	}
+
+	private void writeCacheMetrics(final PrintWriter out, final List<ReferenceCache<String, ?>> caches) {
+		out.println("# TYPE " + CACHE_PREFIX + "hits_total counter");
+		for (ReferenceCache<String, ?> cache : caches) {
+			out.println(CACHE_PREFIX + "hits_total{cache=\"" + cache.getName() + "\"} " + cache.getHits());
+		}
+		out.println("# TYPE " + CACHE_PREFIX + "misses_total counter");
+		for (ReferenceCache<String, ?> cache : caches) {
+			out.println(CACHE_PREFIX + "misses_total{cache=\"" + cache.getName() + "\"} " + cache.getMisses());
+		}
+		out.println("# TYPE " + CACHE_PREFIX + "evictions_total counter");
+		for (ReferenceCache<String, ?> cache : caches) {
+			out.println(CACHE_PREFIX + "evictions_total{cache=\"" + cache.getName() + "\"} " + cache.getEvictions());
+		}
+		out.println("# TYPE " + CACHE_PREFIX + "hit_ratio gauge");
+		for (ReferenceCache<String, ?> cache : caches) {
+			out.println(CACHE_PREFIX + "hit_ratio{cache=\"" + cache.getName() + "\"} " + cache.getHitRate());
+		}
+		out.println("# TYPE " + CACHE_PREFIX + "entries gauge");
+		for (ReferenceCache<String, ?> cache : caches) {
+			out.println(CACHE_PREFIX + "entries{cache=\"" + cache.getName() + "\"} " + cache.size());
+		}
+	}
+
+	private void writeFlightMetrics(final PrintWriter out, final List<SingleFlight<String, ?>> flights) {
+		out.println("# TYPE " + FLIGHT_PREFIX + "loads_total counter");
+		for (SingleFlight<String, ?> flight : flights) {
+			out.println(FLIGHT_PREFIX + "loads_total{flight=\"" + flight.getName() + "\"} " + flight.getLoads());
+		}
+		out.println("# TYPE " + FLIGHT_PREFIX + "coalesced_total counter");
+		for (SingleFlight<String, ?> flight : flights) {
+			out.println(FLIGHT_PREFIX + "coalesced_total{flight=\"" + flight.getName() + "\"} "
+					+ flight.getCoalesced());
+		}
+		out.println("# TYPE " + FLIGHT_PREFIX + "in_flight gauge");
+		for (SingleFlight<String, ?> flight : flights) {
+			out.println(FLIGHT_PREFIX + "in_flight{flight=\"" + flight.getName() + "\"} " + flight.getInFlight());
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package edu.softserveinc.healthbody.servlets;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+import edu.softserveinc.healthbody.exceptions.JDBCDriverException;
+import edu.softserveinc.healthbody.exceptions.TransactionException;
+import edu.softserveinc.healthbody.log.Log4jWrapper;
+import edu.softserveinc.healthbody.services.impl.CompetitionsServiceImpl;
+
+/**
+ * Periodically repairs the participant counts of the competitions, which
+ * are maintained incrementally by the user competition queries. The
+ * interval is the context parameter <code>participantCountRepairInterval</code>
+ * in milliseconds; 0 switches the job off.
+ */
+@WebListener
+public class ParticipantCountRepairListener implements ServletContextListener {
+
+	private static final String INTERVAL_PARAMETER = "participantCountRepairInterval";
+	private static final long DEFAULT_INTERVAL = 3600000;
+	private static final String THREAD_NAME = "participant-count-repair";
+
+	private ScheduledExecutorService scheduler;
+
+	@Override
+	public void contextInitialized(final ServletContextEvent event) {
+		long interval = getInterval(event.getServletContext().getInitParameter(INTERVAL_PARAMETER));
+		if (interval <= 0) {
+			Log4jWrapper.get().info("Participant count repair is switched off.");
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable, THREAD_NAME);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				repair();
+			}
+		}, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void contextDestroyed(final ServletContextEvent event) {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	private void repair() {
+		try {
+			int repaired = new CompetitionsServiceImpl().repairParticipantCounts();
+			if (repaired > 0) {
+				Log4jWrapper.get().warn("Participant counts of " + repaired + " competition(s) were repaired.");
+			}
+		} catch (SQLException | JDBCDriverException | TransactionException | RuntimeException e) {
+			Log4jWrapper.get().error("Participant count repair failed ", e);
+		}
+	}
+
+	private long getInterval(final String value) {
+		if (value == null) {
+			return DEFAULT_INTERVAL;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			Log4jWrapper.get().info("Illegal value of " + INTERVAL_PARAMETER + ": " + value + ". Using default.");
+			return DEFAULT_INTERVAL;
+		}
+	}
+}
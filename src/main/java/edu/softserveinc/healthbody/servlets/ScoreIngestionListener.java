@@ -0,0 +1,63 @@
+package edu.softserveinc.healthbody.servlets;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+import edu.softserveinc.healthbody.log.Log4jWrapper;
+import edu.softserveinc.healthbody.services.impl.ScoreIngestionServiceImpl;
+
+/**
+ * Starts the write-behind of score updates and writes the pending ones when
+ * the application stops. Configured by the context parameters
+ * <code>scoreIngestionCapacity</code> (0 switches it off and scores are
+ * written synchronously), <code>scoreIngestionBatchSize</code>,
+ * <code>scoreIngestionFlushInterval</code> and
+ * <code>scoreIngestionOfferTimeout</code>, times in milliseconds.
+ */
+@WebListener
+public class ScoreIngestionListener implements ServletContextListener {
+
+	private static final String CAPACITY_PARAMETER = "scoreIngestionCapacity";
+	private static final String BATCH_SIZE_PARAMETER = "scoreIngestionBatchSize";
+	private static final String FLUSH_INTERVAL_PARAMETER = "scoreIngestionFlushInterval";
+	private static final String OFFER_TIMEOUT_PARAMETER = "scoreIngestionOfferTimeout";
+	private static final long DEFAULT_CAPACITY = 10000;
+	private static final long DEFAULT_BATCH_SIZE = 500;
+	private static final long DEFAULT_FLUSH_INTERVAL = 1000;
+	private static final long DEFAULT_OFFER_TIMEOUT = 200;
+	private static final long SHUTDOWN_TIMEOUT = 30000;
+
+	@Override
+	public void contextInitialized(final ServletContextEvent event) {
+		ServletContext context = event.getServletContext();
+		long capacity = getLong(context, CAPACITY_PARAMETER, DEFAULT_CAPACITY);
+		if (capacity <= 0) {
+			Log4jWrapper.get().info("Score ingestion is switched off.");
+			return;
+		}
+		ScoreIngestionServiceImpl.getInstance().start((int) capacity,
+				(int) getLong(context, BATCH_SIZE_PARAMETER, DEFAULT_BATCH_SIZE),
+				getLong(context, FLUSH_INTERVAL_PARAMETER, DEFAULT_FLUSH_INTERVAL),
+				getLong(context, OFFER_TIMEOUT_PARAMETER, DEFAULT_OFFER_TIMEOUT));
+	}
+
+	@Override
+	public void contextDestroyed(final ServletContextEvent event) {
+		ScoreIngestionServiceImpl.getInstance().shutdown(SHUTDOWN_TIMEOUT);
+	}
+
+	private long getLong(final ServletContext context, final String name, final long defaultValue) {
+		String value = context.getInitParameter(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			Log4jWrapper.get().info("Illegal value of " + name + ": " + value + ". Using default.");
+			return defaultValue;
+		}
+	}
+}
@@ -7,10 +7,14 @@ import javax.jws.WebService;
 
 import edu.softserveinc.healthbody.dto.AwardDTO;
 import edu.softserveinc.healthbody.dto.CompetitionDTO;
+import edu.softserveinc.healthbody.dto.CompetitionPageDTO;
 import edu.softserveinc.healthbody.dto.GroupCompetitionsDTO;
 import edu.softserveinc.healthbody.dto.GroupDTO;
+import edu.softserveinc.healthbody.dto.GroupPageDTO;
+import edu.softserveinc.healthbody.dto.LeaderboardEntryDTO;
 import edu.softserveinc.healthbody.dto.UserCompetitionsDTO;
 import edu.softserveinc.healthbody.dto.UserDTO;
+import edu.softserveinc.healthbody.dto.UserPageDTO;
 
 @WebService
 public interface HealthBodyService {
@@ -30,6 +34,9 @@ public interface HealthBodyService {
 	@WebMethod
 	List<UserDTO> getAllUsers(int partNumber, int partSize);
 
+	@WebMethod
+	UserPageDTO getAllUsersPage(int partNumber, int partSize, String pageToken);
+
 	@WebMethod
 	List<UserDTO> getAllUserstoAddInCompetition(int partNumber, int partSize);
 
@@ -39,6 +46,9 @@ public interface HealthBodyService {
 	@WebMethod
 	List<GroupDTO> getAllGroups(int partNumber, int partSize);
 
+	@WebMethod
+	GroupPageDTO getAllGroupsPage(int partNumber, int partSize, String pageToken);
+
 	@WebMethod
 	GroupDTO getGroupByName(String name);
 
@@ -63,9 +73,24 @@ public interface HealthBodyService {
 	@WebMethod
 	List<CompetitionDTO> getAllCompetitions(int partNumber, int partSize);
 
+	@WebMethod
+	CompetitionPageDTO getAllCompetitionsPage(int partNumber, int partSize, String pageToken);
+
 	@WebMethod
 	List<CompetitionDTO> getAllActiveCompetitions(int partNumber, int partSize);
 
+	@WebMethod
+	CompetitionPageDTO getAllActiveCompetitionsPage(int partNumber, int partSize, String pageToken);
+
+	@WebMethod
+	List<LeaderboardEntryDTO> getLeaderboardTop(String idCompetition, int count);
+
+	@WebMethod
+	LeaderboardEntryDTO getLeaderboardRank(String idCompetition, String login);
+
+	@WebMethod
+	List<LeaderboardEntryDTO> getLeaderboardAround(String idCompetition, String login, int radius);
+
 	@WebMethod
 	List<CompetitionDTO> getAllCompetitionsByUser(int partNumber, int partSize, String login);
 	
@@ -99,6 +124,9 @@ public interface HealthBodyService {
 	@WebMethod
 	List<GroupDTO> getAllGroupsParticipants(int partNumber, int partSize);
 
+	@WebMethod
+	GroupPageDTO getAllGroupsParticipantsPage(int partNumber, int partSize, String pageToken);
+
 	@WebMethod
 	UserCompetitionsDTO getUserCompetition(String idCompetition, String nameUser);
 	
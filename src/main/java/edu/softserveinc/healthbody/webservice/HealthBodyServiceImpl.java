@@ -7,10 +7,14 @@ import javax.jws.WebService;
 
 import edu.softserveinc.healthbody.dto.AwardDTO;
 import edu.softserveinc.healthbody.dto.CompetitionDTO;
+import edu.softserveinc.healthbody.dto.CompetitionPageDTO;
 import edu.softserveinc.healthbody.dto.GroupCompetitionsDTO;
 import edu.softserveinc.healthbody.dto.GroupDTO;
+import edu.softserveinc.healthbody.dto.GroupPageDTO;
+import edu.softserveinc.healthbody.dto.LeaderboardEntryDTO;
 import edu.softserveinc.healthbody.dto.UserCompetitionsDTO;
 import edu.softserveinc.healthbody.dto.UserDTO;
+import edu.softserveinc.healthbody.dto.UserPageDTO;
 import edu.softserveinc.healthbody.exceptions.CloseStatementException;
 import edu.softserveinc.healthbody.exceptions.DataBaseReadingException;
 import edu.softserveinc.healthbody.exceptions.EmptyResultSetException;
@@ -22,6 +26,7 @@ import edu.softserveinc.healthbody.log.Log4jWrapper;
 import edu.softserveinc.healthbody.services.impl.CompetitionsServiceImpl;
 import edu.softserveinc.healthbody.services.impl.CompetitionsViewServiceImpl;
 import edu.softserveinc.healthbody.services.impl.GroupServiceImpl;
+import edu.softserveinc.healthbody.services.impl.LeaderboardServiceImpl;
 import edu.softserveinc.healthbody.services.impl.UserProfileServiceImpl;
 import edu.softserveinc.healthbody.services.impl.UsersViewServiceImpl;
 
@@ -77,6 +82,17 @@ public class HealthBodyServiceImpl implements HealthBodyService {
 		return null;
 	}
 
+	@Override
+	public final UserPageDTO getAllUsersPage(final int partNumber, final int partSize, final String pageToken) {
+		UsersViewServiceImpl user = new UsersViewServiceImpl();
+		try {
+			return user.getAllPage(partNumber, partSize, pageToken);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("get page of users failed ", e);
+		}
+		return null;
+	}
+
 	@Override
 	public final List<UserDTO> getAllUserstoAddInCompetition(final int partNumber, final int partSize) {
 		UsersViewServiceImpl user = new UsersViewServiceImpl();
@@ -113,6 +129,16 @@ public class HealthBodyServiceImpl implements HealthBodyService {
 		return null;
 	}
 
+	@Override
+	public final GroupPageDTO getAllGroupsPage(final int partNumber, final int partSize, final String pageToken) {
+		try {
+			return GroupServiceImpl.getInstance().getAllPage(partNumber, partSize, pageToken);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("get page of groups failed ", e);
+		}
+		return null;
+	}
+
 	@Override
 	public final GroupDTO getGroupByName(final String name) {
 		try {
@@ -187,6 +213,59 @@ public class HealthBodyServiceImpl implements HealthBodyService {
 		return null;
 	}
 
+	@Override
+	public final CompetitionPageDTO getAllCompetitionsPage(final int partNumber, final int partSize,
+			final String pageToken) {
+		try {
+			return CompetitionsViewServiceImpl.getInstance().getAllPage(partNumber, partSize, pageToken);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("get page of competitions failed ", e);
+		}
+		return null;
+	}
+
+	@Override
+	public final CompetitionPageDTO getAllActiveCompetitionsPage(final int partNumber, final int partSize,
+			final String pageToken) {
+		try {
+			return CompetitionsViewServiceImpl.getInstance().getAllActivePage(partNumber, partSize, pageToken);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("get page of active competitions failed ", e);
+		}
+		return null;
+	}
+
+	@Override
+	public final List<LeaderboardEntryDTO> getLeaderboardTop(final String idCompetition, final int count) {
+		try {
+			return LeaderboardServiceImpl.getInstance().getTop(idCompetition, count);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("get top of leaderboard failed ", e);
+		}
+		return null;
+	}
+
+	@Override
+	public final LeaderboardEntryDTO getLeaderboardRank(final String idCompetition, final String login) {
+		try {
+			return LeaderboardServiceImpl.getInstance().getRank(idCompetition, login);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("get rank of user failed ", e);
+		}
+		return null;
+	}
+
+	@Override
+	public final List<LeaderboardEntryDTO> getLeaderboardAround(final String idCompetition, final String login,
+			final int radius) {
+		try {
+			return LeaderboardServiceImpl.getInstance().getAround(idCompetition, login, radius);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("get leaderboard around user failed ", e);
+		}
+		return null;
+	}
+
 	@Override
 	public final List<CompetitionDTO> getAllActiveCompetitions(final int partNumber, final int partSize) {
 		try {
@@ -284,6 +363,17 @@ public class HealthBodyServiceImpl implements HealthBodyService {
 		return null;
 	}
 
+	@Override
+	public GroupPageDTO getAllGroupsParticipantsPage(final int partNumber, final int partSize,
+			final String pageToken) {
+		try {
+			return GroupServiceImpl.getInstance().getAllGroupsParticipantsPage(partNumber, partSize, pageToken);
+		} catch (IllegalAgrumentCheckedException | JDBCDriverException | SQLException | TransactionException e) {
+			Log4jWrapper.get().error("get page of groups participants failed ", e);
+		}
+		return null;
+	}
+
 	@Override
 	public boolean addUserInCompetition(String nameCompetition, String nameUser) {
 		boolean result = false;
@@ -0,0 +1,21 @@
+-- participation of a user in a competition, and all competitions of a user
+CREATE INDEX IF NOT EXISTS usercompetitions_id_user_idx ON usercompetitions (id_user, id_competition);
+
+-- participants of a competition
+CREATE INDEX IF NOT EXISTS usercompetitions_id_competition_idx ON usercompetitions (id_competition);
+
+-- groups of a user, and membership of a user in a group
+CREATE INDEX IF NOT EXISTS usergroups_id_user_idx ON usergroups (id_user, id_group);
+
+-- members of a group
+CREATE INDEX IF NOT EXISTS usergroups_id_group_idx ON usergroups (id_group);
+
+-- lookup by login and keyset pages ordered by (login, id_user)
+CREATE INDEX IF NOT EXISTS users_login_idx ON users (login, id_user);
+
+-- keyset pages of groups ordered by (name, id_group)
+CREATE INDEX IF NOT EXISTS groups_name_idx ON groups (name, id_group);
+
+-- competitions of a group and groups of a competition
+CREATE INDEX IF NOT EXISTS groupcompetitions_id_group_idx ON groupcompetitions (id_group);
+CREATE INDEX IF NOT EXISTS groupcompetitions_id_competition_idx ON groupcompetitions (id_competition);
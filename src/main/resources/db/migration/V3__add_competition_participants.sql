@@ -0,0 +1,6 @@
+-- participants of a competition, maintained by the usercompetitions queries
+ALTER TABLE competitions ADD COLUMN participants bigint NOT NULL DEFAULT 0;
+
+UPDATE competitions SET participants = counted.participants
+FROM (SELECT id_competition, COUNT(*) AS participants FROM usercompetitions GROUP BY id_competition) AS counted
+WHERE competitions.id_competition = counted.id_competition;
@@ -0,0 +1,55 @@
+package edu.softserveinc.healthbody.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import org.testng.annotations.Test;
+
+public class ReferenceCacheTest {
+
+	@Test
+	public void testHitsAndMisses() {
+		ReferenceCache<String, String> cache = new ReferenceCache<>("test", 10, 60000);
+		assertNull(cache.get("a"));
+		cache.put("a", "A", cache.getGeneration());
+		assertEquals(cache.get("a"), "A");
+		assertEquals(cache.get("a"), "A");
+		assertEquals(cache.getHits(), 2);
+		assertEquals(cache.getMisses(), 1);
+		assertEquals(cache.getHitRate(), 2.0 / 3, 1e-9);
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsed() {
+		ReferenceCache<String, String> cache = new ReferenceCache<>("test", 2, 60000);
+		cache.put("a", "A", cache.getGeneration());
+		cache.put("b", "B", cache.getGeneration());
+		cache.get("a");
+		cache.put("c", "C", cache.getGeneration());
+		assertEquals(cache.size(), 2);
+		assertEquals(cache.getEvictions(), 1);
+		assertNull(cache.get("b"));
+		assertEquals(cache.get("a"), "A");
+	}
+
+	@Test
+	public void testEntriesExpire() throws InterruptedException {
+		ReferenceCache<String, String> cache = new ReferenceCache<>("test", 10, 20);
+		cache.put("a", "A", cache.getGeneration());
+		Thread.sleep(40);
+		assertNull(cache.get("a"));
+		assertEquals(cache.size(), 0);
+	}
+
+	@Test
+	public void testInvalidationDiscardsConcurrentLoad() {
+		ReferenceCache<String, String> cache = new ReferenceCache<>("test", 10, 60000);
+		long generation = cache.getGeneration();
+		cache.invalidate("a");
+		cache.put("a", "stale", generation);
+		assertNull(cache.get("a"));
+		cache.put("a", "A", cache.getGeneration());
+		cache.invalidateAll();
+		assertNull(cache.get("a"));
+	}
+}
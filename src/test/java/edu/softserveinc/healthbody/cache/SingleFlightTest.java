@@ -0,0 +1,113 @@
+package edu.softserveinc.healthbody.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+public class SingleFlightTest {
+
+	private static final int CALLERS = 8;
+
+	@Test
+	public void testConcurrentCallersShareOneLoad() throws Exception {
+		final SingleFlight<String, Object> flight = new SingleFlight<>("test");
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger loads = new AtomicInteger();
+		final Object value = new Object();
+		final SingleFlight.Loader<Object> loader = new SingleFlight.Loader<Object>() {
+			@Override
+			public Object load() throws InterruptedException {
+				loads.incrementAndGet();
+				started.countDown();
+				release.await();
+				return value;
+			}
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			results.add(executor.submit(call(flight, loader)));
+			started.await();
+			for (int i = 1; i < CALLERS; i++) {
+				results.add(executor.submit(call(flight, loader)));
+			}
+			while (flight.getCoalesced() < CALLERS - 1) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+			for (Future<Object> result : results) {
+				assertSame(result.get(5, TimeUnit.SECONDS), value);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(loads.get(), 1);
+		assertEquals(flight.getLoads(), 1);
+		assertEquals(flight.getCoalesced(), CALLERS - 1);
+		assertEquals(flight.getInFlight(), 0);
+	}
+
+	@Test
+	public void testFailureReachesEveryCallerAndIsNotKept() throws Exception {
+		final SingleFlight<String, String> flight = new SingleFlight<>("test");
+		try {
+			flight.execute("key", new SingleFlight.Loader<String>() {
+				@Override
+				public String load() {
+					throw new IllegalStateException("failed");
+				}
+			});
+			fail("Expected the failure of the load");
+		} catch (IllegalStateException e) {
+			assertEquals(e.getMessage(), "failed");
+		}
+		assertEquals(flight.execute("key", constant("loaded")), "loaded");
+		assertEquals(flight.getLoads(), 2);
+	}
+
+	@Test
+	public void testForgetAllStartsNewLoad() throws Exception {
+		final SingleFlight<String, String> flight = new SingleFlight<>("test");
+		String result = flight.execute("key", new SingleFlight.Loader<String>() {
+			@Override
+			public String load() throws Exception {
+				flight.forgetAll();
+				return flight.execute("key", constant("fresh")) + "+old";
+			}
+		});
+		assertEquals(result, "fresh+old");
+		assertEquals(flight.getLoads(), 2);
+		assertEquals(flight.getCoalesced(), 0);
+	}
+
+	private static <V> Callable<V> call(final SingleFlight<String, V> flight, final SingleFlight.Loader<V> loader) {
+		return new Callable<V>() {
+			@Override
+			public V call() throws Exception {
+				return flight.execute("key", loader);
+			}
+		};
+	}
+
+	private static SingleFlight.Loader<String> constant(final String value) {
+		return new SingleFlight.Loader<String>() {
+			@Override
+			public String load() {
+				return value;
+			}
+		};
+	}
+}
@@ -0,0 +1,200 @@
+package edu.softserveinc.healthbody.db;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ConnectionPoolTest {
+
+	private static final long NO_HOUSEKEEPING = 3600000;
+
+	private StubDriver driver;
+	private ConnectionPool pool;
+
+	@BeforeMethod
+	public void registerDriver() throws SQLException {
+		driver = StubDriver.register("pool");
+	}
+
+	@AfterMethod
+	public void closePool() throws SQLException {
+		if (pool != null) {
+			pool.close();
+			pool = null;
+		}
+		driver.deregister();
+	}
+
+	private ConnectionPool createPool(final int maxPoolSize, final int minIdleSize) {
+		return createPool(maxPoolSize, maxPoolSize, minIdleSize);
+	}
+
+	private ConnectionPool createPool(final int maxPoolSize, final int maxIdleSize, final int minIdleSize) {
+		ConnectionPoolConfig config = new ConnectionPoolConfig();
+		config.setMaxPoolSize(maxPoolSize);
+		config.setMaxIdleSize(maxIdleSize);
+		config.setMinIdleSize(minIdleSize);
+		config.setWaitTimeout(100);
+		config.setHousekeepingInterval(NO_HOUSEKEEPING);
+		pool = new ConnectionPool(driver.getDataSource(), config);
+		return pool;
+	}
+
+	private List<Connection> borrowAll(final int count) throws SQLException {
+		List<Connection> borrowed = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			borrowed.add(pool.borrow());
+		}
+		return borrowed;
+	}
+
+	private void releaseAll(final List<Connection> borrowed) {
+		for (Connection connection : borrowed) {
+			pool.release(connection);
+		}
+	}
+
+	@Test(timeOut = 10000)
+	public void testReturnedConnectionIsReused() throws SQLException {
+		createPool(5, 0);
+		Connection first = pool.borrow();
+		assertEquals(pool.getActiveConnections(), 1);
+		pool.release(first);
+		assertEquals(pool.getActiveConnections(), 0);
+		assertEquals(pool.getIdleConnections(), 1);
+		Connection second = pool.borrow();
+		assertSame(second, first);
+		assertEquals(driver.getConnections().size(), 1);
+		assertEquals(pool.getTotalConnections(), 1);
+		pool.release(second);
+	}
+
+	@Test(timeOut = 10000)
+	public void testBorrowBeyondMaxPoolSizeTimesOut() throws SQLException {
+		createPool(2, 0);
+		List<Connection> borrowed = borrowAll(2);
+		try {
+			pool.borrow();
+			throw new AssertionError("borrowed more than maxPoolSize connections");
+		} catch (SQLTimeoutException e) {
+			assertEquals(pool.getMetrics().getBorrowTimeouts(), 1);
+		}
+		assertEquals(pool.getTotalConnections(), 2);
+		assertEquals(driver.getConnections().size(), 2);
+		pool.release(borrowed.remove(0));
+		borrowed.add(pool.borrow());
+		assertEquals(pool.getTotalConnections(), 2);
+		releaseAll(borrowed);
+	}
+
+	@Test(timeOut = 10000)
+	public void testReleaseRollsBackOpenTransaction() throws SQLException {
+		createPool(5, 0);
+		Connection connection = pool.borrow();
+		connection.setAutoCommit(false);
+		pool.release(connection);
+		StubDriver.StubConnection stub = driver.getConnections().get(0);
+		assertEquals(stub.getRollbacks(), 1);
+		assertTrue(stub.getAutoCommit());
+		assertFalse(stub.isClosed());
+		assertEquals(pool.getIdleConnections(), 1);
+
+		pool.release(pool.borrow());
+		assertEquals(stub.getRollbacks(), 1);
+	}
+
+	@Test(timeOut = 10000)
+	public void testClosedPoolRefusesBorrows() throws SQLException {
+		createPool(5, 0);
+		Connection idle = pool.borrow();
+		Connection borrowed = pool.borrow();
+		pool.release(idle);
+		pool.close();
+		assertTrue(driver.getConnections().get(0).isClosed());
+		try {
+			pool.borrow();
+			throw new AssertionError("borrowed from a closed pool");
+		} catch (SQLException e) {
+			assertNotSame(e.getClass(), SQLTimeoutException.class);
+		}
+		pool.release(borrowed);
+		assertTrue(driver.getConnections().get(1).isClosed());
+		assertEquals(pool.getTotalConnections(), 0);
+	}
+
+	@Test(timeOut = 10000)
+	public void testHousekeepingKeepsValidIdleConnections() throws SQLException {
+		createPool(5, 0);
+		releaseAll(borrowAll(3));
+		assertEquals(pool.getIdleConnections(), 3);
+		pool.housekeep();
+		assertEquals(pool.getIdleConnections(), 3);
+		assertEquals(pool.getTotalConnections(), 3);
+		for (StubDriver.StubConnection connection : driver.getConnections()) {
+			assertFalse(connection.isClosed());
+			assertTrue(connection.getValidations() >= 1);
+		}
+	}
+
+	@Test(timeOut = 10000)
+	public void testHousekeepingClosesInvalidIdleConnections() throws SQLException {
+		createPool(5, 0);
+		releaseAll(borrowAll(3));
+		StubDriver.StubConnection broken = driver.getConnections().get(1);
+		broken.setValid(false);
+		pool.housekeep();
+		assertTrue(broken.isClosed());
+		assertEquals(pool.getIdleConnections(), 2);
+		assertEquals(pool.getTotalConnections(), 2);
+		assertEquals(pool.getMetrics().getValidationFailures(), 1);
+	}
+
+	@Test(timeOut = 10000)
+	public void testHousekeepingStaysWithinMaxPoolSize() throws InterruptedException {
+		driver.setConnectDelay(1);
+		createPool(2, 1, 1);
+		final AtomicBoolean running = new AtomicBoolean(true);
+		List<Thread> borrowers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Thread borrower = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					while (running.get()) {
+						try {
+							pool.release(pool.borrow());
+						} catch (SQLException e) {
+							// pool exhausted, try again
+						}
+					}
+				}
+			});
+			borrowers.add(borrower);
+			borrower.start();
+		}
+		int maxTotal = 0;
+		long end = System.currentTimeMillis() + 500;
+		while (System.currentTimeMillis() < end) {
+			pool.housekeep();
+			maxTotal = Math.max(maxTotal, pool.getTotalConnections());
+		}
+		running.set(false);
+		for (Thread borrower : borrowers) {
+			borrower.join();
+		}
+		assertTrue(maxTotal <= 2, "total connections " + maxTotal);
+		assertTrue(pool.getTotalConnections() <= 2);
+	}
+}
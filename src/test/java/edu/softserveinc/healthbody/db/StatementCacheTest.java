@@ -0,0 +1,137 @@
+package edu.softserveinc.healthbody.db;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class StatementCacheTest {
+
+	private static final String FIRST = "SELECT 1;";
+	private static final String SECOND = "SELECT 2;";
+	private static final String THIRD = "SELECT 3;";
+
+	private StubDriver driver;
+	private StubDriver.StubConnection connection;
+	private AtomicLong hits;
+	private AtomicLong misses;
+
+	@BeforeMethod
+	public void openConnection() throws SQLException {
+		driver = StubDriver.register("cache");
+		connection = StubDriver.of(driver.connect(driver.getDataSource().getConnectionUrl(), null));
+		hits = new AtomicLong();
+		misses = new AtomicLong();
+	}
+
+	@AfterMethod
+	public void deregisterDriver() throws SQLException {
+		driver.deregister();
+	}
+
+	private StatementCache createCache(final int maxSize) {
+		return new StatementCache(connection.getConnection(), connection.getConnection(), maxSize, hits, misses);
+	}
+
+	private StubDriver.StubStatement getStatement(final String sql) {
+		List<StubDriver.StubStatement> statements = connection.getStatements();
+		for (StubDriver.StubStatement statement : statements) {
+			if (statement.getSql().equals(sql)) {
+				return statement;
+			}
+		}
+		throw new AssertionError("not prepared: " + sql);
+	}
+
+	@Test
+	public void testClosedStatementIsReused() throws SQLException {
+		StatementCache cache = createCache(4);
+		PreparedStatement first = cache.prepare(FIRST);
+		first.close();
+		assertTrue(first.isClosed());
+		StubDriver.StubStatement statement = getStatement(FIRST);
+		assertFalse(statement.isClosed());
+		assertEquals(statement.getClearedParameters(), 1);
+
+		PreparedStatement second = cache.prepare(FIRST);
+		assertSame(second, first);
+		assertFalse(second.isClosed());
+		assertEquals(connection.getStatements().size(), 1);
+		assertEquals(hits.get(), 1);
+		assertEquals(misses.get(), 1);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedStatementIsEvicted() throws SQLException {
+		StatementCache cache = createCache(2);
+		cache.prepare(FIRST).close();
+		cache.prepare(SECOND).close();
+		cache.prepare(FIRST).close();
+		cache.prepare(THIRD).close();
+		assertEquals(cache.size(), 2);
+		assertTrue(getStatement(SECOND).isClosed());
+		assertFalse(getStatement(FIRST).isClosed());
+		assertFalse(getStatement(THIRD).isClosed());
+	}
+
+	@Test
+	public void testEvictedStatementInUseIsClosedOnReturn() throws SQLException {
+		StatementCache cache = createCache(1);
+		PreparedStatement first = cache.prepare(FIRST);
+		cache.prepare(SECOND).close();
+		assertFalse(getStatement(FIRST).isClosed());
+		first.close();
+		assertTrue(getStatement(FIRST).isClosed());
+		assertEquals(cache.size(), 1);
+	}
+
+	@Test
+	public void testResetReturnsOpenStatements() throws SQLException {
+		StatementCache cache = createCache(4);
+		PreparedStatement first = cache.prepare(FIRST);
+		cache.reset();
+		assertEquals(getStatement(FIRST).getClearedParameters(), 1);
+		assertSame(cache.prepare(FIRST), first);
+		assertEquals(hits.get(), 1);
+	}
+
+	@Test
+	public void testNestedUseGetsUncachedStatement() throws SQLException {
+		StatementCache cache = createCache(4);
+		PreparedStatement outer = cache.prepare(FIRST);
+		PreparedStatement inner = cache.prepare(FIRST);
+		assertNotSame(inner, outer);
+		assertEquals(connection.getStatements().size(), 2);
+		assertEquals(misses.get(), 2);
+		inner.close();
+		assertTrue(connection.getStatements().get(1).isClosed());
+		assertFalse(outer.isClosed());
+		outer.close();
+		assertFalse(connection.getStatements().get(0).isClosed());
+		assertEquals(cache.size(), 1);
+	}
+
+	@Test
+	public void testClearClosesAllStatements() throws SQLException {
+		StatementCache cache = createCache(4);
+		cache.prepare(FIRST).close();
+		PreparedStatement second = cache.prepare(SECOND);
+		cache.clear();
+		assertEquals(cache.size(), 0);
+		assertTrue(getStatement(FIRST).isClosed());
+		assertFalse(getStatement(SECOND).isClosed());
+		second.close();
+		assertTrue(getStatement(SECOND).isClosed());
+	}
+}
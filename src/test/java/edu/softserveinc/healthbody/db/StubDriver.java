@@ -0,0 +1,257 @@
+package edu.softserveinc.healthbody.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * JDBC driver for pool tests. It answers one URL and opens in-memory
+ * connections that only record what was done to them.
+ */
+final class StubDriver implements Driver {
+
+	private final String url;
+	private volatile long connectDelay;
+	private final List<StubConnection> connections = Collections.synchronizedList(new ArrayList<StubConnection>());
+
+	/**
+	 * State of one opened connection.
+	 */
+	static final class StubConnection implements InvocationHandler {
+		private final Connection connection;
+		private final List<StubStatement> statements = Collections.synchronizedList(new ArrayList<StubStatement>());
+		private volatile boolean closed;
+		private volatile boolean autoCommit = true;
+		private volatile boolean readOnly;
+		private volatile boolean valid = true;
+		private volatile int rollbacks;
+		private volatile int validations;
+
+		private StubConnection() {
+			this.connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+					new Class<?>[] {Connection.class}, this);
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) throws SQLException {
+			String name = method.getName();
+			switch (name) {
+			case "close":
+				closed = true;
+				return null;
+			case "isClosed":
+				return closed;
+			case "getAutoCommit":
+				return autoCommit;
+			case "setAutoCommit":
+				autoCommit = (Boolean) args[0];
+				return null;
+			case "rollback":
+				rollbacks++;
+				return null;
+			case "isReadOnly":
+				return readOnly;
+			case "setReadOnly":
+				readOnly = (Boolean) args[0];
+				return null;
+			case "isValid":
+				validations++;
+				return valid && !closed;
+			case "prepareStatement":
+				if (closed) {
+					throw new SQLException("Connection is closed");
+				}
+				StubStatement statement = new StubStatement((String) args[0]);
+				statements.add(statement);
+				return statement.statement;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				return null;
+			}
+		}
+
+		Connection getConnection() {
+			return connection;
+		}
+
+		List<StubStatement> getStatements() {
+			return statements;
+		}
+
+		boolean isClosed() {
+			return closed;
+		}
+
+		boolean getAutoCommit() {
+			return autoCommit;
+		}
+
+		int getRollbacks() {
+			return rollbacks;
+		}
+
+		int getValidations() {
+			return validations;
+		}
+
+		void setValid(final boolean valid) {
+			this.valid = valid;
+		}
+	}
+
+	/**
+	 * State of one physically prepared statement.
+	 */
+	static final class StubStatement implements InvocationHandler {
+		private final String sql;
+		private final PreparedStatement statement;
+		private volatile boolean closed;
+		private volatile int clearedParameters;
+
+		private StubStatement(final String sql) {
+			this.sql = sql;
+			this.statement = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+					new Class<?>[] {PreparedStatement.class}, this);
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) {
+			switch (method.getName()) {
+			case "close":
+				closed = true;
+				return null;
+			case "isClosed":
+				return closed;
+			case "clearParameters":
+				clearedParameters++;
+				return null;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				return null;
+			}
+		}
+
+		String getSql() {
+			return sql;
+		}
+
+		boolean isClosed() {
+			return closed;
+		}
+
+		int getClearedParameters() {
+			return clearedParameters;
+		}
+	}
+
+	private StubDriver(final String url) {
+		this.url = url;
+	}
+
+	/**
+	 * Registers a driver for <code>jdbc:stub:name</code>.
+	 */
+	static StubDriver register(final String name) throws SQLException {
+		StubDriver driver = new StubDriver("jdbc:stub:" + name);
+		DriverManager.registerDriver(driver);
+		return driver;
+	}
+
+	void deregister() throws SQLException {
+		DriverManager.deregisterDriver(this);
+	}
+
+	DataSource getDataSource() {
+		return new DataSource(this, url, "user", "password");
+	}
+
+	/**
+	 * Makes every following {@link #connect(String, Properties)} take the
+	 * given number of milliseconds, like a real database would.
+	 */
+	void setConnectDelay(final long millis) {
+		connectDelay = millis;
+	}
+
+	/**
+	 * @return the connections opened so far, in order
+	 */
+	List<StubConnection> getConnections() {
+		synchronized (connections) {
+			return new ArrayList<>(connections);
+		}
+	}
+
+	/**
+	 * @return the stub behind a physical connection
+	 */
+	static StubConnection of(final Connection connection) {
+		return (StubConnection) Proxy.getInvocationHandler(connection);
+	}
+
+	@Override
+	public Connection connect(final String connectionUrl, final Properties info) throws SQLException {
+		if (!acceptsURL(connectionUrl)) {
+			return null;
+		}
+		if (connectDelay > 0) {
+			try {
+				Thread.sleep(connectDelay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException(e);
+			}
+		}
+		StubConnection connection = new StubConnection();
+		connections.add(connection);
+		return connection.getConnection();
+	}
+
+	@Override
+	public boolean acceptsURL(final String connectionUrl) {
+		return url.equals(connectionUrl);
+	}
+
+	@Override
+	public DriverPropertyInfo[] getPropertyInfo(final String connectionUrl, final Properties info) {
+		return new DriverPropertyInfo[0];
+	}
+
+	@Override
+	public int getMajorVersion() {
+		return 1;
+	}
+
+	@Override
+	public int getMinorVersion() {
+		return 0;
+	}
+
+	@Override
+	public boolean jdbcCompliant() {
+		return false;
+	}
+
+	@Override
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		throw new SQLFeatureNotSupportedException();
+	}
+}
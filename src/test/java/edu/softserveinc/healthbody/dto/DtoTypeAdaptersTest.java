@@ -0,0 +1,92 @@
+package edu.softserveinc.healthbody.dto;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+public class DtoTypeAdaptersTest {
+
+	private final Gson reflective = new Gson();
+	private final Gson adapted = DtoTypeAdapters.createGson();
+
+	@Test
+	public void testUserPageMatchesReflectiveJson() {
+		GroupDTO group = new GroupDTO("1", "Runners", "2", "<b>fast</b>", "10", null,
+				new String[] {"a", null}, new String[] {"Ann"}, null);
+		UserDTO user = new UserDTO("7", "a", "pass", "Ann", null, "a@b.c", "30", "60", "w", null, "user",
+				"active", null, "5", "good", Arrays.asList(group, null), "false");
+		UserPageDTO page = new UserPageDTO(Arrays.asList(user, new UserDTO()), null);
+		assertEquals(adapted.toJson(page), reflective.toJson(page));
+	}
+
+	@Test
+	public void testCompetitionsMatchReflectiveJson() {
+		List<CompetitionDTO> competitions = new ArrayList<>();
+		competitions.add(new CompetitionDTO("3", "Walk 'n' run", "4", "2016-01-01", "2016-02-01", null, "steps",
+				Arrays.asList("Runners", null), null));
+		competitions.add(new CompetitionDTO());
+		assertEquals(adapted.toJson(competitions), reflective.toJson(competitions));
+		CompetitionPageDTO page = new CompetitionPageDTO(competitions, "token");
+		assertEquals(adapted.toJson(page), reflective.toJson(page));
+	}
+
+	@Test
+	public void testAdaptersWriteEveryField() throws ReflectiveOperationException, IOException {
+		List<Class<?>> types = Arrays.<Class<?>>asList(GroupDTO.class, UserDTO.class, CompetitionDTO.class,
+				LeaderboardEntryDTO.class, CompetitionPageDTO.class, GroupPageDTO.class, UserPageDTO.class);
+		for (Class<?> type : types) {
+			List<String> fields = new ArrayList<>();
+			for (Field field : type.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+					fields.add(field.getName());
+				}
+			}
+			// a plain writer keeps null members, so every written name shows up
+			StringWriter json = new StringWriter();
+			write(adapted.getAdapter(type), new JsonWriter(json), type.newInstance());
+			List<String> names = new ArrayList<>();
+			for (Map.Entry<String, JsonElement> member : new JsonParser().parse(json.toString()).getAsJsonObject()
+					.entrySet()) {
+				names.add(member.getKey());
+			}
+			assertEquals(names, fields, type.getSimpleName());
+		}
+	}
+
+	@Test
+	public void testUserPageReadsReflectiveJson() {
+		GroupDTO group = new GroupDTO("1", "Runners", "2", "fast", "10", null, new String[] {"a"}, null, null);
+		UserDTO user = new UserDTO("7", "a", "pass", "Ann", null, "a@b.c", "30", "60", "w", null, "user",
+				"active", null, "5", "good", Arrays.asList(group), "false");
+		String json = reflective.toJson(new UserPageDTO(Arrays.asList(user), "token"));
+		assertEquals(adapted.toJson(adapted.fromJson(json, UserPageDTO.class)), json);
+	}
+
+	@Test
+	public void testLeaderboardMatchesReflectiveJson() {
+		List<LeaderboardEntryDTO> entries = Arrays.asList(new LeaderboardEntryDTO(1, "a", Long.MAX_VALUE),
+				new LeaderboardEntryDTO(2, null, 0));
+		assertEquals(adapted.toJson(entries), reflective.toJson(entries));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void write(final TypeAdapter<T> adapter, final JsonWriter out, final Object value)
+			throws IOException {
+		adapter.write(out, (T) value);
+	}
+}
@@ -0,0 +1,77 @@
+package edu.softserveinc.healthbody.ingestion;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+public class CoalescingBufferTest {
+
+	@Test
+	public void testLastValueWins() throws InterruptedException {
+		CoalescingBuffer<String, Integer> buffer = new CoalescingBuffer<>(10);
+		assertEquals(buffer.offer("a", 1, 0), CoalescingBuffer.Offer.ACCEPTED);
+		assertEquals(buffer.offer("b", 2, 0), CoalescingBuffer.Offer.ACCEPTED);
+		assertEquals(buffer.offer("a", 3, 0), CoalescingBuffer.Offer.COALESCED);
+		Map<String, Integer> taken = buffer.take(2, 0);
+		assertEquals(taken.keySet().toArray(), new Object[] { "a", "b" });
+		assertEquals(taken.get("a"), Integer.valueOf(3));
+		assertEquals(buffer.size(), 0);
+	}
+
+	@Test
+	public void testFullBufferAcceptsOnlyBufferedKeys() throws InterruptedException {
+		CoalescingBuffer<String, Integer> buffer = new CoalescingBuffer<>(2);
+		buffer.offer("a", 1, 0);
+		buffer.offer("b", 1, 0);
+		assertEquals(buffer.offer("c", 1, 10), CoalescingBuffer.Offer.FULL);
+		assertEquals(buffer.offer("a", 2, 0), CoalescingBuffer.Offer.COALESCED);
+	}
+
+	@Test
+	public void testTakeWaitsForMaxDelay() throws InterruptedException {
+		CoalescingBuffer<String, Integer> buffer = new CoalescingBuffer<>(10);
+		buffer.offer("a", 1, 0);
+		long start = System.nanoTime();
+		Map<String, Integer> taken = buffer.take(5, 50);
+		assertTrue(System.nanoTime() - start >= 40000000L);
+		assertEquals(taken.size(), 1);
+	}
+
+	@Test
+	public void testRequeueKeepsNewerValues() throws InterruptedException {
+		CoalescingBuffer<String, Integer> buffer = new CoalescingBuffer<>(10);
+		buffer.offer("a", 2, 0);
+		Map<String, Integer> failed = new LinkedHashMap<>();
+		failed.put("a", 1);
+		failed.put("b", 1);
+		buffer.requeue(failed);
+		Map<String, Integer> taken = buffer.take(2, 0);
+		assertEquals(taken.get("a"), Integer.valueOf(2));
+		assertEquals(taken.get("b"), Integer.valueOf(1));
+	}
+
+	@Test
+	public void testCloseDrainsThenRejects() throws InterruptedException {
+		CoalescingBuffer<String, Integer> buffer = new CoalescingBuffer<>(10);
+		buffer.offer("a", 1, 0);
+		buffer.close();
+		assertEquals(buffer.offer("b", 1, 0), CoalescingBuffer.Offer.ACCEPTED);
+		assertEquals(buffer.take(5, 10000).keySet(), toMap("a", "b").keySet());
+		assertNull(buffer.take(5, 10000));
+		assertEquals(buffer.offer("c", 1, 0), CoalescingBuffer.Offer.CLOSED);
+	}
+
+	private static Map<String, Integer> toMap(final String... keys) {
+		Map<String, Integer> map = new LinkedHashMap<>();
+		for (String key : Arrays.asList(keys)) {
+			map.put(key, 1);
+		}
+		return map;
+	}
+}
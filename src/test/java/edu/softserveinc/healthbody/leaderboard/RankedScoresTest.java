@@ -0,0 +1,97 @@
+package edu.softserveinc.healthbody.leaderboard;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+public class RankedScoresTest {
+
+	@Test
+	public void testRankOrdersByScoreThenMember() {
+		RankedScores scores = new RankedScores();
+		scores.put("b", 10);
+		scores.put("a", 10);
+		scores.put("c", 30);
+		scores.put("d", 5);
+		assertEquals(scores.rank("c"), 1);
+		assertEquals(scores.rank("a"), 2);
+		assertEquals(scores.rank("b"), 3);
+		assertEquals(scores.rank("d"), 4);
+		assertEquals(scores.rank("unknown"), 0);
+	}
+
+	@Test
+	public void testPutMovesMember() {
+		RankedScores scores = new RankedScores();
+		scores.put("a", 1);
+		scores.put("b", 2);
+		scores.put("a", 3);
+		assertEquals(scores.size(), 2);
+		assertEquals(scores.rank("a"), 1);
+		assertEquals(scores.rank("b"), 2);
+		assertTrue(scores.remove("a"));
+		assertFalse(scores.remove("a"));
+		assertEquals(scores.rank("b"), 1);
+	}
+
+	@Test
+	public void testRange() {
+		RankedScores scores = new RankedScores();
+		for (int i = 0; i < 10; i++) {
+			scores.put("m" + i, i);
+		}
+		List<RankedScores.Entry> range = scores.range(3, 4);
+		assertEquals(range.size(), 4);
+		assertEquals(range.get(0).getRank(), 3);
+		assertEquals(range.get(0).getMember(), "m7");
+		assertEquals(range.get(3).getMember(), "m4");
+		assertEquals(scores.range(9, 5).size(), 2);
+		assertTrue(scores.range(11, 1).isEmpty());
+	}
+
+	@Test
+	public void testAgainstSortedList() {
+		RankedScores scores = new RankedScores();
+		Map<String, Long> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 5000; i++) {
+			String member = "user" + random.nextInt(500);
+			if (random.nextInt(5) == 0) {
+				scores.remove(member);
+				expected.remove(member);
+			} else {
+				long score = random.nextInt(100);
+				scores.put(member, score);
+				expected.put(member, score);
+			}
+		}
+		final Map<String, Long> byMember = expected;
+		List<String> sorted = new ArrayList<>(expected.keySet());
+		Collections.sort(sorted, new Comparator<String>() {
+			@Override
+			public int compare(final String first, final String second) {
+				int result = byMember.get(second).compareTo(byMember.get(first));
+				return result != 0 ? result : first.compareTo(second);
+			}
+		});
+		assertEquals(scores.size(), sorted.size());
+		for (int i = 0; i < sorted.size(); i++) {
+			assertEquals(scores.rank(sorted.get(i)), i + 1);
+		}
+		List<RankedScores.Entry> all = scores.range(1, sorted.size());
+		for (int i = 0; i < sorted.size(); i++) {
+			assertEquals(all.get(i).getMember(), sorted.get(i));
+			assertEquals(all.get(i).getRank(), i + 1);
+		}
+	}
+}
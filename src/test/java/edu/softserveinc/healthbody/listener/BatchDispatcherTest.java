@@ -0,0 +1,85 @@
+package edu.softserveinc.healthbody.listener;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import edu.softserveinc.healthbody.exceptions.IllegalAgrumentCheckedException;
+
+public class BatchDispatcherTest {
+
+	private final BatchDispatcher dispatcher = new BatchDispatcher(3, 2, 2);
+
+	@AfterClass
+	public void shutdown() {
+		dispatcher.shutdown();
+	}
+
+	@Test
+	public void testResultsInOrderWithErrorsPerCall() throws Exception {
+		List<BatchDispatcher.BatchResult> results = dispatcher.run(request(
+				"[{\"route\": \"/missing\"}, {\"params\": {\"login\": \"a\"}}, {\"route\": \"/other\"}]", "2"));
+		assertEquals(results.size(), 3);
+		assertEquals(results.get(0).getStatus(), 404);
+		assertEquals(results.get(1).getStatus(), 400);
+		assertEquals(results.get(2).getStatus(), 404);
+		assertNull(results.get(0).getResult());
+	}
+
+	@Test(expectedExceptions = IllegalAgrumentCheckedException.class)
+	public void testRejectsEmptyBody() throws Exception {
+		dispatcher.run(request("", null));
+	}
+
+	@Test(expectedExceptions = IllegalAgrumentCheckedException.class)
+	public void testRejectsMalformedBody() throws Exception {
+		dispatcher.run(request("{\"route\": \"/Users\"}", null));
+	}
+
+	@Test(expectedExceptions = IllegalAgrumentCheckedException.class)
+	public void testRejectsTooManyCalls() throws Exception {
+		dispatcher.run(request("[{}, {}, {}, {}]", null));
+	}
+
+	@Test(expectedExceptions = IllegalAgrumentCheckedException.class)
+	public void testRejectsIllegalParallelism() throws Exception {
+		dispatcher.run(request("[{}]", "many"));
+	}
+
+	private static HttpServletRequest request(final String body, final String parallelism) {
+		final ByteArrayInputStream in = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+		return (HttpServletRequest) Proxy.newProxyInstance(BatchDispatcherTest.class.getClassLoader(),
+				new Class<?>[] {HttpServletRequest.class}, new InvocationHandler() {
+					@Override
+					public Object invoke(final Object proxy, final Method method, final Object[] args)
+							throws IOException {
+						if ("getInputStream".equals(method.getName())) {
+							return new ServletInputStream() {
+								@Override
+								public int read() {
+									return in.read();
+								}
+							};
+						}
+						if ("getParameter".equals(method.getName())
+								&& BatchDispatcher.PARALLELISM_PARAMETER.equals(args[0])) {
+							return parallelism;
+						}
+						return null;
+					}
+				});
+	}
+}
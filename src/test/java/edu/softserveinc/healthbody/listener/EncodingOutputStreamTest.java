@@ -0,0 +1,118 @@
+package edu.softserveinc.healthbody.listener;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import org.testng.annotations.Test;
+
+public class EncodingOutputStreamTest {
+
+	private static final byte[] JSON = "[{\"name\":\"competition\"}]".getBytes(StandardCharsets.UTF_8);
+
+	/**
+	 * Records the headers and the body written to a response.
+	 */
+	private static final class StubResponse implements InvocationHandler {
+		private final Map<String, Object> headers = new HashMap<>();
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		private final ServletOutputStream out = new ServletOutputStream() {
+			@Override
+			public void write(final int b) {
+				body.write(b);
+			}
+		};
+
+		private HttpServletResponse getResponse() {
+			return (HttpServletResponse) Proxy.newProxyInstance(HttpServletResponse.class.getClassLoader(),
+					new Class<?>[] { HttpServletResponse.class }, this);
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) {
+			switch (method.getName()) {
+			case "setHeader":
+				headers.put((String) args[0], args[1]);
+				return null;
+			case "setContentLength":
+				headers.put("Content-Length", args[0]);
+				return null;
+			case "getOutputStream":
+				return out;
+			default:
+				throw new UnsupportedOperationException(method.getName());
+			}
+		}
+	}
+
+	@Test
+	public void testSmallBodyIsSentAsItIs() throws IOException {
+		StubResponse response = new StubResponse();
+		EncodingOutputStream out = new EncodingOutputStream(response.getResponse(), ResponseBody.GZIP,
+				JSON.length + 1);
+		out.write(JSON);
+		out.flush();
+		assertEquals(response.body.size(), 0);
+		out.finish();
+		assertNull(out.getEncoding());
+		assertNull(response.headers.get("Content-Encoding"));
+		assertEquals(response.headers.get("Content-Length"), JSON.length);
+		assertEquals(response.body.toByteArray(), JSON);
+	}
+
+	@Test
+	public void testLargeBodyIsCompressed() throws IOException {
+		StubResponse response = new StubResponse();
+		EncodingOutputStream out = new EncodingOutputStream(response.getResponse(), ResponseBody.GZIP, 8);
+		out.write(JSON, 0, 4);
+		out.write(JSON, 4, JSON.length - 4);
+		out.finish();
+		assertEquals(out.getEncoding(), ResponseBody.GZIP);
+		assertEquals(response.headers.get("Content-Encoding"), ResponseBody.GZIP);
+		assertNull(response.headers.get("Content-Length"));
+		assertEquals(read(new GZIPInputStream(new ByteArrayInputStream(response.body.toByteArray()))), JSON);
+
+		response = new StubResponse();
+		out = new EncodingOutputStream(response.getResponse(), ResponseBody.DEFLATE, 8);
+		out.write(JSON);
+		out.finish();
+		assertEquals(response.headers.get("Content-Encoding"), ResponseBody.DEFLATE);
+		assertEquals(read(new InflaterInputStream(new ByteArrayInputStream(response.body.toByteArray()))), JSON);
+	}
+
+	@Test
+	public void testWithoutEncodingBodyIsStreamed() throws IOException {
+		StubResponse response = new StubResponse();
+		EncodingOutputStream out = new EncodingOutputStream(response.getResponse(), null, 8);
+		out.write(JSON);
+		assertEquals(response.body.toByteArray(), JSON);
+		out.finish();
+		assertNull(out.getEncoding());
+		assertEquals(response.headers.size(), 0);
+	}
+
+	private static byte[] read(final InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[256];
+		int read;
+		while ((read = in.read(buffer)) > 0) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,68 @@
+package edu.softserveinc.healthbody.listener;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.testng.annotations.Test;
+
+public class ResponseBodyTest {
+
+	private static final byte[] JSON = "[{\"name\":\"competition\"}]".getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	public void testNegotiateEncoding() {
+		assertNull(ResponseBody.negotiateEncoding(null));
+		assertNull(ResponseBody.negotiateEncoding("identity"));
+		assertEquals(ResponseBody.negotiateEncoding("gzip, deflate, br"), ResponseBody.GZIP);
+		assertEquals(ResponseBody.negotiateEncoding("deflate"), ResponseBody.DEFLATE);
+		assertEquals(ResponseBody.negotiateEncoding("gzip;q=0.5, deflate"), ResponseBody.DEFLATE);
+		assertEquals(ResponseBody.negotiateEncoding("gzip;q=0, *"), ResponseBody.DEFLATE);
+		assertEquals(ResponseBody.negotiateEncoding("*"), ResponseBody.GZIP);
+		assertNull(ResponseBody.negotiateEncoding("gzip;q=0, deflate;q=0"));
+	}
+
+	@Test
+	public void testETagMatches() {
+		ResponseBody body = new ResponseBody(JSON, null);
+		String tag = body.getETag();
+		assertTrue(tag.startsWith("\"") && tag.endsWith("\""));
+		assertEquals(new ResponseBody(JSON.clone(), null).getETag(), tag);
+		assertTrue(body.matches(tag));
+		assertTrue(body.matches("\"other\", W/" + tag));
+		assertTrue(body.matches("*"));
+		assertFalse(body.matches(null));
+		assertFalse(body.matches("\"other\""));
+		assertNotEquals(new ResponseBody(JSON, ResponseBody.GZIP).getETag(), tag);
+		assertFalse(new ResponseBody(JSON, ResponseBody.GZIP).matches(tag));
+	}
+
+	@Test
+	public void testEncode() throws IOException {
+		assertEquals(new ResponseBody(JSON, null).encode(), JSON);
+		byte[] gzip = new ResponseBody(JSON, ResponseBody.GZIP).encode();
+		assertEquals(read(new GZIPInputStream(new ByteArrayInputStream(gzip))), JSON);
+		byte[] deflate = new ResponseBody(JSON, ResponseBody.DEFLATE).encode();
+		assertEquals(read(new InflaterInputStream(new ByteArrayInputStream(deflate))), JSON);
+	}
+
+	private static byte[] read(final InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[256];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+}